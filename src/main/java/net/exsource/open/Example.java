@@ -32,7 +32,7 @@ public class Example {
         pane.addChild(rectangle);
 
         TimeUnit.SECONDS.sleep(2);
-        rectangle.setPositionX(300);
+        window.runLater(() -> rectangle.setPositionX(300));
     }
 
 }
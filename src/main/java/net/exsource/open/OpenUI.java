@@ -5,6 +5,8 @@ import net.exsource.open.annotation.start.Initialization;
 import net.exsource.open.annotation.start.PostInitialization;
 import net.exsource.open.annotation.start.PreInitialisation;
 import net.exsource.open.enums.Errors;
+import net.exsource.open.enums.LoopMode;
+import net.exsource.open.ui.EventPump;
 import net.exsource.openlogger.Logger;
 import net.exsource.openlogger.level.LogLevel;
 import net.exsource.openlogger.util.ConsoleColor;
@@ -26,6 +28,7 @@ public final class OpenUI {
     private static boolean used;
     private static Class<?> caller;
 
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
     private static final Options options = new Options();
     private static final List<String> programArguments = new ArrayList<>();
 
@@ -61,6 +64,7 @@ public final class OpenUI {
             return;
         }
         logger.info("Initialize GLFW successfully in thread [ " + Thread.currentThread().getName() + " ]");
+        EventPump.bind();
         AnnotationProcessor.invoke(mainClass, Initialization.class);
         handleInformation();
         caller = mainClass;
@@ -68,24 +72,36 @@ public final class OpenUI {
         AnnotationProcessor.invoke(mainClass, PostInitialization.class);
     }
 
+    /**
+     * Function processes the events of all windows by the calling thread until the last window was closed.
+     * This is needed if the option event-pump is true, call it at the end of your main function after
+     * {@link #launch(String[])} and after your first windows were created. The windows only draw then, so the input
+     * of a window isn't delayed by the frames of another window. If the option is false this function returns immediately.
+     * @see EventPump
+     */
+    public static void pumpEvents() {
+        if(!used) {
+            logger.warn("Can't pump events, OpenUI was not launched!");
+            return;
+        }
+        EventPump.run();
+    }
+
     /**
      * Function to filter the current caller class (Main.class) {@link Class}.
+     * The class of the first frame of the calling thread is used, it is found by the {@link StackWalker}
+     * without creating the complete stack trace or loading the class by name.
      * This function can return null if no main class was found. This is a
      * fatal error and need to be handel. The program will stop executing {@link OpenUI}!
      * @return {@link Class} - the founded main class, can be null.
      */
     public static Class<?> getMainClass() {
-        String classPath = null;
-        StackTraceElement[] trace = Thread.currentThread().getStackTrace();
-        if(trace.length > 0) {
-            classPath = trace[trace.length -1].getClassName();
-        }
-        try {
-            return Class.forName(classPath);
-        }  catch (ClassNotFoundException exception) {
-            logger.fatal(exception);
+        Class<?> mainClass = walker.walk(frames -> frames.reduce((first, second) -> second)
+                .map(StackWalker.StackFrame::getDeclaringClass).orElse(null));
+        if(mainClass == null) {
+            logger.fatal("Can't find the main class of thread [ " + Thread.currentThread().getName() + " ]");
         }
-        return null;
+        return mainClass;
     }
 
     /**
@@ -168,6 +184,53 @@ public final class OpenUI {
                         options.setMaxThreads(5);
                     }
                 }
+                case "loop-mode" -> {
+                    options.setLoopMode(LoopMode.get(value));
+                }
+                case "fps" -> {
+                    try {
+                        options.setFps(Integer.parseInt(value));
+                    } catch (NumberFormatException exception) {
+                        options.setFps(60);
+                    }
+                }
+                case "atlas-threshold" -> {
+                    try {
+                        options.setAtlasThreshold(Integer.parseInt(value));
+                    } catch (NumberFormatException exception) {
+                        options.setAtlasThreshold(128);
+                    }
+                }
+                case "upload-budget" -> {
+                    try {
+                        options.setUploadBudget(Integer.parseInt(value));
+                    } catch (NumberFormatException exception) {
+                        options.setUploadBudget(4 * 1024 * 1024);
+                    }
+                }
+                case "image-budget" -> {
+                    try {
+                        options.setImageBudget(Long.parseLong(value));
+                    } catch (NumberFormatException exception) {
+                        options.setImageBudget(256L * 1024 * 1024);
+                    }
+                }
+                case "coalesce-input" -> {
+                    options.setCoalesceInput(Boolean.parseBoolean(value));
+                }
+                case "share-context" -> {
+                    options.setShareContext(Boolean.parseBoolean(value));
+                }
+                case "event-pump" -> {
+                    options.setEventPump(Boolean.parseBoolean(value));
+                }
+                case "render-threads" -> {
+                    try {
+                        options.setRenderThreads(Integer.parseInt(value));
+                    } catch (NumberFormatException exception) {
+                        options.setRenderThreads(0);
+                    }
+                }
                 default -> {
                     logger.warn("Key: " + key + ", not in use by OpenUI! Look at our website for more information!");
                 }
@@ -1,15 +1,35 @@
 package net.exsource.open;
 
+import net.exsource.open.enums.LoopMode;
+
 public final class Options {
 
     private String openglVersion;
     private int nanoVGVersion;
     private int maxThreads;
+    private LoopMode loopMode;
+    private int fps;
+    private int atlasThreshold;
+    private int uploadBudget;
+    private long imageBudget;
+    private boolean coalesceInput;
+    private int renderThreads;
+    private boolean shareContext;
+    private boolean eventPump;
 
     public Options() {
         this.openglVersion = "4.6";
         this.nanoVGVersion = 3;
         this.maxThreads = 5;
+        this.loopMode = LoopMode.CONTINUOUS;
+        this.fps = 60;
+        this.atlasThreshold = 128;
+        this.uploadBudget = 4 * 1024 * 1024;
+        this.imageBudget = 256L * 1024 * 1024;
+        this.coalesceInput = false;
+        this.renderThreads = 0;
+        this.shareContext = false;
+        this.eventPump = false;
     }
 
     public void setOpenglVersion(String openglVersion) {
@@ -24,6 +44,42 @@ public final class Options {
         this.maxThreads = maxThreads;
     }
 
+    public void setLoopMode(LoopMode loopMode) {
+        this.loopMode = loopMode == null ? LoopMode.CONTINUOUS : loopMode;
+    }
+
+    public void setFps(int fps) {
+        this.fps = fps;
+    }
+
+    public void setAtlasThreshold(int atlasThreshold) {
+        this.atlasThreshold = atlasThreshold;
+    }
+
+    public void setUploadBudget(int uploadBudget) {
+        this.uploadBudget = uploadBudget;
+    }
+
+    public void setImageBudget(long imageBudget) {
+        this.imageBudget = imageBudget;
+    }
+
+    public void setCoalesceInput(boolean coalesceInput) {
+        this.coalesceInput = coalesceInput;
+    }
+
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = Math.max(0, renderThreads);
+    }
+
+    public void setShareContext(boolean shareContext) {
+        this.shareContext = shareContext;
+    }
+
+    public void setEventPump(boolean eventPump) {
+        this.eventPump = eventPump;
+    }
+
     public String getOpenglVersion() {
         return openglVersion;
     }
@@ -35,4 +91,40 @@ public final class Options {
     public int getMaxThreads() {
         return maxThreads;
     }
+
+    public LoopMode getLoopMode() {
+        return loopMode;
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    public int getAtlasThreshold() {
+        return atlasThreshold;
+    }
+
+    public int getUploadBudget() {
+        return uploadBudget;
+    }
+
+    public long getImageBudget() {
+        return imageBudget;
+    }
+
+    public boolean isCoalesceInput() {
+        return coalesceInput;
+    }
+
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    public boolean isShareContext() {
+        return shareContext;
+    }
+
+    public boolean isEventPump() {
+        return eventPump;
+    }
 }
@@ -1,5 +1,12 @@
 package net.exsource.open;
 
+import net.exsource.open.logic.TaskService;
+import net.exsource.open.logic.renderer.util.NanoVGAtlas;
+import net.exsource.open.logic.renderer.util.NanoVGResidency;
+import net.exsource.open.logic.renderer.util.NanoVGSharedImages;
+import net.exsource.open.ui.AbstractWindow;
+import net.exsource.open.ui.EventPump;
+import net.exsource.open.ui.RenderScheduler;
 import net.exsource.open.ui.UIWindow;
 import net.exsource.open.ui.font.Font;
 import net.exsource.open.ui.modals.Image;
@@ -7,10 +14,16 @@ import net.exsource.open.ui.windows.Window;
 import net.exsource.openlogger.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import org.lwjgl.glfw.GLFW;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.lwjgl.system.MemoryUtil.NULL;
 
 /**
  * Class controls the general ui system. This is needed
@@ -31,11 +44,20 @@ public final class UIFactory {
 
     private static final Logger logger = Logger.getLogger();
 
-    private static final Map<String, UIWindow> windows = new HashMap<>();
-    private static final Map<String, Thread> threads = new HashMap<>();
+    private static final Map<String, UIWindow> windows = new ConcurrentHashMap<>();
+    private static final Map<String, Thread> threads = new ConcurrentHashMap<>();
+    private static RenderScheduler scheduler;
+    private static final AtomicInteger runningWindows = new AtomicInteger();
+
+    /**
+     * Max time in seconds the {@link TaskService} is drained after the last window was closed.
+     */
+    private static final long DRAIN_TIMEOUT = 5;
+    private static TaskService taskService;
+    private static long shareContext = NULL;
 
-    private static final List<Font> fonts = new ArrayList<>();
-    private static final List<Image> images = new ArrayList<>();
+    private static final Map<String, Font> fonts = new ConcurrentHashMap<>();
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
 
     /* ########################################################################
      *
@@ -144,12 +166,11 @@ public final class UIFactory {
      * @see UIWindow
      */
     public static void registerWindow(@NotNull UIWindow window) {
-        if(containsWindow(window)) {
+        if(windows.putIfAbsent(window.getIdentifier(), window) != null) {
             logger.warn("There is a window with the same name!");
             return;
         }
 
-        windows.put(window.getIdentifier(), window);
         logger.debug("Added new window - " + window.getIdentifier());
     }
 
@@ -169,12 +190,11 @@ public final class UIFactory {
      * @see UIWindow
      */
     public static void unregisterWindow(@NotNull String ID) {
-        if(!containsWindow(ID)) {
+        if(windows.remove(ID) == null) {
             logger.warn("There is no window with the identifier " + ID);
             return;
         }
 
-        windows.remove(ID);
         logger.debug("Removed window - " + ID);
     }
 
@@ -183,11 +203,7 @@ public final class UIFactory {
      * @return List<AbstractWindow> - a list of all known windows.
      */
     public static List<UIWindow> getWindowList() {
-        List<UIWindow> windowList = new ArrayList<>();
-        for(Map.Entry<String, UIWindow> entry : windows.entrySet()) {
-            windowList.add(entry.getValue());
-        }
-        return windowList;
+        return new ArrayList<>(windows.values());
     }
 
     /**
@@ -250,7 +266,7 @@ public final class UIFactory {
      * @see UIWindow
      * @see Thread
      */
-    public static Thread generateThread(@NotNull Runnable run, @NotNull UIWindow window) {
+    public static synchronized Thread generateThread(@NotNull Runnable run, @NotNull UIWindow window) {
         Thread thread = null;
         if(hasThread(window)) {
             logger.warn("Window " + window.getIdentifier() + ", already have an thread!");
@@ -260,6 +276,7 @@ public final class UIFactory {
         if(activeThreads() < OpenUI.getOptions().getMaxThreads()) {
             thread = new Thread(run, window.getIdentifier());
             threads.put(window.getIdentifier(), thread);
+            runningWindows.incrementAndGet();
             logger.debug("Generate thread for " + window.getIdentifier());
         } else {
             logger.warn("Max Thread limit is reached! Remove windows or create sub windows for more...");
@@ -267,6 +284,76 @@ public final class UIFactory {
         return thread;
     }
 
+    /**
+     * Function binds the window to a shared render thread of the {@link RenderScheduler}, instance of
+     * generating an own thread. The shared threads ar not limited by the max threads option.
+     * This is used by {@link UIWindow} if the option render-threads is greater than 0.
+     * @param window the window which will be drawn by the shared thread.
+     * @return Thread - the shared render thread which is holding the window.
+     * @see RenderScheduler
+     */
+    public static synchronized Thread scheduleWindow(@NotNull AbstractWindow window) {
+        if(scheduler == null) {
+            scheduler = new RenderScheduler(OpenUI.getOptions().getRenderThreads());
+            logger.debug("Generate render scheduler with " + scheduler.getThreadCount() + " threads");
+        }
+        runningWindows.incrementAndGet();
+        return scheduler.attach(window);
+    }
+
+    /**
+     * Function is called by the thread of the window after the window was destroyed.
+     * The window and his thread ar removed from the registries, so the identifier and the thread limit ar free again.
+     * If it was the last running window, the shared context is destroyed and the {@link TaskService} is drained.
+     * @param window the destroyed window.
+     */
+    public static void releaseWindow(@NotNull UIWindow window) {
+        if(window.getThread() != null) {
+            threads.remove(window.getIdentifier(), window.getThread());
+        }
+        windows.remove(window.getIdentifier(), window);
+        logger.debug("Released window " + window.getIdentifier());
+        if(runningWindows.decrementAndGet() > 0)
+            return;
+
+        destroyShareContext();
+        TaskService service;
+        synchronized (UIFactory.class) {
+            service = taskService;
+            taskService = null;
+        }
+        if(service != null && !service.drain(DRAIN_TIMEOUT, TimeUnit.SECONDS)) {
+            logger.warn("Not all asset tasks were done after the last window was closed!");
+        }
+    }
+
+    /**
+     * @return int - the count of windows which were started and not destroyed yet.
+     */
+    public static int runningWindows() {
+        return runningWindows.get();
+    }
+
+    /**
+     * Function returned the service for asset work like reading fonts or images. The service is created
+     * by the first call and drained if the last window was closed, after this a new service is created.
+     * @return {@link TaskService} - the current task service.
+     * @see TaskService
+     */
+    public static synchronized TaskService getTaskService() {
+        if(taskService == null) {
+            taskService = new TaskService();
+        }
+        return taskService;
+    }
+
+    /**
+     * @return {@link RenderScheduler} - the shared render threads, null if no window was scheduled.
+     */
+    public static RenderScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * @param window which is checked.
      * @return boolean - true if the window have a thread.
@@ -314,6 +401,54 @@ public final class UIFactory {
         return threads;
     }
 
+    /* ########################################################################
+     *
+     *                             Context/Handle
+     *
+     * ######################################################################## */
+
+    /**
+     * Function returned the hidden window which shares his objects like textures with all windows.
+     * The window is created by the first call, this is used by {@link UIWindow} if the option share-context is true.
+     * @return long - the glfw id of the hidden window, {@link org.lwjgl.system.MemoryUtil#NULL} if it can't be created.
+     * @see NanoVGSharedImages
+     */
+    public static synchronized long getShareContext() {
+        if(shareContext == NULL) {
+            GLFW.glfwDefaultWindowHints();
+            GLFW.glfwWindowHint(GLFW.GLFW_VISIBLE, GLFW.GLFW_FALSE);
+            shareContext = GLFW.glfwCreateWindow(1, 1, "OpenUI-Share", NULL, NULL);
+            if(shareContext == NULL) {
+                logger.error("Can't create the shared context, windows ar created without sharing!");
+            } else {
+                logger.debug("Created shared context HID=" + shareContext);
+            }
+        }
+        return shareContext;
+    }
+
+    /**
+     * @return boolean - true if the hidden window of {@link #getShareContext()} exists.
+     */
+    public static synchronized boolean hasShareContext() {
+        return shareContext != NULL;
+    }
+
+    /**
+     * Private function to destroy the hidden window, the textures of the share group ar deleted with it.
+     * The window is destroyed by the {@link EventPump}, if it is enabled.
+     */
+    private static synchronized void destroyShareContext() {
+        if(shareContext == NULL)
+            return;
+
+        NanoVGSharedImages.clear();
+        long handle = shareContext;
+        EventPump.execute(() -> GLFW.glfwDestroyWindow(handle));
+        shareContext = NULL;
+        logger.debug("Destroyed shared context");
+    }
+
     /* ########################################################################
      *
      *                             Assets/Handle
@@ -331,16 +466,15 @@ public final class UIFactory {
      * @see Font
      */
     public static void registerFont(@NotNull Font font) {
-        if(hasFont(font)) {
+        if(fonts.putIfAbsent(font.getName(), font) != null) {
             logger.warn("Font " + font.getName() + ", already loaded!");
             return;
         }
         logger.debug("Font " + font.getName() + ", successfully registered!");
-        fonts.add(font);
     }
 
     /**
-     * Unregistered all existing {@link Font}'s in the font {@link List}.
+     * Unregistered all existing {@link Font}'s in the font {@link Map}.
      * Make this after closing the {@link OpenUI} application.
      */
     public static void unregisterAllFonts() {
@@ -362,12 +496,11 @@ public final class UIFactory {
      * @param name the name of the font (folder name).
      */
     public static void unregisterFont(@NotNull String name) {
-        if(!hasFont(name)) {
+        if(fonts.remove(name) == null) {
             logger.warn("Font " + name + ", is not loaded or registered!");
             return;
         }
         logger.debug("Font " + name + ", successfully unregistered!");
-        fonts.remove(getFont(name));
     }
 
     /**
@@ -385,23 +518,17 @@ public final class UIFactory {
      * @return {@link Boolean} - true if the font was found.
      */
     public static boolean hasFont(@NotNull String name) {
-        return getFont(name) != null;
+        return fonts.containsKey(name);
     }
 
     /**
-     * Function searched for a {@link Font} in the fonts {@link List} by the given name.
+     * Function searched for a {@link Font} in the fonts {@link Map} by the given name.
      * @param name the font name.
-     * @return {@link Font} - null if the {@link Font} not found.
+     * @return {@link Font} - the {@link Font#FALLBACK} font if the {@link Font} not found.
      */
     public static Font getFont(@NotNull String name) {
-        Font font = getFallbackFont();
-        for(Font entries : fonts) {
-            if(entries.getName().equals(name)) {
-                font = entries;
-                break;
-            }
-        }
-        return font;
+        Font font = fonts.get(name);
+        return font != null ? font : getFallbackFont();
     }
 
     /**
@@ -412,10 +539,10 @@ public final class UIFactory {
     }
 
     /**
-     * @return {@link List} - the complete {@link Font} {@link List}.
+     * @return {@link List} - a list of all registered {@link Font}'s, the list is not changed by later registrations.
      */
     public static List<Font> getFonts() {
-        return fonts;
+        return new ArrayList<>(fonts.values());
     }
 
     /* ##################################
@@ -423,17 +550,18 @@ public final class UIFactory {
      * ################################## */
 
     public static void registerImage(@NotNull Image image) {
-        if(hasImage(image)) {
+        if(images.putIfAbsent(image.getName(), image) != null) {
             logger.warn("Image " + image.getName() + ", already loaded!");
             return;
         }
 
         logger.debug("Image " + image.getName() + ", successfully registered!");
-        images.add(image);
     }
 
     public static void unregisterAllImages() {
-        images.clear();
+        for(String name : images.keySet()) {
+            unregisterImage(name);
+        }
     }
 
     public static void unregisterImage(@NotNull Image image) {
@@ -441,13 +569,18 @@ public final class UIFactory {
     }
 
     public static void unregisterImage(@NotNull String name) {
-        if(!hasImage(name)) {
+        Image image = images.remove(name);
+        if(image == null) {
             logger.warn("Image " + name + ", not loaded!");
             return;
         }
 
         logger.debug("Image " + name + ", successfully unregistered!");
-        images.remove(getImage(name));
+        NanoVGAtlas.release(image);
+        NanoVGResidency.release(image);
+        if(image != getFallbackImage()) {
+            image.dispose();
+        }
     }
 
     public static boolean hasImage(@NotNull Image image) {
@@ -455,18 +588,12 @@ public final class UIFactory {
     }
 
     public static boolean hasImage(@NotNull String name) {
-        return getImage(name) != null;
+        return images.containsKey(name);
     }
 
     public static Image getImage(@NotNull String name) {
-        Image image = getFallbackImage();
-        for(Image entries : images) {
-            if(entries.getName().equals(name)) {
-                image = entries;
-                break;
-            }
-        }
-        return image;
+        Image image = images.get(name);
+        return image != null ? image : getFallbackImage();
     }
 
     public static Image getFallbackImage() {
@@ -474,6 +601,6 @@ public final class UIFactory {
     }
 
     public static List<Image> getImages() {
-        return images;
+        return new ArrayList<>(images.values());
     }
 }
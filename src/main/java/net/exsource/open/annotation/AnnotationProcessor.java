@@ -3,16 +3,32 @@ package net.exsource.open.annotation;
 import net.exsource.openlogger.Logger;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Class calls the annotated functions of a class, like the lifecycle functions of the main class.
+ * If the {@link LifecycleProcessor} has generated a {@link LifecycleIndex} for the class, the functions ar called
+ * directly by the index. Else the class is scanned one time and the found functions ar cached as {@link MethodHandle}'s.
+ * All functions of a class ar called on one shared instance, which is created by the first non-static function.
  * @since 1.0.0
+ * @see LifecycleIndex
+ * @see LifecycleProcessor
  * @author Daniel Ramke
  */
 public final class AnnotationProcessor {
 
     private static final Logger logger = Logger.getLogger();
 
+    private static final Map<Class<?>, Lifecycle> lifecycles = new ConcurrentHashMap<>();
+
     /**
      * Function to invoke {@link Annotation}'s, note that this function only invoke {@link Annotation} which
      * declared on functions which not have parameters. This function can be used for handle self calling functions
@@ -34,7 +50,7 @@ public final class AnnotationProcessor {
      * in your {@link Class}es.
      * @param object the called class object which contains the {@link Annotation}'s.
      * @param annotation the {@link Annotation} which need to be invoked.
-     * @param allowAccess grant access to the called functions.
+     * @param allowAccess grant access to the called functions, only used if the class has no {@link LifecycleIndex}.
      * @apiNote This function is currently in test phase please report thinks like unknown errors or wrong usages.
      * Note that this is important for better performance or bug handling.
      * @see Annotation
@@ -46,26 +62,131 @@ public final class AnnotationProcessor {
             return;
         }
 
-        final Method[] methods = object.getDeclaredMethods();
-
         try {
+            lifecycles.computeIfAbsent(object, Lifecycle::new).invoke(annotation, allowAccess);
+        } catch (Exception exception) {
+            logger.error(exception);
+        } catch (Throwable throwable) {
+            logger.error("Can't invoke " + annotation.getSimpleName() + " of " + object.getSimpleName() + ": " + throwable);
+        }
+    }
+
+    /**
+     * @param object the called class object.
+     * @return Object - the shared instance of the class, null if no non-static function was called yet.
+     */
+    public static Object getInstance(Class<?> object) {
+        Lifecycle lifecycle = lifecycles.get(object);
+        return lifecycle == null ? null : lifecycle.instance;
+    }
+
+    /**
+     * @param object the called class object.
+     * @return boolean - true if the class has a {@link LifecycleIndex} which was generated at compile time.
+     */
+    public static boolean isIndexed(Class<?> object) {
+        return lifecycles.computeIfAbsent(object, Lifecycle::new).index != null;
+    }
+
+    /**
+     * Private class holds the index or the cached functions and the shared instance of a single class.
+     */
+    private static final class Lifecycle {
+
+        private final Class<?> owner;
+        private final LifecycleIndex index;
+        private final Map<Class<? extends Annotation>, List<Target>> targets = new ConcurrentHashMap<>();
+        private Method[] methods;
+        private volatile Object instance;
+        private boolean created;
+
+        private Lifecycle(Class<?> owner) {
+            this.owner = owner;
+            this.index = index(owner);
+        }
+
+        private synchronized void invoke(Class<? extends Annotation> annotation, boolean allowAccess) throws Throwable {
+            if(index != null) {
+                if(!created) {
+                    instance = index.create();
+                    created = true;
+                }
+                if(index.invoke(instance, annotation))
+                    return;
+            }
+
+            for(Target target : targets.computeIfAbsent(annotation, key -> lookup(key, allowAccess))) {
+                if(target.isStatic) {
+                    target.handle.invoke();
+                } else {
+                    target.handle.invoke(instance(allowAccess));
+                }
+                logger.debug("Called successfully " + target.name + "!");
+            }
+        }
+
+        /**
+         * Private function to create the shared instance one time by reflection, if the index has not created it.
+         */
+        private Object instance(boolean allowAccess) throws Throwable {
+            if(instance == null) {
+                Constructor<?> constructor = owner.getDeclaredConstructor();
+                if(allowAccess)
+                    constructor.setAccessible(true);
+                instance = MethodHandles.lookup().unreflectConstructor(constructor).invoke();
+                created = true;
+            }
+            return instance;
+        }
+
+        /**
+         * Private function to find the functions of the annotation, the declared functions ar scanned only one time.
+         */
+        private List<Target> lookup(Class<? extends Annotation> annotation, boolean allowAccess) {
+            if(methods == null) {
+                methods = owner.getDeclaredMethods();
+            }
+
+            List<Target> found = new ArrayList<>();
             for(Method method : methods) {
-                Annotation handle = method.getAnnotation(annotation);
-                if(handle == null)
+                if(!method.isAnnotationPresent(annotation) || method.getParameterCount() != 0)
                     continue;
 
-                if(method.getParameterTypes().length != 0)
-                    continue;
+                try {
+                    if(allowAccess)
+                        method.setAccessible(true);
+                    found.add(new Target(method.getName(), MethodHandles.lookup().unreflect(method)
+                            , Modifier.isStatic(method.getModifiers())));
+                } catch (Exception exception) {
+                    logger.error(exception);
+                }
+            }
+            return found;
+        }
 
-                if(allowAccess)
-                    method.setAccessible(true);
+        /**
+         * Private function to load the generated index of the class.
+         * @return {@link LifecycleIndex} - the index or null if the class was not indexed.
+         */
+        private static LifecycleIndex index(Class<?> owner) {
+            try {
+                Class<?> type = Class.forName(owner.getName() + LifecycleIndex.SUFFIX, true, owner.getClassLoader());
+                if(!LifecycleIndex.class.isAssignableFrom(type))
+                    return null;
 
-                method.invoke(object.getDeclaredConstructor().newInstance());
-                logger.debug("Called successfully " + method.getName() + "!");
+                logger.debug("Using lifecycle index of " + owner.getSimpleName());
+                return (LifecycleIndex) type.getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException exception) {
+                return null;
+            } catch (Exception exception) {
+                logger.error(exception);
+                return null;
             }
-        } catch (Exception exception) {
-            logger.error(exception);
         }
     }
 
+    /**
+     * Private record holds a cached function.
+     */
+    private record Target(String name, MethodHandle handle, boolean isStatic) { }
 }
@@ -0,0 +1,38 @@
+package net.exsource.open.annotation;
+
+import net.exsource.open.annotation.start.Initialization;
+import net.exsource.open.annotation.start.PostInitialization;
+import net.exsource.open.annotation.start.PreInitialisation;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Interface is implemented by the classes which ar generated by the {@link LifecycleProcessor} at compile time.
+ * An index calls the {@link PreInitialisation}, {@link Initialization} and {@link PostInitialization} functions
+ * of a single class directly, so the {@link AnnotationProcessor} doesn't need to scan the class by reflection.
+ * The generated class is named like the indexed class with the suffix {@link #SUFFIX}.
+ * @since 1.0.0
+ * @see LifecycleProcessor
+ * @see AnnotationProcessor
+ * @author Daniel Ramke
+ */
+public interface LifecycleIndex {
+
+    String SUFFIX = "$Lifecycle";
+
+    /**
+     * @return Object - a new instance of the indexed class, null if all indexed functions ar static.
+     * @throws Throwable if the constructor failed.
+     */
+    Object create() throws Throwable;
+
+    /**
+     * Function calls all functions of the indexed class which ar annotated with the given phase.
+     * @param instance the instance of {@link #create()}.
+     * @param phase the lifecycle annotation.
+     * @return boolean - true for every lifecycle phase, also if the class has no function of it. False if the
+     * annotation is no lifecycle phase, then the functions must be looked up by reflection.
+     * @throws Throwable if a called function failed.
+     */
+    boolean invoke(Object instance, Class<? extends Annotation> phase) throws Throwable;
+}
@@ -0,0 +1,198 @@
+package net.exsource.open.annotation;
+
+import net.exsource.open.annotation.start.Initialization;
+import net.exsource.open.annotation.start.PostInitialization;
+import net.exsource.open.annotation.start.PreInitialisation;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class is a javac annotation processor which generates a {@link LifecycleIndex} for every class with
+ * {@link PreInitialisation}, {@link Initialization} or {@link PostInitialization} functions.
+ * The processor is found by javac through META-INF/services, if the library is on the processor path.
+ * Classes which can't be called directly by the generated code, like classes with private lifecycle functions
+ * or without a usable constructor, get no index and ar still called by reflection.
+ * @since 1.0.0
+ * @see LifecycleIndex
+ * @see AnnotationProcessor
+ * @author Daniel Ramke
+ */
+public class LifecycleProcessor extends AbstractProcessor {
+
+    private static final List<String> PHASES = List.of(PreInitialisation.class.getCanonicalName()
+            , Initialization.class.getCanonicalName(), PostInitialization.class.getCanonicalName());
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(PHASES);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<TypeElement> owners = new LinkedHashSet<>();
+        for(TypeElement annotation : annotations) {
+            for(Element element : round.getElementsAnnotatedWith(annotation)) {
+                if(element.getKind() == ElementKind.METHOD) {
+                    owners.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        for(TypeElement owner : owners) {
+            Map<String, List<ExecutableElement>> phases = collect(owner);
+            if(phases != null) {
+                write(owner, phases);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Private function to sort the lifecycle functions of the class by phase in source order.
+     * @param owner the class with lifecycle functions.
+     * @return {@link Map} - the functions by phase name, null if the class can't be indexed.
+     */
+    private Map<String, List<ExecutableElement>> collect(TypeElement owner) {
+        if(!accessible(owner)) {
+            note(owner, "is not accessible from his package, it is called by reflection");
+            return null;
+        }
+
+        Map<String, List<ExecutableElement>> phases = new LinkedHashMap<>();
+        boolean needsInstance = false;
+        for(ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            for(String phase : PHASES) {
+                if(!annotated(method, phase) || !method.getParameters().isEmpty())
+                    continue;
+
+                if(method.getModifiers().contains(Modifier.PRIVATE)) {
+                    note(method, "is private, the class " + owner.getSimpleName() + " is called by reflection");
+                    return null;
+                }
+                needsInstance |= !method.getModifiers().contains(Modifier.STATIC);
+                phases.computeIfAbsent(phase, key -> new ArrayList<>()).add(method);
+            }
+        }
+
+        if(needsInstance && !constructible(owner)) {
+            note(owner, "has no usable constructor without parameters, it is called by reflection");
+            return null;
+        }
+        return phases.isEmpty() ? null : phases;
+    }
+
+    /**
+     * Private function to write the index source file of the class. The generated invoke function returns true
+     * for every lifecycle phase, also for phases without functions, so the indexed class is never scanned.
+     * @param owner the indexed class.
+     * @param phases the functions by phase name.
+     */
+    private void write(TypeElement owner, Map<String, List<ExecutableElement>> phases) {
+        PackageElement pack = processingEnv.getElementUtils().getPackageOf(owner);
+        String packageName = pack.isUnnamed() ? "" : pack.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(owner).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + LifecycleIndex.SUFFIX;
+        String type = owner.getQualifiedName().toString();
+        boolean needsInstance = phases.values().stream().flatMap(List::stream)
+                .anyMatch(method -> !method.getModifiers().contains(Modifier.STATIC));
+
+        StringBuilder source = new StringBuilder();
+        if(!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(LifecycleProcessor.class.getName()).append(", don't edit this file.\n */\n");
+        source.append("public final class ").append(simpleName).append(" implements ").append(LifecycleIndex.class.getName()).append(" {\n\n");
+        source.append("    @Override\n    public Object create() {\n");
+        source.append("        return ").append(needsInstance ? "new " + type + "()" : "null").append(";\n    }\n\n");
+        source.append("    @Override\n    public boolean invoke(Object instance, Class<? extends java.lang.annotation.Annotation> phase) throws Throwable {\n");
+        for(Map.Entry<String, List<ExecutableElement>> entry : phases.entrySet()) {
+            source.append("        if(phase == ").append(entry.getKey()).append(".class) {\n");
+            for(ExecutableElement method : entry.getValue()) {
+                boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+                source.append("            ").append(isStatic ? type : "((" + type + ") instance)")
+                        .append(".").append(method.getSimpleName()).append("();\n");
+            }
+            source.append("            return true;\n        }\n");
+        }
+        source.append("        return ").append(String.join(" || ", PHASES.stream().map(phase -> "phase == " + phase + ".class").toList()))
+                .append(";\n    }\n}\n");
+
+        String name = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try(Writer writer = processingEnv.getFiler().createSourceFile(name, owner).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Can't write lifecycle index " + name + ": " + exception.getMessage(), owner);
+        }
+    }
+
+    /**
+     * @return boolean - true if the method is annotated with the given annotation name.
+     */
+    private static boolean annotated(ExecutableElement method, String annotation) {
+        return method.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation));
+    }
+
+    /**
+     * @return boolean - true if the class and all enclosing classes can be used by another class of the package.
+     */
+    private static boolean accessible(TypeElement owner) {
+        Element current = owner;
+        while (current instanceof TypeElement type) {
+            if(type.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+            if(type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS)
+                return false;
+            current = type.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * @return boolean - true if the generated index can create an instance of the class.
+     */
+    private static boolean constructible(TypeElement owner) {
+        if(owner.getKind() != ElementKind.CLASS || owner.getModifiers().contains(Modifier.ABSTRACT))
+            return false;
+        if(owner.getNestingKind() == NestingKind.MEMBER && !owner.getModifiers().contains(Modifier.STATIC))
+            return false;
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(owner.getEnclosedElements());
+        for(ExecutableElement constructor : constructors) {
+            if(constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Private function to print a note to the compiler output.
+     */
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Lifecycle index skipped, " + element.getSimpleName() + " " + message, element);
+    }
+}
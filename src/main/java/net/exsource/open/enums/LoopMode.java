@@ -0,0 +1,53 @@
+package net.exsource.open.enums;
+
+import net.exsource.open.Options;
+import net.exsource.open.ui.AbstractWindow;
+
+/**
+ * Enum contains the loop modes which ar used by {@link AbstractWindow}.
+ * The mode can be changed by {@link Options#setLoopMode(LoopMode)} or the program argument loop-mode.
+ * @since 1.0.0
+ * @see AbstractWindow
+ * @author Daniel Ramke
+ */
+public enum LoopMode {
+
+    /**
+     * The window renders all the time, capped by the fps of the {@link Options}.
+     */
+    CONTINUOUS("continuous"),
+
+    /**
+     * The window sleeps until input, changes, animations or queued work ar pending.
+     */
+    ON_DEMAND("on-demand");
+
+    private final String argument;
+
+    LoopMode(String argument) {
+        this.argument = argument;
+    }
+
+    /**
+     * @return {@link String} - the name which is used as program argument value.
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    /**
+     * Function returned the founded mode by the program argument value.
+     * @param argument the value like continuous or on-demand.
+     * @return {@link LoopMode} - the founded mode, {@link #CONTINUOUS} if nothing was found.
+     */
+    public static LoopMode get(String argument) {
+        LoopMode mode = CONTINUOUS;
+        for(LoopMode modes : values()) {
+            if(modes.getArgument().equalsIgnoreCase(argument) || modes.name().equalsIgnoreCase(argument)) {
+                mode = modes;
+                break;
+            }
+        }
+        return mode;
+    }
+}
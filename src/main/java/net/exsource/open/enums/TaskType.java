@@ -0,0 +1,41 @@
+package net.exsource.open.enums;
+
+import net.exsource.open.logic.TaskService;
+
+/**
+ * Enum contains the resource types of the {@link TaskService}. Every type owns his own limit of
+ * tasks which ar executed at the same time, the remaining tasks of a type ar queued.
+ * @since 1.0.0
+ * @see TaskService
+ * @author Daniel Ramke
+ */
+public enum TaskType {
+
+    /**
+     * Reading of font files.
+     */
+    FONT(8),
+
+    /**
+     * Reading and decoding of image files, the decoding needs the processor so the limit depends on the cores.
+     */
+    IMAGE(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1))),
+
+    /**
+     * Scanning of folders, like the font folders.
+     */
+    SCAN(4);
+
+    private final int limit;
+
+    TaskType(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return int - the default count of tasks which ar executed at the same time.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
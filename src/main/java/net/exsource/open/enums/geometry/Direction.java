@@ -0,0 +1,20 @@
+package net.exsource.open.enums.geometry;
+
+/**
+ * This enum controls the main axis of a layout, which is the axis the children ar placed along.
+ * @since 1.0.0
+ * @author Daniel Ramke
+ */
+public enum Direction {
+
+    /**
+     * Indicates that the children ar placed from left to right.
+     */
+    ROW,
+
+    /**
+     * Indicates that the children ar placed from top to bottom.
+     */
+    COLUMN
+
+}
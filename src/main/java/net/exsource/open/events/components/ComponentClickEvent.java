@@ -0,0 +1,73 @@
+package net.exsource.open.events.components;
+
+import net.exsource.open.ui.component.Component;
+import net.exsource.openutils.event.Cancelable;
+import net.exsource.openutils.event.Event;
+import org.jetbrains.annotations.NotNull;
+
+public class ComponentClickEvent implements Event, Cancelable {
+
+    private final Component component;
+    private final float positionX;
+    private final float positionY;
+    private final Component target;
+    private final int button;
+    private final int action;
+    private final int mods;
+    private boolean cancelled;
+
+    public ComponentClickEvent(@NotNull Component component, float positionX, float positionY, @NotNull Component target, int button, int action, int mods) {
+        this.component = component;
+        this.positionX = positionX;
+        this.positionY = positionY;
+        this.target = target;
+        this.button = button;
+        this.action = action;
+        this.mods = mods;
+        this.cancelled = false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    public Component getComponent() {
+        return component;
+    }
+
+    public float getPositionX() {
+        return positionX;
+    }
+
+    public float getPositionY() {
+        return positionY;
+    }
+
+    public Component getTarget() {
+        return target;
+    }
+
+    public int getButton() {
+        return button;
+    }
+
+    public int getAction() {
+        return action;
+    }
+
+    public int getMods() {
+        return mods;
+    }
+
+}
@@ -0,0 +1,49 @@
+package net.exsource.open.events.components;
+
+import net.exsource.open.ui.component.Component;
+import net.exsource.openutils.event.Cancelable;
+import net.exsource.openutils.event.Event;
+import org.jetbrains.annotations.NotNull;
+
+public class ComponentLeaveEvent implements Event, Cancelable {
+
+    private final Component component;
+    private final float positionX;
+    private final float positionY;
+    private boolean cancelled;
+
+    public ComponentLeaveEvent(@NotNull Component component, float positionX, float positionY) {
+        this.component = component;
+        this.positionX = positionX;
+        this.positionY = positionY;
+        this.cancelled = false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    public Component getComponent() {
+        return component;
+    }
+
+    public float getPositionX() {
+        return positionX;
+    }
+
+    public float getPositionY() {
+        return positionY;
+    }
+
+}
@@ -68,6 +68,8 @@ public abstract class AbstractRenderer implements Renderer {
 
     @Override
     public void setPriority(RenderPriority priority) {
+        if(priority == null || this.priority == priority)
+            return;
         this.priority = priority;
         this.setNeededPatch(true);
     }
@@ -89,7 +91,7 @@ public abstract class AbstractRenderer implements Renderer {
 
     @Override
     public boolean neededPatch() {
-        return false;
+        return needPatch;
     }
 
     public UIWindow getWindow() {
@@ -0,0 +1,379 @@
+package net.exsource.open.logic;
+
+import net.exsource.open.UIFactory;
+import net.exsource.open.enums.TaskType;
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class executes asset work like reading fonts, decoding images or scanning folders outside the window threads.
+ * The tasks ar executed by virtual threads if the running java version supports them, else by daemon threads.
+ * Every {@link TaskType} has his own limit of running tasks, the remaining tasks of the type wait in a queue
+ * without blocking a thread. The service is owned by {@link UIFactory} and drained if the last window was closed.
+ * @since 1.0.0
+ * @see TaskType
+ * @see UIFactory
+ * @author Daniel Ramke
+ */
+public final class TaskService {
+
+    private static final Logger logger = Logger.getLogger();
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final Map<TaskType, Lane> lanes = new EnumMap<>(TaskType.class);
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean drained;
+
+    /**
+     * Constructor creates the service with the default limits of the {@link TaskType}'s.
+     */
+    public TaskService() {
+        ExecutorService service = virtualExecutor();
+        this.virtual = service != null;
+        this.executor = service != null ? service : Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "OpenUI-Task-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for(TaskType type : TaskType.values()) {
+            lanes.put(type, new Lane(type.getLimit()));
+        }
+        logger.debug("Created task service with " + (virtual ? "virtual" : "platform") + " threads");
+    }
+
+    /**
+     * Function queues the task of the given type. The task is started if the limit of the type allows it.
+     * Cancelling the returned future with mayInterruptIfRunning interrupts the thread of the running task.
+     * @param type the resource type of the task.
+     * @param task the task to execute.
+     * @return {@link CompletableFuture} - the result of the task, failed if the service was already drained.
+     * @param <T> the type of the result.
+     */
+    public <T> CompletableFuture<T> submit(@NotNull TaskType type, @NotNull Callable<T> task) {
+        return submit(type, task, null);
+    }
+
+    /**
+     * Function queues the task like {@link #submit(TaskType, Callable)} without result.
+     * @param type the resource type of the task.
+     * @param task the task to execute.
+     * @return {@link CompletableFuture} - completed if the task is done.
+     */
+    public CompletableFuture<Void> execute(@NotNull TaskType type, @NotNull Runnable task) {
+        return submit(type, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Function executes all tasks at the same time and waits until all ar done. If one task fails, the tasks
+     * which were not started yet ar skipped, the running tasks ar interrupted and this call waits until they
+     * have stopped. So no task runs longer than this call, the first failure is thrown.
+     * @param type the resource type of the tasks.
+     * @param tasks the tasks to execute.
+     * @return {@link List} - the results in the order of the tasks.
+     * @param <T> the type of the results.
+     * @throws InterruptedException if the calling thread was interrupted while waiting, the tasks ar cancelled.
+     * @throws ExecutionException if a task has thrown an exception.
+     */
+    public <T> List<T> invokeAll(@NotNull TaskType type, @NotNull List<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        List<Task<T>> futures = new ArrayList<>(tasks.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for(Callable<T> task : tasks) {
+            futures.add(submit(type, task, failure));
+        }
+        for(Task<T> future : futures) {
+            future.whenComplete((result, throwable) -> {
+                if(throwable != null) {
+                    futures.forEach(other -> other.cancel(true));
+                }
+            });
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+        } catch (InterruptedException exception) {
+            futures.forEach(future -> future.cancel(true));
+            throw exception;
+        } catch (ExecutionException exception) {
+            for(Task<T> future : futures) {
+                future.awaitStop();
+            }
+            throw new ExecutionException(failure.get() != null ? failure.get() : exception.getCause());
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for(CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Function waits until all queued and running tasks ar done, at most the given time. Tasks which ar
+     * queued by running tasks meanwhile ar waited for as well. After this the remaining tasks ar cancelled,
+     * the threads interrupted and new tasks ar rejected.
+     * @param timeout the max time to wait.
+     * @param unit the unit of the timeout.
+     * @return boolean - true if all tasks were done in time.
+     */
+    public boolean drain(long timeout, @NotNull TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Iterator<CompletableFuture<?>> iterator;
+        while ((iterator = pending.iterator()).hasNext()) {
+            long left = deadline - System.nanoTime();
+            if(left <= 0)
+                break;
+
+            CompletableFuture<?> future = iterator.next();
+            try {
+                future.get(left, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException exception) {
+                break;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ignored) {
+                // the failure is reported by the future itself.
+            }
+            pending.remove(future);
+        }
+
+        drained = true;
+        boolean clean = pending.isEmpty();
+        for(CompletableFuture<?> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+        for(Lane lane : lanes.values()) {
+            lane.queue.clear();
+        }
+        executor.shutdownNow();
+        if(!clean) {
+            logger.warn("Task service was drained with unfinished tasks, they were cancelled!");
+        }
+        return clean;
+    }
+
+    /**
+     * @param type the resource type.
+     * @param limit the new count of tasks which ar executed at the same time, at least one.
+     */
+    public void setLimit(@NotNull TaskType type, int limit) {
+        Lane lane = lanes.get(type);
+        lane.limit = Math.max(1, limit);
+        dispatch(lane);
+    }
+
+    /**
+     * @param type the resource type.
+     * @return int - the count of tasks which ar executed at the same time.
+     */
+    public int getLimit(@NotNull TaskType type) {
+        return lanes.get(type).limit;
+    }
+
+    /**
+     * @param type the resource type.
+     * @return int - the count of tasks of the type which ar running now.
+     */
+    public int getRunning(@NotNull TaskType type) {
+        return lanes.get(type).running.get();
+    }
+
+    /**
+     * @return int - the count of tasks which ar not done yet, queued or running.
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * @return boolean - true if the tasks ar executed by virtual threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * @return boolean - true if the service was drained and rejects new tasks.
+     */
+    public boolean isDrained() {
+        return drained;
+    }
+
+    /**
+     * Private function to queue the task of the given type.
+     * @param type the resource type of the task.
+     * @param task the task to execute.
+     * @param failure the first failure of the group of the task, the task is skipped if it is set. Can be null.
+     * @return {@link Task} - the result of the task, failed if the service was already drained.
+     * @param <T> the type of the result.
+     */
+    private <T> Task<T> submit(TaskType type, Callable<T> task, AtomicReference<Throwable> failure) {
+        Task<T> future = new Task<>();
+        if(drained) {
+            future.completeExceptionally(new RejectedExecutionException("Task service is already drained!"));
+            return future;
+        }
+
+        pending.add(future);
+        future.whenComplete((result, throwable) -> pending.remove(future));
+        Lane lane = lanes.get(type);
+        lane.queue.offer(() -> future.run(task, failure));
+        dispatch(lane);
+        return future;
+    }
+
+    /**
+     * Private function to start the queued tasks of the lane until the limit is reached.
+     * Is called after a task was queued and after a task was done.
+     * @param lane the lane of a resource type.
+     */
+    private void dispatch(Lane lane) {
+        while (!lane.queue.isEmpty() && lane.acquire()) {
+            Runnable task = lane.queue.poll();
+            if(task == null) {
+                lane.running.decrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        lane.running.decrementAndGet();
+                        dispatch(lane);
+                    }
+                });
+            } catch (RejectedExecutionException exception) {
+                lane.running.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Private function to create the virtual thread executor, which exists since java 21.
+     * The executor is looked up at runtime, so the library still runs on older versions.
+     * @return {@link ExecutorService} - the executor or null if virtual threads ar not supported.
+     */
+    private static ExecutorService virtualExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class
+                    , "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (Throwable throwable) {
+            return null;
+        }
+    }
+
+    /**
+     * Private class which knows the thread of his running task, so {@link #cancel(boolean)} can interrupt it.
+     * @param <T> the type of the result.
+     */
+    private static final class Task<T> extends CompletableFuture<T> {
+
+        private Thread runner;
+
+        private void run(Callable<T> task, AtomicReference<Throwable> failure) {
+            synchronized (this) {
+                if(isDone())
+                    return;
+                if(failure != null && failure.get() != null) {
+                    super.cancel(false);
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+
+            try {
+                complete(task.call());
+            } catch (Throwable throwable) {
+                if(failure != null) {
+                    failure.compareAndSet(null, throwable);
+                }
+                completeExceptionally(throwable);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    Thread.interrupted();
+                    notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if(mayInterruptIfRunning) {
+                synchronized (this) {
+                    if(runner != null) {
+                        runner.interrupt();
+                    }
+                }
+            }
+            return cancelled;
+        }
+
+        /**
+         * Function waits until the thread of the task has left it.
+         * @throws InterruptedException if the calling thread was interrupted while waiting.
+         */
+        private synchronized void awaitStop() throws InterruptedException {
+            while (runner != null) {
+                wait();
+            }
+        }
+    }
+
+    /**
+     * Private class holds the queue and the running count of a resource type.
+     */
+    private static final class Lane {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile int limit;
+
+        private Lane(int limit) {
+            this.limit = limit;
+        }
+
+        private boolean acquire() {
+            int current;
+            do {
+                current = running.get();
+                if(current >= limit)
+                    return false;
+            } while (!running.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
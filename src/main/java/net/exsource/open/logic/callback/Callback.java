@@ -1,26 +1,43 @@
 package net.exsource.open.logic.callback;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * Abstract class for create new Callbacks for window handling.
  * This class need be implicated in classes to work as Callback handler.
+ * The callbacks ar stored as copy on write array, so callbacks can be added or removed by every thread
+ * while the callback is invoked. An invocation uses the array which was current at the start of the invocation.
  * @since 1.0.0
  * @author Daniel Ramke
  * @param <T> callback type.
  */
 public abstract class Callback<T> {
 
-    private final List<T> callbacks = new ArrayList<>();
+    private final IntFunction<T[]> generator;
+    private volatile T[] callbacks;
+
+    /**
+     * Constructor creates an empty callback.
+     * @param generator the array constructor of the callback type, like {@code Type[]::new}.
+     */
+    protected Callback(IntFunction<T[]> generator) {
+        this.generator = generator;
+        this.callbacks = generator.apply(0);
+    }
 
     /**
      * Function adds a new callback to the list.
      * @param value new callback.
      */
-    public void add(T value) {
+    public synchronized void add(T value) {
         if(value != null) {
-            callbacks.add(value);
+            T[] current = callbacks;
+            T[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = value;
+            callbacks = copy;
         }
     }
 
@@ -28,16 +45,33 @@ public abstract class Callback<T> {
      * Function removes a callback from the list.
      * @param value callback to remove.
      */
-    public void remove(T value) {
-        if(value != null) {
-            callbacks.remove(value);
+    public synchronized void remove(T value) {
+        if(value == null)
+            return;
+
+        T[] current = callbacks;
+        for(int i = 0; i < current.length; i++) {
+            if(current[i].equals(value)) {
+                T[] copy = generator.apply(current.length - 1);
+                System.arraycopy(current, 0, copy, 0, i);
+                System.arraycopy(current, i + 1, copy, i, current.length - i - 1);
+                callbacks = copy;
+                return;
+            }
         }
     }
 
     /**
-     * @return {@link List} - all current T object in the list.
+     * @return {@link List} - all current T object in the list, the list is not changed by later calls.
      */
     public List<T> getCallbacks() {
+        return Collections.unmodifiableList(Arrays.asList(callbacks));
+    }
+
+    /**
+     * @return T[] - the current callbacks, this array is never changed and must not be changed by the caller.
+     */
+    protected T[] snapshot() {
         return callbacks;
     }
 }
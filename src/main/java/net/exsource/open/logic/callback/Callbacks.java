@@ -24,9 +24,13 @@ public class Callbacks {
      * This callback can be used one time, after closing is the callback removed!
      */
     public static class WindowCloseCallback extends Callback<GLFWWindowCloseCallbackI> implements GLFWWindowCloseCallbackI {
+        public WindowCloseCallback() {
+            super(GLFWWindowCloseCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window) {
-            for(GLFWWindowCloseCallbackI callback : getCallbacks()) {
+            for(GLFWWindowCloseCallbackI callback : snapshot()) {
                 callback.invoke(window);
             }
         }
@@ -39,9 +43,13 @@ public class Callbacks {
      * it wil override it every time the window change his size!
      */
     public static class WindowSizeCallback extends Callback<GLFWWindowSizeCallbackI> implements GLFWWindowSizeCallbackI {
+        public WindowSizeCallback() {
+            super(GLFWWindowSizeCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int width, int height) {
-            for(GLFWWindowSizeCallbackI callback : getCallbacks()) {
+            for(GLFWWindowSizeCallbackI callback : snapshot()) {
                 callback.invoke(window, width, height);
             }
         }
@@ -54,9 +62,13 @@ public class Callbacks {
      * it wil override it every time the window change his size!
      */
     public static class WindowPositionCallback extends Callback<GLFWWindowPosCallbackI> implements GLFWWindowPosCallbackI {
+        public WindowPositionCallback() {
+            super(GLFWWindowPosCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int positionX, int positionY) {
-            for(GLFWWindowPosCallbackI callback : getCallbacks()) {
+            for(GLFWWindowPosCallbackI callback : snapshot()) {
                 callback.invoke(window, positionX, positionY);
             }
         }
@@ -68,9 +80,13 @@ public class Callbacks {
      * Lost focus is if the user click on the desktop or other program ui's.
      */
     public static class WindowFocusCallback extends Callback<GLFWWindowFocusCallbackI> implements GLFWWindowFocusCallbackI {
+        public WindowFocusCallback() {
+            super(GLFWWindowFocusCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, boolean focused) {
-            for(GLFWWindowFocusCallbackI callback : getCallbacks()) {
+            for(GLFWWindowFocusCallbackI callback : snapshot()) {
                 callback.invoke(window, focused);
             }
         }
@@ -81,9 +97,13 @@ public class Callbacks {
      * Note this is calling every time you maximize or minimize your window.
      */
     public static class WindowMaximizedCallback extends Callback<GLFWWindowMaximizeCallbackI> implements GLFWWindowMaximizeCallbackI {
+        public WindowMaximizedCallback() {
+            super(GLFWWindowMaximizeCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, boolean maximized) {
-            for(GLFWWindowMaximizeCallbackI callback : getCallbacks()) {
+            for(GLFWWindowMaximizeCallbackI callback : snapshot()) {
                 callback.invoke(window, maximized);
             }
         }
@@ -94,9 +114,13 @@ public class Callbacks {
      * Note this is called if you iconified the current window to the task bar.
      */
     public static class WindowIconifyCallback extends Callback<GLFWWindowIconifyCallbackI> implements GLFWWindowIconifyCallbackI {
+        public WindowIconifyCallback() {
+            super(GLFWWindowIconifyCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, boolean iconified) {
-            for(GLFWWindowIconifyCallbackI callback : getCallbacks()) {
+            for(GLFWWindowIconifyCallbackI callback : snapshot()) {
                 callback.invoke(window, iconified);
             }
         }
@@ -108,9 +132,13 @@ public class Callbacks {
      * It can call multiply times if you not handle it correctly.
      */
     public static class WindowRefreshCallback extends Callback<GLFWWindowRefreshCallbackI> implements GLFWWindowRefreshCallbackI {
+        public WindowRefreshCallback() {
+            super(GLFWWindowRefreshCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window) {
-            for(GLFWWindowRefreshCallbackI callback : getCallbacks()) {
+            for(GLFWWindowRefreshCallbackI callback : snapshot()) {
                 callback.invoke(window);
             }
         }
@@ -123,9 +151,13 @@ public class Callbacks {
      * it wil override it every time the window change his size!
      */
     public static class FrameBufferSizeCallback extends Callback<GLFWFramebufferSizeCallbackI> implements GLFWFramebufferSizeCallbackI {
+        public FrameBufferSizeCallback() {
+            super(GLFWFramebufferSizeCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int width, int height) {
-            for(GLFWFramebufferSizeCallbackI callback : getCallbacks()) {
+            for(GLFWFramebufferSizeCallbackI callback : snapshot()) {
                 callback.invoke(window, width, height);
             }
         }
@@ -138,9 +170,13 @@ public class Callbacks {
      * callback handle {@link MouseButtonCallback}.
      */
     public static class KeyCallback extends Callback<GLFWKeyCallbackI> implements GLFWKeyCallbackI {
+        public KeyCallback() {
+            super(GLFWKeyCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int key, int scancode, int action, int mods) {
-            for(GLFWKeyCallbackI callback : getCallbacks()) {
+            for(GLFWKeyCallbackI callback : snapshot()) {
                 callback.invoke(window, key, scancode, action, mods);
             }
         }
@@ -152,9 +188,13 @@ public class Callbacks {
      * is behind the key.
      */
     public static class CharCallback extends Callback<GLFWCharCallbackI> implements GLFWCharCallbackI {
+        public CharCallback() {
+            super(GLFWCharCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int codepoint) {
-            for(GLFWCharCallbackI callback : getCallbacks()) {
+            for(GLFWCharCallbackI callback : snapshot()) {
                 callback.invoke(window, codepoint);
             }
         }
@@ -166,9 +206,13 @@ public class Callbacks {
      * try to hit combos.
      */
     public static class CharModsCallback extends Callback<GLFWCharModsCallbackI> implements GLFWCharModsCallbackI {
+        public CharModsCallback() {
+            super(GLFWCharModsCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int codepoint, int mods) {
-            for(GLFWCharModsCallbackI callback : getCallbacks()) {
+            for(GLFWCharModsCallbackI callback : snapshot()) {
                 callback.invoke(window, codepoint, mods);
             }
         }
@@ -177,25 +221,106 @@ public class Callbacks {
     /**
      * Callback for handling mouse inputs for the current window.
      * If the user clicked a mouse button this callback is being called.
+     * A collapsed move of the linked {@link MousePositionCallback} is delivered before the button,
+     * so the button always belongs to the position where it was clicked.
      */
     public static class MouseButtonCallback extends Callback<GLFWMouseButtonCallbackI> implements GLFWMouseButtonCallbackI {
+
+        private volatile MousePositionCallback position;
+
+        public MouseButtonCallback() {
+            super(GLFWMouseButtonCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, int button, int action, int mods) {
-            for(GLFWMouseButtonCallbackI callback : getCallbacks()) {
+            MousePositionCallback position = this.position;
+            if(position != null) {
+                position.flush();
+            }
+            for(GLFWMouseButtonCallbackI callback : snapshot()) {
                 callback.invoke(window, button, action, mods);
             }
         }
+
+        /**
+         * Function links the position callback of the same window, which is flushed before a button is delivered.
+         * @param position the position callback, null to unlink it.
+         */
+        public void setPosition(MousePositionCallback position) {
+            this.position = position;
+        }
     }
 
     /**
      * Callback for handling mouse movement for the current window.
      * Called if the user moves the mouse over the window. Is triggered
      * with the {@link MouseEnteredCallback}.
+     * In coalescing mode all moves of a frame ar collapsed to the latest position,
+     * which is delivered one time by {@link #flush()}.
      */
     public static class MousePositionCallback extends Callback<GLFWCursorPosCallbackI> implements GLFWCursorPosCallbackI {
+
+        private volatile boolean coalescing;
+        private boolean pending;
+        private long window;
+        private double positionX;
+        private double positionY;
+
+        public MousePositionCallback() {
+            super(GLFWCursorPosCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, double positionX, double positionY) {
-            for(GLFWCursorPosCallbackI callback : getCallbacks()) {
+            if(coalescing) {
+                synchronized (this) {
+                    this.window = window;
+                    this.positionX = positionX;
+                    this.positionY = positionY;
+                    this.pending = true;
+                }
+                return;
+            }
+            deliver(window, positionX, positionY);
+        }
+
+        /**
+         * Function delivers the latest position if a move was collapsed since the last call.
+         * Is called one time per frame by the window.
+         */
+        public void flush() {
+            long window;
+            double positionX;
+            double positionY;
+            synchronized (this) {
+                if(!pending)
+                    return;
+                pending = false;
+                window = this.window;
+                positionX = this.positionX;
+                positionY = this.positionY;
+            }
+            deliver(window, positionX, positionY);
+        }
+
+        /**
+         * Function enables or disables the coalescing mode, collapsed moves ar delivered if it is disabled.
+         * @param coalescing the new state.
+         */
+        public void setCoalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+            if(!coalescing) {
+                flush();
+            }
+        }
+
+        public boolean isCoalescing() {
+            return coalescing;
+        }
+
+        private void deliver(long window, double positionX, double positionY) {
+            for(GLFWCursorPosCallbackI callback : snapshot()) {
                 callback.invoke(window, positionX, positionY);
             }
         }
@@ -207,9 +332,13 @@ public class Callbacks {
      * with the {@link MousePositionCallback}.
      */
     public static class MouseEnteredCallback extends Callback<GLFWCursorEnterCallbackI> implements GLFWCursorEnterCallbackI {
+        public MouseEnteredCallback() {
+            super(GLFWCursorEnterCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, boolean entered) {
-            for(GLFWCursorEnterCallbackI callback : getCallbacks()) {
+            for(GLFWCursorEnterCallbackI callback : snapshot()) {
                 callback.invoke(window, entered);
             }
         }
@@ -220,11 +349,72 @@ public class Callbacks {
      * Called if the user with the mouse in the window and begin scrolling the thumb.
      * The system means if the user scrolls up then the y value will set to 1 not increase!
      * The same with the down direction.
+     * In coalescing mode the offsets of a frame ar summed up and delivered one time by {@link #flush()}.
      */
     public static class ScrollCallback extends Callback<GLFWScrollCallbackI> implements GLFWScrollCallbackI {
+
+        private volatile boolean coalescing;
+        private boolean pending;
+        private long window;
+        private double xOffset;
+        private double yOffset;
+
+        public ScrollCallback() {
+            super(GLFWScrollCallbackI[]::new);
+        }
+
         @Override
         public void invoke(long window, double xOffset, double yOffset) {
-            for(GLFWScrollCallbackI callback : getCallbacks()) {
+            if(coalescing) {
+                synchronized (this) {
+                    this.window = window;
+                    this.xOffset += xOffset;
+                    this.yOffset += yOffset;
+                    this.pending = true;
+                }
+                return;
+            }
+            deliver(window, xOffset, yOffset);
+        }
+
+        /**
+         * Function delivers the summed offsets if scrolls were collapsed since the last call.
+         * Is called one time per frame by the window.
+         */
+        public void flush() {
+            long window;
+            double xOffset;
+            double yOffset;
+            synchronized (this) {
+                if(!pending)
+                    return;
+                pending = false;
+                window = this.window;
+                xOffset = this.xOffset;
+                yOffset = this.yOffset;
+                this.xOffset = 0.0D;
+                this.yOffset = 0.0D;
+            }
+            deliver(window, xOffset, yOffset);
+        }
+
+        /**
+         * Function enables or disables the coalescing mode, collapsed offsets ar delivered if it is disabled.
+         * @param coalescing the new state.
+         */
+        public void setCoalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+            if(!coalescing) {
+                flush();
+            }
+        }
+
+        public boolean isCoalescing() {
+            return coalescing;
+        }
+
+        private void deliver(long window, double xOffset, double yOffset) {
+            for(GLFWScrollCallbackI callback : snapshot()) {
                 callback.invoke(window, xOffset, yOffset);
             }
         }
@@ -3,10 +3,14 @@ package net.exsource.open.logic.input;
 
 import net.exsource.open.enums.input.Action;
 import net.exsource.open.enums.input.Input;
+import org.lwjgl.glfw.GLFW;
 
 /**
  * This class is used for interact with keyboard.
  * This is important for interact with windows or components.
+ * Every window owns his own keyboard, the callbacks of the window ar recorded and written by the thread of the window.
+ * The pressed keys ar published one time per frame by {@link #publish()} as immutable {@link State},
+ * so every thread can read a consistent state without locks.
  * @since 1.0.0
  * @see Action
  * @see Input
@@ -15,68 +19,81 @@ import net.exsource.open.enums.input.Input;
 @SuppressWarnings("unused")
 public class Keyboard {
 
-    private static Keyboard instance;
+    private static final int KEY_COUNT = GLFW.GLFW_KEY_LAST + 1;
 
-    private final boolean[] keys;
-    private boolean wait;
+    private final long[] keys;
+    private boolean changed;
 
-    /**
-     * @return this class as static object.
-     */
-    private static Keyboard get() {
-        if(instance == null) {
-            instance = new Keyboard();
-        }
-        return instance;
-    }
+    private volatile State state;
 
     /**
-     * Is a private constructor to generate the static get function.
+     * Constructor creates a keyboard without pressed keys.
      */
-    private Keyboard() {
-        this.keys = new boolean[350];
-        this.wait = false;
+    public Keyboard() {
+        this.keys = new long[(KEY_COUNT + 63) / 64];
+        this.changed = false;
+        this.state = new State(new long[keys.length]);
     }
 
     /**
-     * This is an input callback.
+     * This is an input callback. Keys which ar not known by {@link GLFW} like {@link GLFW#GLFW_KEY_UNKNOWN} ar ignored.
      * @param windowID the window witch control the callback.
      * @param key the key witch is pressed.
      * @param scancode the scancode of the keyboard.
      * @param action the action of the typing like RELEASE or PRESSED.
      * @param mods the mods define if it CTRL + A or something.
      */
-    public static void callback(long windowID, int key, int scancode, int action, int mods) {
+    public void callback(long windowID, int key, int scancode, int action, int mods) {
+        if(key < 0 || key >= KEY_COUNT)
+            return;
+
         if(action == Action.PRESS.getCode()) {
-            if(!(get().wait)) {
-                get().keys[key] = true;
-            }
-            get().wait = true;
+            keys[key >>> 6] |= 1L << key;
+            changed = true;
         } else if(action == Action.RELEASE.getCode()) {
-            get().keys[key] = false;
-            get().wait = false;
+            keys[key >>> 6] &= ~(1L << key);
+            changed = true;
         }
     }
 
+    /**
+     * Function publishes the pressed keys as new {@link State}. Is called one time per frame by the window thread.
+     * If no key was changed the previous state is kept.
+     */
+    public void publish() {
+        if(!changed)
+            return;
+
+        changed = false;
+        state = new State(keys.clone());
+    }
+
+    /**
+     * @return {@link State} - the last published state, use this if more than one key must be consistent.
+     */
+    public State getState() {
+        return state;
+    }
+
     /**
      * @return if shift pressed or not.
      */
-    public static boolean isShiftPressed() {
-        return input(Input.SHIFT_LEFT) | input(Input.SHIFT_RIGHT);
+    public boolean isShiftPressed() {
+        return state.isShiftPressed();
     }
 
     /**
      * @return is control pressed or not.
      */
-    public static boolean isControlPressed() {
-        return input(Input.CONTROL_LEFT) | input(Input.CONTROL_RIGHT);
+    public boolean isControlPressed() {
+        return state.isControlPressed();
     }
 
     /**
      * @return is alt pressed or not.
      */
-    public static boolean isAltPressed() {
-        return input(Input.ALT_LEFT) | input(Input.ALT_RIGHT);
+    public boolean isAltPressed() {
+        return state.isAltPressed();
     }
 
     /**
@@ -84,8 +101,57 @@ public class Keyboard {
      * @param input the input type witch was detected.
      * @return the state of the key, true if it pressed.
      */
-    public static boolean input(Input input) {
-        return get().keys[input.getCode()];
+    public boolean input(Input input) {
+        return state.input(input);
+    }
+
+    /**
+     * Class holds the pressed keys of a keyboard for one frame. The state is never changed after creation.
+     */
+    public static final class State {
+
+        private final long[] keys;
+
+        private State(long[] keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * @param key the {@link GLFW} key code.
+         * @return boolean - true if the key is pressed, false for unknown keys.
+         */
+        public boolean isPressed(int key) {
+            return key >= 0 && key < KEY_COUNT && (keys[key >>> 6] & (1L << key)) != 0;
+        }
+
+        /**
+         * @param input the input type witch was detected.
+         * @return the state of the key, true if it pressed.
+         */
+        public boolean input(Input input) {
+            return isPressed(input.getCode());
+        }
+
+        /**
+         * @return if shift pressed or not.
+         */
+        public boolean isShiftPressed() {
+            return input(Input.SHIFT_LEFT) | input(Input.SHIFT_RIGHT);
+        }
+
+        /**
+         * @return is control pressed or not.
+         */
+        public boolean isControlPressed() {
+            return input(Input.CONTROL_LEFT) | input(Input.CONTROL_RIGHT);
+        }
+
+        /**
+         * @return is alt pressed or not.
+         */
+        public boolean isAltPressed() {
+            return input(Input.ALT_LEFT) | input(Input.ALT_RIGHT);
+        }
     }
 
 }
@@ -1,55 +1,48 @@
 package net.exsource.open.logic.input;
 
 import net.exsource.open.enums.input.Action;
+import org.lwjgl.glfw.GLFW;
 
 /**
  * This class allowed the interaction with mouse.
  * The mouse can be used for interact with window and components.
+ * Every window owns his own mouse, the callbacks of the window ar recorded and written by the thread of the window.
+ * The written values ar published one time per frame by {@link #publish()} as immutable {@link State},
+ * so every thread can read a consistent state without locks.
  * @since 1.0.0
  * @author Daniel Ramke
  */
 @SuppressWarnings("unused")
 public class Mouse {
 
-    private static Mouse instance;
-
     private double scrollX;
 
     private double scrollY;
 
-    private double positionX, lastX;
+    private double positionX;
 
-    private double positionY, lastY;
+    private double positionY;
 
-    private final boolean[] buttons;
+    private int buttons;
 
     private boolean dragging;
 
     private boolean entered;
 
-    /**
-     * @return Mouse - class as static object.
-     */
-    private static Mouse get() {
-        if(instance == null) {
-            instance = new Mouse();
-        }
-        return instance;
-    }
+    private volatile State state;
 
     /**
-     * Is a private constructor to generate the static get function.
+     * Constructor creates a mouse without any input.
      */
-    private Mouse() {
+    public Mouse() {
         this.scrollX = 0.0D;
         this.scrollY = 0.0D;
         this.positionX = 0.0D;
         this.positionY = 0.0D;
-        this.lastX = 0.0D;
-        this.lastY = 0.0D;
-        this.buttons = new boolean[3];
+        this.buttons = 0;
         this.dragging = false;
         this.entered = false;
+        this.state = new State(0f, 0f, 0f, 0f, 0f, 0f, 0, false, false);
     }
 
     /**
@@ -58,12 +51,10 @@ public class Mouse {
      * @param positionX the screen x location.
      * @param positionY the screen y location.
      */
-    public static void positionCallback(long windowID, double positionX, double positionY) {
-        get().lastX = get().positionX;
-        get().lastY = get().positionY;
-        get().positionX = positionX;
-        get().positionY = positionY;
-        get().dragging = get().buttons[0] | get().buttons[1] | get().buttons[2];
+    public void positionCallback(long windowID, double positionX, double positionY) {
+        this.positionX = positionX;
+        this.positionY = positionY;
+        this.dragging = buttons != 0;
     }
 
     /**
@@ -71,19 +62,19 @@ public class Mouse {
      * @param windowID the window witch is control the callback.
      * @param entered the state is true if the mouse entered the window border.
      */
-    public static void enteredCallback(long windowID, boolean entered) {
-        get().entered = entered;
+    public void enteredCallback(long windowID, boolean entered) {
+        this.entered = entered;
     }
 
     /**
-     * This is a scroll callback.
+     * This is a scroll callback. The offsets ar summed up until the next {@link #publish()}.
      * @param windowID the window witch is control the callback.
      * @param offsetX the scroll x position.
      * @param offsetY the scroll y position.
      */
-    public static void scrollCallback(long windowID, double offsetX, double offsetY) {
-        get().scrollX = offsetX;
-        get().scrollY = offsetY;
+    public void scrollCallback(long windowID, double offsetX, double offsetY) {
+        this.scrollX += offsetX;
+        this.scrollY += offsetY;
     }
 
     /**
@@ -93,97 +84,173 @@ public class Mouse {
      * @param action the action of the typing like RELEASE or PRESSED.
      * @param mods the mods define if it CTRL + A or something.
      */
-    public static void callback(long windowID, int button, int action, int mods) {
+    public void callback(long windowID, int button, int action, int mods) {
+        if(button < 0 || button > GLFW.GLFW_MOUSE_BUTTON_LAST)
+            return;
+
         if(action == Action.PRESS.getCode()) {
-            if(button < get().buttons.length) {
-                get().buttons[button] = true;
-            }
+            buttons |= 1 << button;
         } else if(action == Action.RELEASE.getCode()) {
-            if(button < get().buttons.length) {
-                get().buttons[button] = false;
-                get().dragging = false;
-            }
+            buttons &= ~(1 << button);
+            dragging = false;
         }
     }
 
+    /**
+     * Function publishes the written values as new {@link State}. Is called one time per frame by the window thread.
+     * The last position of the new state is the position of the previous state and the scroll offsets start again by 0.
+     * If nothing was changed the previous state is kept.
+     */
+    public void publish() {
+        State last = state;
+        float x = (float) positionX;
+        float y = (float) positionY;
+        float offsetX = (float) scrollX;
+        float offsetY = (float) scrollY;
+        scrollX = 0.0D;
+        scrollY = 0.0D;
+
+        if(x == last.positionX() && y == last.positionY() && last.lastX() == x && last.lastY() == y
+                && offsetX == 0f && offsetY == 0f && last.scrollX() == 0f && last.scrollY() == 0f
+                && buttons == last.buttons() && dragging == last.dragging() && entered == last.entered())
+            return;
+
+        state = new State(x, y, last.positionX(), last.positionY(), offsetX, offsetY, buttons, dragging, entered);
+    }
+
     /**
      * This method reset the complete mouse handler.
      */
-    public static void reset() {
-        get().scrollX = 0.0D;
-        get().scrollY = 0.0D;
-        get().lastX = get().positionX;
-        get().lastY = get().positionY;
+    public void reset() {
+        scrollX = 0.0D;
+        scrollY = 0.0D;
+        buttons = 0;
+        dragging = false;
+        State last = state;
+        state = new State(last.positionX(), last.positionY(), last.positionX(), last.positionY(), 0f, 0f, 0, false, last.entered());
+    }
+
+    /**
+     * @return {@link State} - the last published state, use this if more than one value must be consistent.
+     */
+    public State getState() {
+        return state;
     }
 
     /**
      * @return float - screen x position.
      */
-    public static float getPositionX() {
-        return (float) get().positionX;
+    public float getPositionX() {
+        return state.positionX();
     }
 
     /**
      * @return float - screen y position.
      */
-    public static float getPositionY() {
-        return (float) get().positionY;
+    public float getPositionY() {
+        return state.positionY();
     }
 
     /**
      * @return float - last screen x position.
      */
-    public static float getLastX() {
-        return (float) get().lastX;
+    public float getLastX() {
+        return state.lastX();
     }
 
     /**
      * @return float - last screen y position.
      */
-    public static float getLastY() {
-        return (float) get().lastY;
+    public float getLastY() {
+        return state.lastY();
     }
 
     /**
      * @return float - deference screen x position.
      */
-    public static float getDeferenceX() {
-        return (float) (get().lastX - get().positionX);
+    public float getDeferenceX() {
+        return state.getDeferenceX();
     }
 
     /**
      * @return float - deference screen y position.
      */
-    public static float getDeferenceY() {
-        return (float) (get().lastY - get().positionY);
+    public float getDeferenceY() {
+        return state.getDeferenceY();
     }
 
     /**
      * @return float - scroll x position.
      */
-    public static float getScrollX() {
-        return (float) get().scrollX;
+    public float getScrollX() {
+        return state.scrollX();
     }
 
     /**
      * @return float - scroll y position.
      */
-    public static float getScrollY() {
-        return (float) get().scrollY;
+    public float getScrollY() {
+        return state.scrollY();
+    }
+
+    /**
+     * @param button the button code like {@link GLFW#GLFW_MOUSE_BUTTON_LEFT}.
+     * @return boolean - true if the button is pressed.
+     */
+    public boolean isPressed(int button) {
+        return state.isPressed(button);
     }
 
     /**
      * @return boolean - if the mouse dragging or not.
      */
-    public static boolean isDragging() {
-        return get().dragging;
+    public boolean isDragging() {
+        return state.dragging();
     }
 
     /**
      * @return boolean - the state of mouse entered or exiting.
      */
-    public static boolean isEnteredStage() {
-        return get().entered;
+    public boolean isEnteredStage() {
+        return state.entered();
+    }
+
+    /**
+     * Record holds the published values of a mouse for one frame.
+     * @param positionX the screen x position.
+     * @param positionY the screen y position.
+     * @param lastX the screen x position of the previous frame.
+     * @param lastY the screen y position of the previous frame.
+     * @param scrollX the summed scroll x offset of this frame.
+     * @param scrollY the summed scroll y offset of this frame.
+     * @param buttons the pressed buttons as bit mask.
+     * @param dragging true if the mouse was moved with a pressed button.
+     * @param entered true if the mouse is inside the window.
+     */
+    public record State(float positionX, float positionY, float lastX, float lastY, float scrollX, float scrollY
+            , int buttons, boolean dragging, boolean entered) {
+
+        /**
+         * @param button the button code like {@link GLFW#GLFW_MOUSE_BUTTON_LEFT}.
+         * @return boolean - true if the button is pressed.
+         */
+        public boolean isPressed(int button) {
+            return button >= 0 && button <= GLFW.GLFW_MOUSE_BUTTON_LAST && (buttons & (1 << button)) != 0;
+        }
+
+        /**
+         * @return float - deference screen x position.
+         */
+        public float getDeferenceX() {
+            return lastX - positionX;
+        }
+
+        /**
+         * @return float - deference screen y position.
+         */
+        public float getDeferenceY() {
+            return lastY - positionY;
+        }
     }
 
-}
\ No newline at end of file
+}
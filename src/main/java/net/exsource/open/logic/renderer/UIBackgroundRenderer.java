@@ -3,13 +3,17 @@ package net.exsource.open.logic.renderer;
 import net.exsource.open.logic.renderer.util.NanoVGBackground;
 import net.exsource.open.ui.UIWindow;
 import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.modals.Image;
 import net.exsource.open.ui.style.generic.Background;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class UIBackgroundRenderer extends UIRenderer {
 
+    private final Set<Component> waiting = ConcurrentHashMap.newKeySet();
     private NanoVGBackground handler;
 
     public UIBackgroundRenderer() {
@@ -23,9 +27,48 @@ public class UIBackgroundRenderer extends UIRenderer {
 
     @Override
     public void render(@NotNull List<Component> components) {
+        Set<Image> moved = handler.beginFrame();
+        if(!moved.isEmpty()) {
+            for(Component component : getLoadedComponents()) {
+                Background background = component.getStyle().getBackground();
+                if(background != null && moved.contains(background.getImage())) {
+                    component.invalidate();
+                }
+            }
+        }
         components.forEach(component -> {
             Background background = component.getStyle().getBackground();
-            handler.draw(component.getPositionX(), component.getPositionY(), component.getWidth(), component.getHeight(), background);
+            if(!handler.draw(component.getPositionX(), component.getPositionY(), component.getWidth(), component.getHeight(), background)) {
+                redrawLater(component, background.getImage());
+            }
         });
+        handler.endFrame();
+    }
+
+    /**
+     * Private function to draw a component again if his image is ready. While the image is loading
+     * only one listener is added per component.
+     * @param component the component which was drawn with a placeholder.
+     * @param image the image of the component.
+     */
+    private void redrawLater(Component component, Image image) {
+        if(image.getState() != Image.State.LOADING) {
+            component.invalidate();
+            return;
+        }
+
+        if(waiting.add(component)) {
+            image.whenLoaded(() -> {
+                waiting.remove(component);
+                component.invalidate();
+            });
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if(handler != null) {
+            handler.dispose();
+        }
     }
 }
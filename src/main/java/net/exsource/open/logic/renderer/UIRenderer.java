@@ -1,98 +1,62 @@
 package net.exsource.open.logic.renderer;
 
-import net.exsource.open.ErrorHandler;
-import net.exsource.open.annotation.component.SetComponentWindow;
-import net.exsource.open.enums.Errors;
 import net.exsource.open.logic.AbstractRenderer;
 import net.exsource.open.ui.UIWindow;
 import net.exsource.open.ui.component.Component;
-import net.exsource.open.ui.component.layout.Layout;
-import net.exsource.openlogger.Logger;
+import net.exsource.open.ui.component.ComponentTree;
+import net.exsource.open.ui.component.DamageTracker;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
-//FIXME: ToQue can throw an CollectionModifiedException!
+/**
+ * Class is the base for all renderers which draws {@link Component}'s. The components
+ * ar taken from the retained {@link ComponentTree} of the window, this means the renderer
+ * doesn't walk over the window components by itself. If the window redraws only a damaged region,
+ * the renderer gets only the components which intersect this region.
+ * Components must be changed by the window thread, other threads use {@link UIWindow#runLater(Runnable)}.
+ * @since 1.0.0
+ * @see ComponentTree
+ * @see AbstractRenderer
+ * @author Daniel Ramke
+ */
 public abstract class UIRenderer extends AbstractRenderer {
 
-    private static final Logger logger = Logger.getLogger();
-
-    private final List<Component> loadedComponents;
+    private final List<Component> visible;
 
     public UIRenderer(String name) {
         super(name);
-        this.loadedComponents = new ArrayList<>();
+        this.visible = new ArrayList<>();
     }
 
     @Override
     protected void func(UIWindow window) {
-        for(Component component : window.getComponents()) {
-            toQue(component);
+        ComponentTree tree = window.getComponentTree();
+        tree.validate();
+
+        DamageTracker.Region clip = window.getRenderClip();
+        if(clip == null) {
+            render(tree.getNodes());
+            return;
         }
 
-        for(Component layouts : loadedComponents) {
-            if(layouts instanceof Layout layout) {
-                layout.update();
+        visible.clear();
+        for(Component component : tree.getNodes()) {
+            if(clip.intersects(component.getPositionX(), component.getPositionY(), component.getWidth(), component.getHeight())) {
+                visible.add(component);
             }
         }
-        render(loadedComponents);
+        render(visible);
     }
 
     public abstract void render(@NotNull List<Component> components);
 
+    /**
+     * @return List<Component> - the flattened components of the window which ar drawn by this renderer.
+     */
     public List<Component> getLoadedComponents() {
-        return loadedComponents;
-    }
-
-    //FIXME: new components will be added after first run!
-    private void toQue(@NotNull Component component) {
-        if(alreadyInQue(component.getLocalizedName())) {
-            return;
-        }
-        loadedComponents.add(component);
-        try {
-            Class<?> object = getParentClass(component.getClass());
-            if(object == null) {
-                ErrorHandler.handle(Errors.UI_NO_COMPONENT);
-                return;
-            }
-            Field field = object.getDeclaredField("window");
-            if(field.isAnnotationPresent(SetComponentWindow.class)) {
-                field.setAccessible(true);
-                field.set(component, getWindow());
-                logger.debug("Annotated " + component.getLocalizedName() + ", successfully!");
-            }
-            field.setAccessible(false);
-        } catch (Exception exception) {
-            logger.error(exception);
-        }
-        if(component.isParent()) {
-            for(Component components : component.getChildren()) {
-                toQue(components);
-            }
-        }
-    }
-
-    private boolean alreadyInQue(@NotNull String localizedName) {
-        boolean state = false;
-        for(Component component : loadedComponents) {
-            if(component.getLocalizedName().equals(localizedName)) {
-                state = true;
-                break;
-            }
-        }
-        return state;
-    }
-
-    private Class<?> getParentClass(Class<?> object) {
-        if(!object.getSimpleName().equals("Component")) {
-            if(object.getSimpleName().equalsIgnoreCase("Object")) {
-                return null;
-            }
-            return getParentClass(object.getSuperclass());
-        }
-        return object;
+        UIWindow window = getWindow();
+        return window == null ? List.of() : window.getComponentTree().getNodes();
     }
 }
@@ -0,0 +1,428 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.OpenUI;
+import net.exsource.open.UIFactory;
+import net.exsource.open.ui.modals.Image;
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class packs small decoded {@link Image}'s into shared pages of a single {@link NanoVG} context.
+ * Every page is one texture, so all images of a page can be drawn without switching the texture.
+ * The images ar placed by a shelf packer, the images which ar bigger than the atlas threshold
+ * of the {@link net.exsource.open.Options} ar not packed and must be created as own image.
+ * Every placed image gets a border of his edge pixels, so linear filtering can't bleed into the neighbours.
+ * Images which were unregistered from the {@link UIFactory} ar removed by the next {@link #collect()},
+ * a page which contains more free than used space is compacted.
+ * The pages ar counted as resident bytes of the {@link NanoVGResidency}, so they share the image budget.
+ * @since 1.0.0
+ * @see NanoVGBackground
+ * @see Image
+ * @author Daniel Ramke
+ */
+public class NanoVGAtlas {
+
+    private static final Logger logger = Logger.getLogger();
+
+    public static final int PAGE_SIZE = 1024;
+    private static final long PAGE_BYTES = (long) PAGE_SIZE * PAGE_SIZE * 4;
+    private static final int PADDING = 1;
+
+    private static final List<NanoVGAtlas> atlases = new CopyOnWriteArrayList<>();
+
+    private final long ID;
+    private final List<Page> pages;
+    private final Map<Image, Region> regions;
+    private final Set<Image> rejected;
+    private final Queue<Image> released;
+
+    /**
+     * Constructor creates an empty atlas for the given context. The pages ar created on demand.
+     * @param ID the {@link NanoVG} context id.
+     */
+    public NanoVGAtlas(long ID) {
+        this.ID = ID;
+        this.pages = new ArrayList<>();
+        this.regions = new HashMap<>();
+        this.rejected = new HashSet<>();
+        this.released = new ConcurrentLinkedQueue<>();
+        atlases.add(this);
+    }
+
+    /**
+     * Function returns the region of the given image.
+     * @param image the image to look up.
+     * @return {@link Region} - the region of the image or null if the image is not packed.
+     */
+    public Region find(@NotNull Image image) {
+        return regions.get(image);
+    }
+
+    /**
+     * Function checks if the given image can be packed. Only decoded images which ar not bigger than
+     * the atlas threshold can be packed.
+     * @param image the image to check.
+     * @return boolean - true if {@link #insert(Image)} can be used.
+     */
+    public boolean accepts(@NotNull Image image) {
+        return image.getState() == Image.State.READY && !rejected.contains(image)
+                && fits(image.getImageWidth(), image.getImageHeight());
+    }
+
+    /**
+     * Function places the decoded pixels of the image into a page. The page is uploaded by the next {@link #flush()}.
+     * If the pixels of the image were released, the image is loading again and null is returned.
+     * @param image the image to insert.
+     * @return {@link Region} - the placed region or null if the image can't be packed.
+     */
+    public Region insert(@NotNull Image image) {
+        Region region = regions.get(image);
+        if(region != null)
+            return region;
+
+        Region[] placed = new Region[1];
+        if(!image.usePixels(pixels -> placed[0] = place(image, pixels, image.getImageWidth(), image.getImageHeight())))
+            return null;
+
+        if(placed[0] == null) {
+            rejected.add(image);
+        } else {
+            image.releasePixels();
+        }
+        return placed[0];
+    }
+
+    /**
+     * Function removes the released images, empty pages ar deleted and sparse pages compacted.
+     * Is called at the start of a frame before any image is looked up, so no recorded draw of the frame
+     * can use a moved region or a deleted page.
+     * @return {@link Set} - the images which were moved to another region, their components must be drawn again.
+     */
+    public Set<Image> collect() {
+        if(released.isEmpty())
+            return Set.of();
+
+        Set<Image> moved = new HashSet<>();
+        Image image;
+        while ((image = released.poll()) != null) {
+            remove(image, moved);
+        }
+        return moved;
+    }
+
+    /**
+     * Function uploads all changed pages. Is called after the images of a frame were recorded.
+     */
+    public void flush() {
+        for(Page page : pages) {
+            if(page.dirty) {
+                NanoVG.nvgUpdateImage(ID, page.image, page.pixels);
+                page.dirty = false;
+            }
+        }
+    }
+
+    /**
+     * Function deletes all pages of this atlas.
+     */
+    public void dispose() {
+        for(Page page : pages) {
+            page.delete(ID);
+        }
+        pages.clear();
+        regions.clear();
+        rejected.clear();
+        released.clear();
+        atlases.remove(this);
+    }
+
+    /**
+     * @return int - the count of created pages.
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * @return int - the count of packed images.
+     */
+    public int getImageCount() {
+        return regions.size();
+    }
+
+    /**
+     * Function queues the given image for removal from all atlases.
+     * Is called by {@link UIFactory#unregisterImage(Image)}.
+     * @param image the unregistered image.
+     */
+    public static void release(@NotNull Image image) {
+        for(NanoVGAtlas atlas : atlases) {
+            atlas.released.add(image);
+        }
+    }
+
+    /**
+     * Private function to check the image size against the atlas threshold.
+     * @param width the image width.
+     * @param height the image height.
+     * @return boolean - true if the image can be packed.
+     */
+    private boolean fits(int width, int height) {
+        int threshold = Math.min(OpenUI.getOptions().getAtlasThreshold(), PAGE_SIZE - PADDING * 2);
+        return width > 0 && height > 0 && width <= threshold && height <= threshold;
+    }
+
+    /**
+     * Private function to find space for the pixels, a new page is created if no page has enough space.
+     * @param image the image which is placed.
+     * @param pixels the RGBA pixels of the image.
+     * @param width the image width.
+     * @param height the image height.
+     * @return {@link Region} - the placed region or null if no page can be created.
+     */
+    private Region place(Image image, ByteBuffer pixels, int width, int height) {
+        for(Page page : pages) {
+            Region region = page.allocate(width, height);
+            if(region != null) {
+                page.write(region, pixels);
+                regions.put(image, region);
+                return region;
+            }
+        }
+
+        Page page = new Page();
+        page.image = NanoVG.nvgCreateImageRGBA(ID, PAGE_SIZE, PAGE_SIZE, 0, page.pixels);
+        if(page.image <= 0) {
+            logger.error("Atlas page can't be created for context " + ID + "!");
+            MemoryUtil.memFree(page.pixels);
+            return null;
+        }
+        NanoVGResidency.account(PAGE_BYTES);
+        pages.add(page);
+
+        Region region = page.allocate(width, height);
+        if(region == null)
+            return null;
+
+        page.write(region, pixels);
+        regions.put(image, region);
+        return region;
+    }
+
+    /**
+     * Private function to remove an image. Empty pages ar deleted and
+     * pages with more free than used space ar compacted.
+     * @param image the image to remove.
+     * @param moved the images which were moved by a compaction.
+     */
+    private void remove(Image image, Set<Image> moved) {
+        rejected.remove(image);
+        Region region = regions.remove(image);
+        if(region == null)
+            return;
+
+        Page page = region.page;
+        page.used -= region.area();
+        if(page.used <= 0) {
+            page.delete(ID);
+            pages.remove(page);
+            return;
+        }
+
+        if(page.used * 2 < page.allocated) {
+            compact(page, moved);
+        }
+    }
+
+    /**
+     * Private function to pack the remaining images of the page again. Images which don't fit
+     * anymore ar moved to another page.
+     * @param page the page to compact.
+     * @param moved the images which were moved.
+     */
+    private void compact(Page page, Set<Image> moved) {
+        List<Map.Entry<Image, Region>> entries = new ArrayList<>();
+        for(Map.Entry<Image, Region> entry : regions.entrySet()) {
+            if(entry.getValue().page == page) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingInt((Map.Entry<Image, Region> entry) -> entry.getValue().height).reversed());
+
+        List<ByteBuffer> copies = new ArrayList<>();
+        for(Map.Entry<Image, Region> entry : entries) {
+            copies.add(page.read(entry.getValue()));
+        }
+
+        page.reset();
+        for(int i = 0; i < entries.size(); i++) {
+            Image image = entries.get(i).getKey();
+            Region old = entries.get(i).getValue();
+            Region region = page.allocate(old.width, old.height);
+            if(region != null) {
+                page.write(region, copies.get(i));
+                regions.put(image, region);
+            } else {
+                regions.remove(image);
+                place(image, copies.get(i), old.width, old.height);
+            }
+            moved.add(image);
+        }
+        logger.debug("Atlas page " + page.image + " compacted to " + entries.size() + " images!");
+    }
+
+    /**
+     * Class describes the location of a packed image. The region is only valid until the
+     * image is released or the page is compacted, so it should be requested for every draw.
+     */
+    public static final class Region {
+
+        private final Page page;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        private Region(Page page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * @return int - the {@link NanoVG} image id of the page.
+         */
+        public int getImage() {
+            return page.image;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        private int area() {
+            return (width + PADDING * 2) * (height + PADDING * 2);
+        }
+    }
+
+    /**
+     * Private class holds one texture of the atlas and his CPU copy.
+     */
+    private static final class Page {
+
+        private final ByteBuffer pixels;
+        private final List<int[]> shelves;
+
+        private int image;
+        private int nextY;
+        private int used;
+        private int allocated;
+        private boolean dirty;
+
+        private Page() {
+            this.pixels = MemoryUtil.memCalloc(PAGE_SIZE * PAGE_SIZE * 4);
+            this.shelves = new ArrayList<>();
+        }
+
+        /**
+         * Function reserves space on the lowest shelf which fits, or opens a new shelf.
+         * A shelf is stored as {y, height, nextX}.
+         */
+        private Region allocate(int width, int height) {
+            int paddedWidth = width + PADDING * 2;
+            int paddedHeight = height + PADDING * 2;
+
+            int[] best = null;
+            for(int[] shelf : shelves) {
+                if(shelf[1] >= paddedHeight && PAGE_SIZE - shelf[2] >= paddedWidth && (best == null || shelf[1] < best[1])) {
+                    best = shelf;
+                }
+            }
+
+            if(best == null) {
+                if(nextY + paddedHeight > PAGE_SIZE)
+                    return null;
+                best = new int[]{nextY, paddedHeight, 0};
+                shelves.add(best);
+                nextY += paddedHeight;
+            }
+
+            Region region = new Region(this, best[2] + PADDING, best[0] + PADDING, width, height);
+            best[2] += paddedWidth;
+            used += region.area();
+            allocated += region.area();
+            return region;
+        }
+
+        /**
+         * Function copies the pixels into the region and extrudes the edge pixels into the padding.
+         */
+        private void write(Region region, ByteBuffer source) {
+            for(int row = -PADDING; row < region.height + PADDING; row++) {
+                int sourceRow = Math.max(0, Math.min(region.height - 1, row));
+                for(int column = -PADDING; column < region.width + PADDING; column++) {
+                    int sourceColumn = Math.max(0, Math.min(region.width - 1, column));
+                    int pixel = source.getInt((sourceRow * region.width + sourceColumn) * 4);
+                    pixels.putInt(((region.y + row) * PAGE_SIZE + region.x + column) * 4, pixel);
+                }
+            }
+            dirty = true;
+        }
+
+        /**
+         * Function copies the pixels of the region into a new buffer.
+         */
+        private ByteBuffer read(Region region) {
+            ByteBuffer copy = ByteBuffer.allocate(region.width * region.height * 4);
+            for(int row = 0; row < region.height; row++) {
+                for(int column = 0; column < region.width; column++) {
+                    copy.putInt((row * region.width + column) * 4, pixels.getInt(((region.y + row) * PAGE_SIZE + region.x + column) * 4));
+                }
+            }
+            return copy;
+        }
+
+        private void reset() {
+            MemoryUtil.memSet(pixels, 0);
+            shelves.clear();
+            nextY = 0;
+            used = 0;
+            allocated = 0;
+            dirty = true;
+        }
+
+        private void delete(long ID) {
+            NanoVG.nvgDeleteImage(ID, image);
+            MemoryUtil.memFree(pixels);
+            NanoVGResidency.account(-PAGE_BYTES);
+        }
+    }
+}
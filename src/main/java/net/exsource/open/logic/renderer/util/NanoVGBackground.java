@@ -1,6 +1,7 @@
 package net.exsource.open.logic.renderer.util;
 
 import net.exsource.open.ErrorHandler;
+import net.exsource.open.OpenUI;
 import net.exsource.open.enums.Errors;
 import net.exsource.open.logic.renderer.UIRenderer;
 import net.exsource.open.ui.UIWindow;
@@ -8,21 +9,22 @@ import net.exsource.open.ui.modals.ColorGradient;
 import net.exsource.open.ui.modals.ColorStop;
 import net.exsource.open.ui.modals.Image;
 import net.exsource.open.ui.style.generic.Background;
-import net.exsource.open.utils.NanoVGColor;
 import net.exsource.openlogger.Logger;
 import net.exsource.openutils.math.Radius;
 import net.exsource.openutils.tools.Color;
-import net.exsource.openutils.tools.Commons;
 import org.jetbrains.annotations.NotNull;
-import org.lwjgl.nanovg.NVGPaint;
 import org.lwjgl.nanovg.NanoVG;
 import org.lwjgl.system.MemoryUtil;
 
+import java.util.Set;
+import java.util.function.LongSupplier;
+
 /**
  * Class is used for allow users to render {@link Background} objects.
  * This class can use css properties as well and render Colors, Images and
  * Linear Gradients. note that {@link Image} supports .gif files, but it is
- * not working currently.
+ * not working currently. The backgrounds ar recorded into a {@link RenderCommandBuffer}
+ * and drawn by {@link #endFrame()}.
  * @since 1.0.0
  * @see UIRenderer
  * @see NanoVG
@@ -35,8 +37,17 @@ public class NanoVGBackground {
 
     private static final Logger logger = Logger.getLogger();
 
+    private static final Color PLACEHOLDER = Color.rgba(128, 128, 128, 64);
+
     private final long ID;
     private final UIWindow window;
+    private final LongSupplier frames;
+    private final NanoVGScratch scratch;
+    private final NanoVGGradientCache gradients;
+    private final NanoVGAtlas atlas;
+    private final NanoVGResidency residency;
+    private final RenderCommandBuffer commands;
+    private final NanoVGCommandExecutor executor;
 
     /**
      * One use variable in {@link #draw(int, int, int, int, Background)} will set
@@ -44,6 +55,9 @@ public class NanoVGBackground {
      */
     private boolean error;
 
+    private long uploadFrame = -1;
+    private long uploaded;
+
     /**
      * Constructor for internal use.
      * This will be called at the {@link UIRenderer#load(UIWindow)} function.
@@ -56,8 +70,29 @@ public class NanoVGBackground {
      * @see UIRenderer
      */
     public NanoVGBackground(@NotNull UIWindow window) {
+        this(window, window.getContext().nvgID(), window.getScratch(), window::getFrame);
+    }
+
+    /**
+     * Constructor for a {@link NanoVG} context which is not owned by a window, like an offscreen context.
+     * @param ID the {@link NanoVG} context id.
+     * @param scratch the scratch which is used for colors and paints, owned by the drawing thread.
+     * @param frames the source of the current frame count, is used for the upload budget and the residency.
+     */
+    NanoVGBackground(long ID, @NotNull NanoVGScratch scratch, @NotNull LongSupplier frames) {
+        this(null, ID, scratch, frames);
+    }
+
+    private NanoVGBackground(UIWindow window, long ID, NanoVGScratch scratch, LongSupplier frames) {
         this.window = window;
-        this.ID = window.getContext().nvgID();
+        this.frames = frames;
+        this.ID = ID;
+        this.scratch = scratch;
+        this.gradients = new NanoVGGradientCache(ID);
+        this.commands = new RenderCommandBuffer();
+        this.executor = new NanoVGCommandExecutor(ID, scratch);
+        this.atlas = new NanoVGAtlas(ID);
+        this.residency = new NanoVGResidency(ID);
         if(ID <= MemoryUtil.NULL) {
             ErrorHandler.handle(Errors.WINDOW_NOT_CONTAINS_NVG);
         }
@@ -72,27 +107,31 @@ public class NanoVGBackground {
      * @param width the width of the created object.
      * @param height the height of the created object.
      * @param background {@link Background} object.
+     * @return boolean - false if only a placeholder was drawn, because an {@link Image} is not ready yet.
      * @apiNote This function is recommended to use. It will always use in our
      * render classes which controls backgrounds.
      * @see Background
      */
-    public void draw(int x, int y, int width, int height, Background background) {
+    public boolean draw(int x, int y, int width, int height, Background background) {
         if(background == null) {
             drawColor(x, y, width, height, Color.FALLBACK_COLOR, Radius.FALLBACK_RADIUS);
             if(!error) {
                 logger.error("Background object needed for render an background!");
             }
             error = true;
-            return;
+            return true;
         }
 
         error = false;
         Radius radius = background.getRadius();
         switch (background.getType()) {
             case COLOR -> drawColor(x, y, width, height, background.getColor(), radius);
-            case IMAGE -> drawImage(x, y, width, height, background.getImage(), radius);
+            case IMAGE -> {
+                return drawImage(x, y, width, height, background.getImage(), radius);
+            }
             case LINEAR_GRADIENT -> drawColorGradient(x, y, width, height, background.getGradient(), radius);
         }
+        return true;
     }
 
     /**
@@ -116,56 +155,77 @@ public class NanoVGBackground {
         if(radius == null)
             radius = Radius.FALLBACK_RADIUS;
 
-        NanoVG.nvgBeginPath(ID);
-        NanoVG.nvgPathWinding(ID, NanoVG.NVG_SOLID);
-        createRect(x, y, width, height, radius);
-        NanoVG.nvgFillColor(ID, NanoVGColor.convert(color));
-        NanoVG.nvgFill(ID);
-        NanoVG.nvgClosePath(ID);
+        commands.fillColor(x, y, width, height, radius, color);
     }
 
     /**
      * Function to draw the background in a single {@link Image}.
      * The image can in format (.png, .jpeg, .jpg, .gif and .svg).
+     * Until the image is decoded and uploaded a placeholder is drawn.
+     * Small images ar drawn from the shared {@link NanoVGAtlas} pages, bigger images get an own {@link NanoVG} image
+     * which can be evicted by the {@link NanoVGResidency} and is uploaded again if needed.
      * @param x the x position of the created object.
      * @param y the y position of the created object.
      * @param width the width of the created object.
      * @param height the height of the created object.
      * @param image the image to render.
      * @param radius the radius for the created object.
+     * @return boolean - false if a placeholder was drawn, because the image is still loading or
+     * the upload budget of the frame is used up.
      * @apiNote {@link Image} is currently not using the function {@link Image#get(String)}. We wait for
      * the new System for handling assets.
      * @see Image
      * @see Color
      * @see Radius
      */
-    public void drawImage(int x, int y, int width, int height, Image image, Radius radius) {
+    public boolean drawImage(int x, int y, int width, int height, Image image, Radius radius) {
         if(image == null) {
             drawColor(x, y, width, height, Color.FALLBACK_COLOR, radius);
-            return;
+            return true;
         }
 
         if(radius == null)
             radius = Radius.FALLBACK_RADIUS;
 
-        NanoVG.nvgBeginPath(ID);
-        try (NVGPaint paint = NVGPaint.calloc()) {
-            int imageID = createImage(image);
-            if(!image.isCreated()) {
-                return;
+        NanoVGAtlas.Region region = atlas.find(image);
+        int imageID = region == null ? image.getGl_Func_Id(ID) : -1;
+        if(region == null && imageID <= -1) {
+            if(image.getState() == Image.State.FAILED) {
+                drawColor(x, y, width, height, Color.FALLBACK_COLOR, radius);
+                return true;
             }
+            if(image.getState() == Image.State.LOADING || !reserveUpload(image.getByteSize())) {
+                drawColor(x, y, width, height, PLACEHOLDER, radius);
+                return false;
+            }
+
+            region = atlas.accepts(image) ? atlas.insert(image) : null;
+            if(region == null) {
+                imageID = createImage(image);
+                if(imageID <= -1) {
+                    boolean loading = image.getState() == Image.State.LOADING;
+                    drawColor(x, y, width, height, loading ? PLACEHOLDER : Color.FALLBACK_COLOR, radius);
+                    return !loading;
+                }
+            }
+        }
 
-            NanoVG.nvgImagePattern(ID, x, y, width, height, 0, imageID, image.getAlpha(), paint);
-            createRect(x, y, width, height, radius);
-            NanoVG.nvgFillPaint(ID, paint);
-            NanoVG.nvgFill(ID);
-            NanoVG.nvgClosePath(ID);
+        if(region != null) {
+            float scaleX = (float) width / (float) region.getWidth();
+            float scaleY = (float) height / (float) region.getHeight();
+            commands.fillImage(x, y, width, height, radius, x - region.getX() * scaleX, y - region.getY() * scaleY
+                    , NanoVGAtlas.PAGE_SIZE * scaleX, NanoVGAtlas.PAGE_SIZE * scaleY, 0, region.getImage(), image.getAlpha());
+        } else {
+            residency.touch(image, frames.getAsLong());
+            commands.fillImage(x, y, width, height, radius, x, y, width, height, 0, imageID, image.getAlpha());
         }
+        return true;
     }
 
     /**
      * Function to draw the background in a multiply {@link Color}'s.
      * This function will use {@link ColorGradient} to generate a gradient of colors.
+     * The gradient is drawn by a single fill, the geometry is cached by {@link NanoVGGradientCache}.
      * @param x the x position of the created object.
      * @param y the y position of the created object.
      * @param width the width of the created object.
@@ -188,42 +248,45 @@ public class NanoVGBackground {
         if(radius == null)
             radius = Radius.FALLBACK_RADIUS;
 
-        ColorStop[] colors = gradient.getColors();
-        for(int i = 0; i < colors.length - 1; i++) {
-            try (NVGPaint paint = NVGPaint.calloc()) {
-                float angle = gradient.getAngle();
-
-                float centerX = (float)x + (float)width*0.5f;
-                float centerY = (float)y + (float)height*0.5f;
-                float xx = centerX - (float)((Math.cos(Math.toRadians(angle)) * width) * 0.5 + 0.5);
-                float yy = centerY - (float)((Math.sin(Math.toRadians(angle)) * height) * 0.5 + 0.5);
-                float dirX = (float) Math.cos(Math.toRadians(angle));
-                float dirY = (float) Math.sin(Math.toRadians(angle));
-                float step = colors[i].portion();
-                float nextstep = colors[i+1].portion();
-
-                float startX = xx + (dirX * step * (float)width);
-                float startY = yy + (dirY * step * (float)height);
-                float endX = xx + (dirX * nextstep * (float)width);
-                float endY = yy + (dirY * nextstep * (float)height);
-
-                Color start = colors[i].color();
-                if(i > 0) {
-                    start = Color.transparent;
-                }
+        if(!gradients.record(commands, gradient, x, y, width, height, radius)) {
+            drawColor(x, y, width, height, gradient.getStart(), radius);
+        }
+    }
 
-                Color end = colors[i + 1].color();
+    /**
+     * Function is called before the backgrounds of a frame ar recorded. It removes the released images from the atlas,
+     * so the regions which ar found by this frame stay valid until the frame was submitted.
+     * @return {@link Set} - the images which were moved inside the atlas.
+     * @see NanoVGAtlas#collect()
+     */
+    public Set<Image> beginFrame() {
+        return atlas.collect();
+    }
 
-                NanoVG.nvgLinearGradient(ID, startX, startY, endX, endY
-                        , NanoVGColor.convert(start), NanoVGColor.convert(end), paint);
+    /**
+     * Function is called after all backgrounds of a frame were recorded. It draws the recorded commands,
+     * releases gradients which ar not used anymore, uploads the changed atlas pages and keeps the image budget.
+     * @see NanoVGCommandExecutor#execute(RenderCommandBuffer)
+     * @see NanoVGGradientCache#sweep()
+     * @see NanoVGAtlas#flush()
+     * @see NanoVGResidency#trim(long)
+     */
+    public void endFrame() {
+        executor.execute(commands);
+        commands.reset();
+        gradients.sweep();
+        atlas.flush();
+        residency.trim(frames.getAsLong());
+    }
 
-                NanoVG.nvgBeginPath(ID);
-                createRect(x, y, width, height, radius);
-                NanoVG.nvgFillPaint(ID, paint);
-                NanoVG.nvgFill(ID);
-                NanoVG.nvgClosePath(ID);
-            }
-        }
+    /**
+     * Function releases all native resources of this handler.
+     */
+    public void dispose() {
+        commands.dispose();
+        gradients.dispose();
+        atlas.dispose();
+        residency.dispose();
     }
 
     /**
@@ -234,38 +297,64 @@ public class NanoVGBackground {
     }
 
     /**
-     * @return {@link UIWindow} - current used window which is drawing {@link Background}'s.
+     * @return {@link RenderCommandBuffer} - the commands which were recorded since the last {@link #endFrame()}.
      */
-    public UIWindow getWindow() {
-        return window;
+    public RenderCommandBuffer getCommands() {
+        return commands;
     }
 
     /**
-     * Private Function to generate rectangles for better {@link Background} usage.
-     * This is absolute needed for render backgrounds like Images and Colors.
-     * @param x the x position for the rectangle.
-     * @param y the y position for the rectangle.
-     * @param width the width of the rectangle.
-     * @param height the height of the rectangle.
-     * @param radius corner {@link Radius} of the rectangle.
-     * @see Radius
+     * @return {@link UIWindow} - current used window which is drawing {@link Background}'s, null for an offscreen context.
      */
-    private void createRect(int x, int y, int width, int height, Radius radius) {
-        NanoVG.nvgRoundedRectVarying(ID, (float) x, (float) y, (float) width, (float) height
-                , (float) radius.getTopLeft()
-                , (float) radius.getTopRight()
-                , (float) radius.getBottomRight()
-                , (float) radius.getBottomLeft());
+    public UIWindow getWindow() {
+        return window;
     }
 
+    /**
+     * Private function to upload the decoded pixels of the image as own {@link NanoVG} image.
+     * If the images ar shared, the texture of another window is used if it exists.
+     * The decoded pixels ar released after the upload. If they were released before, the image is loading again
+     * and no image is created by this call.
+     * @param image the decoded image.
+     * @return int - the created image id or -1 if the upload failed.
+     */
     private int createImage(Image image) {
         int referenceID = image.getGl_Func_Id(ID);
         if(referenceID <= -1) {
-            referenceID = NanoVG.nvgCreateImageMem(ID, 0, Commons.resourceToByteBuffer(image.getPath()));
-            if(referenceID > -1) {
+            boolean shared = NanoVGSharedImages.isEnabled();
+            int[] created = {-1};
+            if(shared) {
+                created[0] = NanoVGSharedImages.acquire(ID, image);
+            } else {
+                image.usePixels(pixels -> created[0] = NanoVG.nvgCreateImageRGBA(ID, image.getImageWidth(), image.getImageHeight(), 0, pixels));
+                if(created[0] > 0) {
+                    image.releasePixels();
+                }
+            }
+            if(created[0] > 0) {
+                referenceID = created[0];
                 image.addId(ID, referenceID);
+                residency.add(image, referenceID, frames.getAsLong(), shared);
             }
         }
         return referenceID;
     }
+
+    /**
+     * Private function to reserve bytes of the upload budget for the current frame.
+     * The first upload of a frame is always allowed, so big images can't be blocked forever.
+     * @param bytes the size of the upload.
+     * @return boolean - true if the upload can be done in this frame.
+     */
+    private boolean reserveUpload(int bytes) {
+        if(uploadFrame != frames.getAsLong()) {
+            uploadFrame = frames.getAsLong();
+            uploaded = 0;
+        }
+        if(uploaded > 0 && uploaded + bytes > OpenUI.getOptions().getUploadBudget())
+            return false;
+
+        uploaded += bytes;
+        return true;
+    }
 }
@@ -0,0 +1,146 @@
+package net.exsource.open.logic.renderer.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.nanovg.NVGColor;
+import org.lwjgl.nanovg.NVGPaint;
+import org.lwjgl.nanovg.NanoVG;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Class draws the commands of a {@link RenderCommandBuffer} into a {@link NanoVG} context.
+ * Following opaque color fills with the same color ar batched into one path, so they need only one fill.
+ * Translucent fills ar drawn one by one, because overlapping parts would be blended only once in a batch.
+ * @since 1.0.0
+ * @see RenderCommandBuffer
+ * @see RenderCommand
+ * @author Daniel Ramke
+ */
+public class NanoVGCommandExecutor {
+
+    private final long ID;
+    private final NanoVGScratch scratch;
+
+    private long executed;
+    private long fills;
+
+    /**
+     * Constructor creates an executor for the given context.
+     * @param ID the {@link NanoVG} context id.
+     * @param scratch the scratch of the window, which is used for colors and paints.
+     */
+    public NanoVGCommandExecutor(long ID, @NotNull NanoVGScratch scratch) {
+        this.ID = ID;
+        this.scratch = scratch;
+    }
+
+    /**
+     * Function draws all recorded commands in recording order.
+     * The buffer is not reset by this function.
+     * @param buffer the recorded commands.
+     */
+    public void execute(@NotNull RenderCommandBuffer buffer) {
+        ByteBuffer data = buffer.data();
+        int limit = buffer.getSize();
+        int offset = 0;
+        while (offset < limit) {
+            RenderCommand command = RenderCommand.get(data.getInt(offset));
+            if(command == null)
+                throw new IllegalStateException("Unknown render command " + data.getInt(offset) + " at " + offset + "!");
+
+            switch (command) {
+                case FILL_COLOR -> offset = fillColor(data, offset, limit);
+                case FILL_LINEAR_GRADIENT -> {
+                    int arguments = offset + RenderCommand.HEADER * 4;
+                    NVGPaint paint = scratch.paint();
+                    NanoVG.nvgLinearGradient(ID, data.getFloat(arguments), data.getFloat(arguments + 4)
+                            , data.getFloat(arguments + 8), data.getFloat(arguments + 12)
+                            , color(data, arguments + 16), color(data, arguments + 32), paint);
+                    fillPaint(data, offset, paint);
+                    offset += command.getSize();
+                }
+                case FILL_IMAGE -> {
+                    int arguments = offset + RenderCommand.HEADER * 4;
+                    NVGPaint paint = scratch.paint();
+                    NanoVG.nvgImagePattern(ID, data.getFloat(arguments), data.getFloat(arguments + 4)
+                            , data.getFloat(arguments + 8), data.getFloat(arguments + 12), data.getFloat(arguments + 16)
+                            , data.getInt(arguments + 20), data.getFloat(arguments + 24), paint);
+                    fillPaint(data, offset, paint);
+                    offset += command.getSize();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return long - the count of executed commands.
+     */
+    public long getExecuted() {
+        return executed;
+    }
+
+    /**
+     * @return long - the count of {@link NanoVG#nvgFill(long)} calls, this is lower than
+     * {@link #getExecuted()} if commands were batched.
+     */
+    public long getFills() {
+        return fills;
+    }
+
+    /**
+     * Private function to draw a color command and all following opaque commands with the same color.
+     * @return int - the offset of the next command.
+     */
+    private int fillColor(ByteBuffer data, int offset, int limit) {
+        int size = RenderCommand.FILL_COLOR.getSize();
+        int color = offset + RenderCommand.HEADER * 4;
+
+        NanoVG.nvgBeginPath(ID);
+        NanoVG.nvgPathWinding(ID, NanoVG.NVG_SOLID);
+        rect(data, offset);
+        executed++;
+        int next = offset + size;
+        if(data.getFloat(color + 12) >= 1f) {
+            while (next < limit && data.getInt(next) == RenderCommand.FILL_COLOR.getOpcode()
+                    && sameColor(data, color, next + RenderCommand.HEADER * 4)) {
+                rect(data, next);
+                executed++;
+                next += size;
+            }
+        }
+        NanoVG.nvgFillColor(ID, color(data, color));
+        NanoVG.nvgFill(ID);
+        NanoVG.nvgClosePath(ID);
+        fills++;
+        return next;
+    }
+
+    private void fillPaint(ByteBuffer data, int offset, NVGPaint paint) {
+        NanoVG.nvgBeginPath(ID);
+        rect(data, offset);
+        NanoVG.nvgFillPaint(ID, paint);
+        NanoVG.nvgFill(ID);
+        NanoVG.nvgClosePath(ID);
+        executed++;
+        fills++;
+    }
+
+    private void rect(ByteBuffer data, int offset) {
+        NanoVG.nvgRoundedRectVarying(ID, data.getFloat(offset + 4), data.getFloat(offset + 8)
+                , data.getFloat(offset + 12), data.getFloat(offset + 16)
+                , data.getFloat(offset + 20), data.getFloat(offset + 24)
+                , data.getFloat(offset + 28), data.getFloat(offset + 32));
+    }
+
+    private NVGColor color(ByteBuffer data, int offset) {
+        return scratch.color(data.getFloat(offset), data.getFloat(offset + 4), data.getFloat(offset + 8), data.getFloat(offset + 12));
+    }
+
+    private boolean sameColor(ByteBuffer data, int first, int second) {
+        for(int i = 0; i < 16; i += 4) {
+            if(data.getInt(first + i) != data.getInt(second + i))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,287 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.ui.modals.ColorGradient;
+import net.exsource.open.ui.modals.ColorStop;
+import net.exsource.openutils.math.Radius;
+import net.exsource.openutils.tools.Color;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Class caches the paint geometry of {@link ColorGradient}'s for one {@link NanoVG} context.
+ * The geometry is cached per gradient and bounds, so a gradient which is shared by components with different
+ * bounds computes the geometry of every component only one time. It is computed again if the angle of the gradient was changed.
+ * Gradients with more than 2 {@link ColorStop}'s ar baked one time into a 1-D ramp image,
+ * so every gradient can be drawn by a single fill.
+ * Geometries and gradients which were not used for {@value SWEEP_INTERVAL} frames ar removed by {@link #sweep()}.
+ * @since 1.0.0
+ * @see NanoVGBackground
+ * @see ColorGradient
+ * @author Daniel Ramke
+ */
+public class NanoVGGradientCache {
+
+    public static final int RAMP_SIZE = 256;
+    private static final int SWEEP_INTERVAL = 600;
+
+    private final long ID;
+    private final Map<ColorGradient, Entry> entries;
+    private final Bounds probe;
+
+    private long frame;
+
+    /**
+     * Constructor creates an empty cache for the given context.
+     * @param ID the {@link NanoVG} context id.
+     */
+    public NanoVGGradientCache(long ID) {
+        this.ID = ID;
+        this.entries = new HashMap<>();
+        this.probe = new Bounds();
+    }
+
+    /**
+     * Function records the gradient for the given bounds into the command buffer.
+     * @param commands the buffer which receives the fill command.
+     * @param gradient the gradient to draw.
+     * @param x the x position of the drawn object.
+     * @param y the y position of the drawn object.
+     * @param width the width of the drawn object.
+     * @param height the height of the drawn object.
+     * @param radius the corner radius of the drawn object.
+     * @return boolean - false if the gradient or the bounds ar not drawable.
+     */
+    public boolean record(@NotNull RenderCommandBuffer commands, @NotNull ColorGradient gradient
+            , int x, int y, int width, int height, @NotNull Radius radius) {
+        ColorStop[] colors = gradient.getColors();
+        if(colors == null || colors.length < 2 || width <= 0 || height <= 0)
+            return false;
+
+        Entry entry = entries.computeIfAbsent(gradient, key -> new Entry());
+        entry.frame = frame;
+        if(entry.version != gradient.getVersion()) {
+            entry.version = gradient.getVersion();
+            entry.geometries.clear();
+        }
+
+        probe.set(x, y, width, height);
+        Geometry geometry = entry.geometries.get(probe);
+        if(geometry == null) {
+            geometry = new Geometry(gradient, x, y, width, height);
+            entry.geometries.put(probe.copy(), geometry);
+        }
+        geometry.frame = frame;
+
+        if(colors.length == 2) {
+            commands.fillLinearGradient(x, y, width, height, radius, geometry.startX, geometry.startY, geometry.endX, geometry.endY
+                    , colors[0].color(), colors[1].color());
+            return true;
+        }
+
+        if(entry.image <= 0) {
+            entry.image = createRamp(colors);
+            if(entry.image <= 0)
+                return false;
+        }
+        commands.fillImage(x, y, width, height, radius, geometry.startX, geometry.startY, geometry.length, 1f, geometry.angle, entry.image, 1f);
+        return true;
+    }
+
+    /**
+     * Function is called one time per frame and removes the geometries and gradients which were not used for a while.
+     */
+    public void sweep() {
+        frame++;
+        if(frame % SWEEP_INTERVAL != 0)
+            return;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if(frame - entry.frame >= SWEEP_INTERVAL) {
+                entry.release(ID);
+                iterator.remove();
+                continue;
+            }
+            entry.geometries.values().removeIf(geometry -> frame - geometry.frame >= SWEEP_INTERVAL);
+        }
+    }
+
+    /**
+     * Function deletes all ramp images and clears the cache.
+     */
+    public void dispose() {
+        for(Entry entry : entries.values()) {
+            entry.release(ID);
+        }
+        entries.clear();
+    }
+
+    /**
+     * @return int - the count of cached gradients.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return int - the count of cached geometries of all gradients.
+     */
+    public int geometries() {
+        int count = 0;
+        for(Entry entry : entries.values()) {
+            count += entry.geometries.size();
+        }
+        return count;
+    }
+
+    /**
+     * Function writes the interpolated colors of the stops as RGBA pixels into the target.
+     * The target needs {@value RAMP_SIZE} * 4 bytes remaining.
+     * @param colors the color stops in ascending portion order.
+     * @param target the buffer which receives the pixels.
+     */
+    public static void fillRamp(@NotNull ColorStop[] colors, @NotNull ByteBuffer target) {
+        int segment = 0;
+        for(int i = 0; i < RAMP_SIZE; i++) {
+            float position = ((float) i + 0.5f) / (float) RAMP_SIZE;
+            while (segment < colors.length - 2 && position > colors[segment + 1].portion()) {
+                segment++;
+            }
+
+            ColorStop from = colors[segment];
+            ColorStop to = colors[segment + 1];
+            float range = to.portion() - from.portion();
+            float amount = range <= 0 ? 1f : (position - from.portion()) / range;
+            amount = Math.max(0f, Math.min(1f, amount));
+
+            target.put(channel(from.color().getPercentRed(), to.color().getPercentRed(), amount));
+            target.put(channel(from.color().getPercentGreen(), to.color().getPercentGreen(), amount));
+            target.put(channel(from.color().getPercentBlue(), to.color().getPercentBlue(), amount));
+            target.put(channel(from.color().getPercentAlpha(), to.color().getPercentAlpha(), amount));
+        }
+        target.flip();
+    }
+
+    /**
+     * Private function to upload the ramp of the given stops as {@link NanoVG} image.
+     * @param colors the color stops.
+     * @return int - the image id, 0 or lower if the image couldn't be created.
+     */
+    private int createRamp(ColorStop[] colors) {
+        ByteBuffer pixels = MemoryUtil.memAlloc(RAMP_SIZE * 4);
+        try {
+            fillRamp(colors, pixels);
+            return NanoVG.nvgCreateImageRGBA(ID, RAMP_SIZE, 1, NanoVG.NVG_IMAGE_REPEATY, pixels);
+        } finally {
+            MemoryUtil.memFree(pixels);
+        }
+    }
+
+    /**
+     * Private function to interpolate a single {@link Color} channel.
+     * @param from the start value from 0 to 1.
+     * @param to the end value from 0 to 1.
+     * @param amount the interpolation amount from 0 to 1.
+     * @return byte - the interpolated value from 0 to 255.
+     */
+    private static byte channel(float from, float to, float amount) {
+        return (byte) Math.round((from + (to - from) * amount) * 255f);
+    }
+
+    /**
+     * Private class holds the cached geometries and the ramp image of a single gradient.
+     */
+    private static final class Entry {
+
+        private final Map<Bounds, Geometry> geometries = new HashMap<>();
+        private int image = -1;
+        private int version = -1;
+        private long frame;
+
+        private void release(long ID) {
+            if(image > 0) {
+                NanoVG.nvgDeleteImage(ID, image);
+            }
+            image = -1;
+            geometries.clear();
+        }
+    }
+
+    /**
+     * Private class holds the paint geometry of a gradient for one bounds.
+     */
+    private static final class Geometry {
+
+        private final float startX;
+        private final float startY;
+        private final float endX;
+        private final float endY;
+        private final float length;
+        private final float angle;
+
+        private long frame;
+
+        private Geometry(ColorGradient gradient, int x, int y, int width, int height) {
+            ColorStop[] colors = gradient.getColors();
+            double radians = Math.toRadians(gradient.getAngle());
+            float dirX = (float) Math.cos(radians) * width;
+            float dirY = (float) Math.sin(radians) * height;
+
+            float centerX = (float) x + (float) width * 0.5f;
+            float centerY = (float) y + (float) height * 0.5f;
+            float xx = centerX - (dirX * 0.5f + 0.5f);
+            float yy = centerY - (dirY * 0.5f + 0.5f);
+
+            float first = colors[0].portion();
+            float last = colors[colors.length - 1].portion();
+            this.startX = xx + dirX * first;
+            this.startY = yy + dirY * first;
+            this.endX = xx + dirX * last;
+            this.endY = yy + dirY * last;
+            this.length = (float) Math.max(1.0, Math.hypot(endX - startX, endY - startY));
+            this.angle = (float) Math.atan2(endY - startY, endX - startX);
+        }
+    }
+
+    /**
+     * Private class is the key of a geometry. The cache reuses one instance for the lookup,
+     * so a frame which only draws cached geometries creates no keys.
+     */
+    private static final class Bounds {
+
+        private int x;
+        private int y;
+        private int width;
+        private int height;
+
+        private void set(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        private Bounds copy() {
+            Bounds copy = new Bounds();
+            copy.set(x, y, width, height);
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Bounds other && x == other.x && y == other.y && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((x * 31 + y) * 31 + width) * 31 + height;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.OpenUI;
+import net.exsource.open.UIFactory;
+import net.exsource.open.ui.modals.Image;
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.nanovg.NanoVG;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class tracks the {@link Image}'s which ar resident on the graphic card for a single {@link NanoVG} context.
+ * The byte size of all resident images of all contexts is summed up, if the sum is bigger than the image budget
+ * of the {@link net.exsource.open.Options}, every context deletes his least recently used images by {@link #trim(long)}.
+ * The decoded pixels of an image ar released after the upload, an evicted image is decoded again by the
+ * {@link net.exsource.open.ui.modals.ImageLoader} and uploaded by a later draw. The pages of the {@link NanoVGAtlas} ar counted too, but they ar only deleted if they become empty.
+ * Images which ar used by the current frame ar never evicted. Shared images only lose the image of this context,
+ * their texture is deleted by the {@link NanoVGSharedImages} if no context uses it anymore. Because of this a shared
+ * image is only evicted for the budget if no other context uses it, else the eviction would free nothing.
+ * @since 1.0.0
+ * @see NanoVGBackground
+ * @see Image
+ * @author Daniel Ramke
+ */
+public class NanoVGResidency {
+
+    private static final Logger logger = Logger.getLogger();
+
+    private static final AtomicLong resident = new AtomicLong();
+    private static final List<NanoVGResidency> contexts = new CopyOnWriteArrayList<>();
+
+    private final long ID;
+    private final Map<Image, Entry> entries;
+    private final Queue<Image> released;
+
+    /**
+     * Constructor creates an empty residency for the given context.
+     * @param ID the {@link NanoVG} context id.
+     */
+    public NanoVGResidency(long ID) {
+        this.ID = ID;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.released = new ConcurrentLinkedQueue<>();
+        contexts.add(this);
+    }
+
+    /**
+     * Function registers a new uploaded image.
+     * @param image the uploaded image.
+     * @param imageID the {@link NanoVG} image id.
+     * @param frame the current frame of the window.
+     */
+    public void add(@NotNull Image image, int imageID, long frame) {
+        add(image, imageID, frame, false);
+    }
+
+    /**
+     * Function registers a new uploaded image.
+     * @param image the uploaded image.
+     * @param imageID the {@link NanoVG} image id.
+     * @param frame the current frame of the window.
+     * @param shared true if the image wraps a texture of the {@link NanoVGSharedImages}, the bytes of it ar counted there.
+     */
+    public void add(@NotNull Image image, int imageID, long frame, boolean shared) {
+        Entry entry = new Entry(imageID, shared ? 0 : image.getByteSize(), frame, shared);
+        Entry old = entries.put(image, entry);
+        if(old != null) {
+            resident.addAndGet(-old.bytes);
+        }
+        resident.addAndGet(entry.bytes);
+    }
+
+    /**
+     * Function marks the image as used by the given frame.
+     * @param image the drawn image.
+     * @param frame the current frame of the window.
+     */
+    public void touch(@NotNull Image image, long frame) {
+        Entry entry = entries.get(image);
+        if(entry != null) {
+            entry.frame = frame;
+        }
+    }
+
+    /**
+     * Function deletes released images and the least recently used images until the budget is kept.
+     * Is called after the images of a frame were drawn.
+     * @param frame the current frame of the window.
+     */
+    public void trim(long frame) {
+        Image image;
+        while ((image = released.poll()) != null) {
+            evict(image, entries.remove(image));
+        }
+
+        long budget = OpenUI.getOptions().getImageBudget();
+        if(budget <= 0 || resident.get() <= budget)
+            return;
+
+        int evicted = 0;
+        Iterator<Map.Entry<Image, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && resident.get() > budget) {
+            Map.Entry<Image, Entry> entry = iterator.next();
+            if(entry.getValue().frame >= frame)
+                continue;
+            if(entry.getValue().shared && NanoVGSharedImages.references(entry.getKey()) > 1)
+                continue;
+
+            iterator.remove();
+            evict(entry.getKey(), entry.getValue());
+            evicted++;
+        }
+        if(evicted > 0) {
+            logger.debug("Evicted " + evicted + " images from context " + ID + ", resident: " + resident.get() + " bytes!");
+        }
+    }
+
+    /**
+     * Function deletes all images of this context.
+     */
+    public void dispose() {
+        for(Map.Entry<Image, Entry> entry : entries.entrySet()) {
+            evict(entry.getKey(), entry.getValue());
+        }
+        entries.clear();
+        released.clear();
+        contexts.remove(this);
+    }
+
+    /**
+     * @return int - the count of resident images of this context.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return long - the byte size of all resident images of all contexts.
+     */
+    public static long getResidentBytes() {
+        return resident.get();
+    }
+
+    /**
+     * Function changes the byte size of all resident images, is used by {@link NanoVGSharedImages} and {@link NanoVGAtlas}.
+     * @param bytes the added bytes, negative for deleted bytes.
+     */
+    static void account(long bytes) {
+        resident.addAndGet(bytes);
+    }
+
+    /**
+     * Function queues the given image for deletion from all contexts.
+     * Is called by {@link UIFactory#unregisterImage(Image)}.
+     * @param image the unregistered image.
+     */
+    public static void release(@NotNull Image image) {
+        for(NanoVGResidency context : contexts) {
+            context.released.add(image);
+        }
+    }
+
+    /**
+     * Private function to delete the image from the graphic card.
+     * @param image the image to delete.
+     * @param entry the tracked entry, can be null if the image was not resident.
+     */
+    private void evict(Image image, Entry entry) {
+        if(entry == null)
+            return;
+
+        if(entry.shared) {
+            NanoVGSharedImages.release(ID, image, entry.imageID);
+        } else {
+            NanoVG.nvgDeleteImage(ID, entry.imageID);
+        }
+        image.removeId(ID);
+        resident.addAndGet(-entry.bytes);
+    }
+
+    /**
+     * Private class holds the upload information of a single image.
+     */
+    private static final class Entry {
+
+        private final int imageID;
+        private final long bytes;
+        private final boolean shared;
+        private long frame;
+
+        private Entry(int imageID, long bytes, long frame, boolean shared) {
+            this.imageID = imageID;
+            this.bytes = bytes;
+            this.frame = frame;
+            this.shared = shared;
+        }
+    }
+}
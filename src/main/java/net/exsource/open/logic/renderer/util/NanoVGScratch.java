@@ -0,0 +1,138 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.ui.UIWindow;
+import net.exsource.open.utils.NanoVGColor;
+import net.exsource.openutils.tools.Color;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.nanovg.NVGColor;
+import org.lwjgl.nanovg.NVGPaint;
+import org.lwjgl.nanovg.NanoVG;
+
+/**
+ * Class provides reusable {@link NVGColor} and {@link NVGPaint} structs for a single {@link UIWindow}.
+ * {@link NanoVG} copies colors and paints by value, so a small ring of structs is enough to draw
+ * all frames without any native allocation. The structs ar allocated on first use and freed by {@link #dispose()}.
+ * Note that this class is confined to the thread which created it, this is the render thread of the window.
+ * @since 1.0.0
+ * @see NanoVGColor
+ * @see UIWindow
+ * @author Daniel Ramke
+ */
+public class NanoVGScratch {
+
+    private static final int COLOR_SLOTS = 4;
+    private static final int PAINT_SLOTS = 2;
+
+    private final Thread owner;
+
+    private final NVGColor[] colors;
+    private final NVGPaint[] paints;
+
+    private int colorIndex;
+    private int paintIndex;
+    private long allocations;
+
+    /**
+     * Constructor creates an empty scratch which is owned by the current thread.
+     */
+    public NanoVGScratch() {
+        this.owner = Thread.currentThread();
+        this.colors = new NVGColor[COLOR_SLOTS];
+        this.paints = new NVGPaint[PAINT_SLOTS];
+    }
+
+    /**
+     * Function converts the given {@link Color} into the next free scratch color.
+     * The returned struct is valid until the ring is used {@value COLOR_SLOTS} more times.
+     * @param color the color to convert.
+     * @return {@link NVGColor} - the converted scratch color.
+     */
+    public NVGColor color(@NotNull Color color) {
+        checkThread();
+        int index = colorIndex;
+        colorIndex = (colorIndex + 1) % COLOR_SLOTS;
+        if(colors[index] == null) {
+            colors[index] = NVGColor.calloc();
+            allocations++;
+        }
+        return NanoVGColor.convert(color, colors[index]);
+    }
+
+    /**
+     * Function writes the given color components into the next free scratch color.
+     * @param red the red component from 0 to 1.
+     * @param green the green component from 0 to 1.
+     * @param blue the blue component from 0 to 1.
+     * @param alpha the alpha component from 0 to 1.
+     * @return {@link NVGColor} - the filled scratch color.
+     */
+    public NVGColor color(float red, float green, float blue, float alpha) {
+        checkThread();
+        int index = colorIndex;
+        colorIndex = (colorIndex + 1) % COLOR_SLOTS;
+        if(colors[index] == null) {
+            colors[index] = NVGColor.calloc();
+            allocations++;
+        }
+        return colors[index].r(red).g(green).b(blue).a(alpha);
+    }
+
+    /**
+     * Function returns the next free scratch paint. The paint will be overridden
+     * by the function which fills it like {@link NanoVG#nvgLinearGradient(long, float, float, float, float, NVGColor, NVGColor, NVGPaint)}.
+     * @return {@link NVGPaint} - the scratch paint.
+     */
+    public NVGPaint paint() {
+        checkThread();
+        int index = paintIndex;
+        paintIndex = (paintIndex + 1) % PAINT_SLOTS;
+        if(paints[index] == null) {
+            paints[index] = NVGPaint.calloc();
+            allocations++;
+        }
+        return paints[index];
+    }
+
+    /**
+     * @return long - the count of native allocations which were done by this scratch.
+     */
+    public long getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * @return {@link Thread} - the thread which is allowed to use this scratch.
+     */
+    public Thread getOwner() {
+        return owner;
+    }
+
+    /**
+     * Function frees all allocated structs. Is called after the window loop was finished.
+     */
+    public void dispose() {
+        checkThread();
+        for(int i = 0; i < colors.length; i++) {
+            if(colors[i] != null) {
+                colors[i].free();
+                colors[i] = null;
+            }
+        }
+        for(int i = 0; i < paints.length; i++) {
+            if(paints[i] != null) {
+                paints[i].free();
+                paints[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Private function to make sure the scratch is only used by his owner thread.
+     */
+    private void checkThread() {
+        if(Thread.currentThread() != owner) {
+            throw new IllegalStateException("NanoVGScratch is owned by thread " + owner.getName()
+                    + " and can't be used by " + Thread.currentThread().getName());
+        }
+    }
+}
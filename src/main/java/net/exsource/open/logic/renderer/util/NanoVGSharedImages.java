@@ -0,0 +1,180 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.OpenUI;
+import net.exsource.open.UIFactory;
+import net.exsource.open.ui.modals.Image;
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.nanovg.NanoVGGL2;
+import org.lwjgl.nanovg.NanoVGGL3;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class uploads every {@link Image} one time for all windows, if the option share-context is used.
+ * All contexts share the objects of the hidden context of {@link UIFactory#getShareContext()}, so the texture of an
+ * image is created by the first context which draws it. The other contexts only wrap the texture as own {@link NanoVG}
+ * image with {@link NanoVGGL3#NVG_IMAGE_NODELETE}. The wrapping contexts ar counted, the texture is deleted
+ * if the last context has deleted his image. The bytes of a texture ar counted one time by the {@link NanoVGResidency}.
+ * @since 1.0.0
+ * @see NanoVGResidency
+ * @see NanoVGBackground
+ * @author Daniel Ramke
+ */
+public final class NanoVGSharedImages {
+
+    private static final Logger logger = Logger.getLogger();
+
+    private static final Map<Image, Texture> textures = new HashMap<>();
+
+    private NanoVGSharedImages() {}
+
+    /**
+     * @return boolean - true if the images ar shared by all contexts.
+     */
+    public static boolean isEnabled() {
+        return OpenUI.getOptions().isShareContext() && UIFactory.hasShareContext();
+    }
+
+    /**
+     * Function creates a {@link NanoVG} image of the given context for the shared texture of the image.
+     * The texture is uploaded if no other context has uploaded it yet. The context must be current.
+     * @param ID the {@link NanoVG} context id.
+     * @param image the decoded image.
+     * @return int - the created image id or -1 if the upload failed.
+     */
+    public static synchronized int acquire(long ID, @NotNull Image image) {
+        Texture texture = textures.get(image);
+        if(texture == null) {
+            texture = upload(image);
+            if(texture == null)
+                return -1;
+            textures.put(image, texture);
+        }
+
+        int imageID = OpenUI.getOptions().getNanoVGVersion() == 3
+                ? NanoVGGL3.nvglCreateImageFromHandle(ID, texture.handle, texture.width, texture.height, NanoVGGL3.NVG_IMAGE_NODELETE)
+                : NanoVGGL2.nvglCreateImageFromHandle(ID, texture.handle, texture.width, texture.height, NanoVGGL2.NVG_IMAGE_NODELETE);
+        if(imageID <= 0) {
+            if(texture.references == 0) {
+                delete(image, texture);
+            }
+            return -1;
+        }
+        texture.references++;
+        return imageID;
+    }
+
+    /**
+     * Function deletes the {@link NanoVG} image of the given context, the texture is deleted
+     * if no other context uses it anymore. The context must be current.
+     * @param ID the {@link NanoVG} context id.
+     * @param image the image.
+     * @param imageID the {@link NanoVG} image id of the context.
+     */
+    public static synchronized void release(long ID, @NotNull Image image, int imageID) {
+        NanoVG.nvgDeleteImage(ID, imageID);
+        Texture texture = textures.get(image);
+        if(texture == null)
+            return;
+
+        texture.references--;
+        if(texture.references <= 0) {
+            delete(image, texture);
+        }
+    }
+
+    /**
+     * Function forgets all textures without deleting them, is called if the shared context was destroyed,
+     * because the textures were deleted with it.
+     */
+    public static synchronized void clear() {
+        for(Texture texture : textures.values()) {
+            NanoVGResidency.account(-texture.bytes);
+        }
+        textures.clear();
+    }
+
+    /**
+     * @param image the image.
+     * @return int - the count of contexts which use the shared texture of the image, 0 if it has no texture.
+     */
+    public static synchronized int references(@NotNull Image image) {
+        Texture texture = textures.get(image);
+        return texture == null ? 0 : texture.references;
+    }
+
+    /**
+     * @return int - the count of uploaded textures.
+     */
+    public static synchronized int size() {
+        return textures.size();
+    }
+
+    /**
+     * Private function to upload the pixels of the image into a new texture of the current context.
+     * The texture is flushed, so the other contexts can use it immediately.
+     * @param image the decoded image.
+     * @return {@link Texture} - the uploaded texture or null if the image has no pixels.
+     */
+    private static Texture upload(Image image) {
+        int handle = GL11.glGenTextures();
+        boolean uploaded = image.usePixels(pixels -> {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, handle);
+            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, image.getImageWidth(), image.getImageHeight()
+                    , 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 4);
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        });
+        if(!uploaded) {
+            GL11.glDeleteTextures(handle);
+            return null;
+        }
+
+        image.releasePixels();
+        GL11.glFlush();
+        Texture texture = new Texture(handle, image.getImageWidth(), image.getImageHeight(), image.getByteSize());
+        NanoVGResidency.account(texture.bytes);
+        logger.debug("Uploaded shared texture " + handle + " for image " + image.getName());
+        return texture;
+    }
+
+    /**
+     * Private function to delete the texture, a context of the share group must be current.
+     * @param image the image of the texture.
+     * @param texture the texture to delete.
+     */
+    private static void delete(Image image, Texture texture) {
+        GL11.glDeleteTextures(texture.handle);
+        textures.remove(image);
+        NanoVGResidency.account(-texture.bytes);
+    }
+
+    /**
+     * Private class holds a shared texture and the count of contexts which use it.
+     */
+    private static final class Texture {
+
+        private final int handle;
+        private final int width;
+        private final int height;
+        private final long bytes;
+        private int references;
+
+        private Texture(int handle, int width, int height, long bytes) {
+            this.handle = handle;
+            this.width = width;
+            this.height = height;
+            this.bytes = bytes;
+        }
+    }
+}
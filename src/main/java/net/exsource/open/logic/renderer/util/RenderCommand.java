@@ -0,0 +1,78 @@
+package net.exsource.open.logic.renderer.util;
+
+/**
+ * Enum contains the opcodes of the {@link RenderCommandBuffer}. Every command starts with the opcode
+ * followed by the rectangle (x, y, width, height) and the corner radius (top left, top right, bottom right, bottom left).
+ * The arguments ar the fixed count of 4 byte values which follows this header.
+ * @since 1.0.0
+ * @see RenderCommandBuffer
+ * @see NanoVGCommandExecutor
+ * @author Daniel Ramke
+ */
+public enum RenderCommand {
+
+    /**
+     * Fills the rectangle with a color (red, green, blue, alpha).
+     */
+    FILL_COLOR(1, 4),
+
+    /**
+     * Fills the rectangle with a linear gradient (startX, startY, endX, endY, inner color, outer color).
+     */
+    FILL_LINEAR_GRADIENT(2, 12),
+
+    /**
+     * Fills the rectangle with an image pattern (x, y, width, height, angle, image, alpha).
+     */
+    FILL_IMAGE(3, 7);
+
+    /**
+     * The count of 4 byte values in front of the arguments: opcode, rectangle and radius.
+     */
+    public static final int HEADER = 9;
+
+    private final int opcode;
+    private final int arguments;
+
+    RenderCommand(int opcode, int arguments) {
+        this.opcode = opcode;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return int - the value which is written into the stream.
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * @return int - the count of 4 byte arguments after the header.
+     */
+    public int getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return int - the complete size of the command in bytes.
+     */
+    public int getSize() {
+        return (HEADER + arguments) * 4;
+    }
+
+    /**
+     * Function returned the command of the given opcode.
+     * @param opcode the opcode from the stream.
+     * @return {@link RenderCommand} - the founded command, null if the opcode is unknown.
+     */
+    public static RenderCommand get(int opcode) {
+        RenderCommand command = null;
+        for(RenderCommand commands : values()) {
+            if(commands.getOpcode() == opcode) {
+                command = commands;
+                break;
+            }
+        }
+        return command;
+    }
+}
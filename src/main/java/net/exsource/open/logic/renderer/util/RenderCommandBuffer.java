@@ -0,0 +1,220 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.openutils.math.Radius;
+import net.exsource.openutils.tools.Color;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Class records draw commands into a compact off heap stream. A command is an opcode of {@link RenderCommand}
+ * followed by float and int arguments, colors ar written as 4 floats, so recording creates no objects.
+ * The stream is drawn by the {@link NanoVGCommandExecutor} and can be printed by {@link #dump()},
+ * this allows to check the drawn commands without a graphic card.
+ * The buffer grows if needed and must be freed by {@link #dispose()}.
+ * @since 1.0.0
+ * @see RenderCommand
+ * @see NanoVGCommandExecutor
+ * @author Daniel Ramke
+ */
+public class RenderCommandBuffer {
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private ByteBuffer data;
+    private int position;
+    private int commands;
+
+    /**
+     * Constructor creates an empty buffer with the default capacity.
+     */
+    public RenderCommandBuffer() {
+        this.data = MemoryUtil.memAlloc(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Function records a rectangle which is filled by a single color.
+     * @param x the x position of the rectangle.
+     * @param y the y position of the rectangle.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @param radius the corner radius.
+     * @param color the fill color.
+     */
+    public void fillColor(float x, float y, float width, float height, @NotNull Radius radius, @NotNull Color color) {
+        begin(RenderCommand.FILL_COLOR, x, y, width, height, radius);
+        putColor(color);
+    }
+
+    /**
+     * Function records a rectangle which is filled by a linear gradient between two colors.
+     * @param x the x position of the rectangle.
+     * @param y the y position of the rectangle.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @param radius the corner radius.
+     * @param startX the x position of the inner color.
+     * @param startY the y position of the inner color.
+     * @param endX the x position of the outer color.
+     * @param endY the y position of the outer color.
+     * @param inner the start color.
+     * @param outer the end color.
+     */
+    public void fillLinearGradient(float x, float y, float width, float height, @NotNull Radius radius
+            , float startX, float startY, float endX, float endY, @NotNull Color inner, @NotNull Color outer) {
+        begin(RenderCommand.FILL_LINEAR_GRADIENT, x, y, width, height, radius);
+        data.putFloat(position, startX);
+        data.putFloat(position + 4, startY);
+        data.putFloat(position + 8, endX);
+        data.putFloat(position + 12, endY);
+        position += 16;
+        putColor(inner);
+        putColor(outer);
+    }
+
+    /**
+     * Function records a rectangle which is filled by an image pattern.
+     * @param x the x position of the rectangle.
+     * @param y the y position of the rectangle.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @param radius the corner radius.
+     * @param patternX the x position of the image.
+     * @param patternY the y position of the image.
+     * @param patternWidth the drawn width of the image.
+     * @param patternHeight the drawn height of the image.
+     * @param angle the rotation of the image in radians.
+     * @param image the NanoVG image id.
+     * @param alpha the image alpha.
+     */
+    public void fillImage(float x, float y, float width, float height, @NotNull Radius radius
+            , float patternX, float patternY, float patternWidth, float patternHeight, float angle, int image, float alpha) {
+        begin(RenderCommand.FILL_IMAGE, x, y, width, height, radius);
+        data.putFloat(position, patternX);
+        data.putFloat(position + 4, patternY);
+        data.putFloat(position + 8, patternWidth);
+        data.putFloat(position + 12, patternHeight);
+        data.putFloat(position + 16, angle);
+        data.putInt(position + 20, image);
+        data.putFloat(position + 24, alpha);
+        position += 28;
+    }
+
+    /**
+     * Function removes all recorded commands, the capacity is kept.
+     */
+    public void reset() {
+        position = 0;
+        commands = 0;
+    }
+
+    /**
+     * @return int - the count of recorded commands.
+     */
+    public int getCommandCount() {
+        return commands;
+    }
+
+    /**
+     * @return int - the size of the recorded commands in bytes.
+     */
+    public int getSize() {
+        return position;
+    }
+
+    /**
+     * @return int - the current capacity in bytes.
+     */
+    public int getCapacity() {
+        return data == null ? 0 : data.capacity();
+    }
+
+    /**
+     * Function prints all recorded commands in a readable format, one command per line.
+     * @return {@link String} - the printed commands.
+     */
+    public String dump() {
+        StringBuilder builder = new StringBuilder();
+        int offset = 0;
+        while (offset < position) {
+            RenderCommand command = RenderCommand.get(data.getInt(offset));
+            if(command == null) {
+                builder.append("UNKNOWN ").append(data.getInt(offset)).append('\n');
+                break;
+            }
+
+            builder.append(command.name());
+            for(int i = 1; i < RenderCommand.HEADER + command.getArguments(); i++) {
+                int index = offset + i * 4;
+                builder.append(' ');
+                if(command == RenderCommand.FILL_IMAGE && i == RenderCommand.HEADER + 5) {
+                    builder.append(data.getInt(index));
+                } else {
+                    builder.append(data.getFloat(index));
+                }
+            }
+            builder.append('\n');
+            offset += command.getSize();
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Function frees the off heap memory, the buffer can't be used anymore.
+     */
+    public void dispose() {
+        if(data != null) {
+            MemoryUtil.memFree(data);
+            data = null;
+        }
+        reset();
+    }
+
+    /**
+     * @return {@link ByteBuffer} - the raw stream, is only used by the executor.
+     */
+    ByteBuffer data() {
+        return data;
+    }
+
+    /**
+     * Private function to write the header of a command and to grow the buffer if needed.
+     */
+    private void begin(RenderCommand command, float x, float y, float width, float height, Radius radius) {
+        ensure(command.getSize());
+        data.putInt(position, command.getOpcode());
+        data.putFloat(position + 4, x);
+        data.putFloat(position + 8, y);
+        data.putFloat(position + 12, width);
+        data.putFloat(position + 16, height);
+        data.putFloat(position + 20, (float) radius.getTopLeft());
+        data.putFloat(position + 24, (float) radius.getTopRight());
+        data.putFloat(position + 28, (float) radius.getBottomRight());
+        data.putFloat(position + 32, (float) radius.getBottomLeft());
+        position += RenderCommand.HEADER * 4;
+        commands++;
+    }
+
+    private void putColor(Color color) {
+        data.putFloat(position, color.getPercentRed());
+        data.putFloat(position + 4, color.getPercentGreen());
+        data.putFloat(position + 8, color.getPercentBlue());
+        data.putFloat(position + 12, color.getPercentAlpha());
+        position += 16;
+    }
+
+    private void ensure(int bytes) {
+        if(data == null)
+            throw new IllegalStateException("RenderCommandBuffer was already disposed!");
+
+        if(position + bytes <= data.capacity())
+            return;
+
+        int capacity = data.capacity();
+        while (capacity < position + bytes) {
+            capacity *= 2;
+        }
+        data = MemoryUtil.memRealloc(data, capacity);
+    }
+}
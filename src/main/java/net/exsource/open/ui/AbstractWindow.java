@@ -1,14 +1,38 @@
 package net.exsource.open.ui;
 
+import net.exsource.open.OpenUI;
+import net.exsource.open.Options;
+import net.exsource.open.enums.LoopMode;
 import net.exsource.open.logic.Renderer;
+import net.exsource.open.ui.component.ComponentTree;
+import net.exsource.open.ui.component.DamageTracker;
 import org.lwjgl.glfw.GLFW;
+import org.lwjgl.nanovg.NVGLUFramebuffer;
 import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.nanovg.NanoVGGL3;
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL30;
 
 public abstract class AbstractWindow extends UIWindow {
 
+    /**
+     * Max time in seconds a window sleeps in {@link LoopMode#ON_DEMAND} before {@link #update(float)} is called again.
+     */
+    static final double IDLE_TIMEOUT = 0.5;
+
+    /**
+     * Time in nanoseconds which is spun instance of slept at the end of a capped frame.
+     */
+    private static final long SPIN_NANOS = 1_000_000L;
+
     private boolean allowNVG;
     private boolean renderAtIconified;
+    private boolean partialRedraw = true;
+    private long lastTime;
+
+    private NVGLUFramebuffer backBuffer;
+    private int backBufferWidth;
+    private int backBufferHeight;
 
     public AbstractWindow() {
         super(null);
@@ -31,33 +55,58 @@ public abstract class AbstractWindow extends UIWindow {
 
     @Override
     protected void loop() {
-        long lastTime = System.nanoTime();
-        double fps = 60.0; //Todo: make this change able.
-        double nanos = 1_000_000_000.0 / fps;
-        double delta = 0;
-
+        getEventQueue().setOwner(Thread.currentThread());
         while (!willClose()) {
-            long now = System.nanoTime();
-            delta += (now - lastTime) / nanos;
-            lastTime = now;
+            Options options = OpenUI.getOptions();
+            long frameStart = System.nanoTime();
 
-            if(delta >= 1.0) {
-                update((float) (delta * fps));
-                delta = 0;
-            }
-
-            renderCheck();
-            if(!isIconified()) {
-                renderImpl();
-            } else {
-                if(renderAtIconified) {
-                    renderImpl();
+            boolean idle = options.getLoopMode() == LoopMode.ON_DEMAND && !needsRender();
+            if(EventPump.isEnabled()) {
+                if(idle) {
+                    getEventQueue().await(IDLE_TIMEOUT);
                 }
+            } else if(idle) {
+                GLFW.glfwWaitEventsTimeout(IDLE_TIMEOUT);
+            } else {
+                GLFW.glfwPollEvents();
             }
+            if(step()) {
+                limitFrame(frameStart, options.getFps());
+            }
+        }
+    }
+
+    /**
+     * Function processes one frame of the window after the events were polled or forwarded by the {@link EventPump}. The input is published,
+     * the queued tasks executed, the window updated and if needed drawn and swapped.
+     * The context of this window must be current on the calling thread.
+     * @return boolean - false if the window was idle in {@link LoopMode#ON_DEMAND} and no frame was consumed.
+     */
+    protected boolean step() {
+        publishInput();
+        runTasks();
 
+        long now = System.nanoTime();
+        update(lastTime == 0 ? 0f : (now - lastTime) / 1_000_000_000f);
+        lastTime = now;
+
+        renderCheck();
+        if(OpenUI.getOptions().getLoopMode() == LoopMode.ON_DEMAND && !needsRender())
+            return false;
+
+        consumeRenderRequest();
+        if(!isIconified() || renderAtIconified) {
+            nextFrame();
+            renderImpl();
             GLFW.glfwSwapBuffers(openglID);
-            GLFW.glfwPollEvents();
         }
+        return true;
+    }
+
+    @Override
+    protected void finish() {
+        disposeBackBuffer();
+        super.finish();
     }
 
     public void setRenderAtIconified(boolean renderAtIconified) {
@@ -76,26 +125,184 @@ public abstract class AbstractWindow extends UIWindow {
         return allowNVG;
     }
 
+    /**
+     * Function enables or disables the partial redraw. If it is enabled, only the damaged regions
+     * of the {@link ComponentTree} ar redrawn into a preserved back buffer. Disable this if your
+     * {@link #render()} function draws thinks which ar not tracked by components.
+     * @param partialRedraw the new state.
+     */
+    public void setPartialRedraw(boolean partialRedraw) {
+        this.partialRedraw = partialRedraw;
+        getComponentTree().getDamage().invalidateAll();
+    }
+
+    public boolean isPartialRedraw() {
+        return partialRedraw;
+    }
+
     private void renderImpl() {
-        GL11.glClear(GL11.GL_COLOR_BUFFER_BIT);
-        GL11.glClearColor(background.getPercentRed(), background.getPercentGreen()
-                , background.getPercentBlue(), background.getPercentAlpha());
+        ComponentTree tree = getComponentTree();
+        validateRenderers();
+        tree.update();
         if(allowNVG) {
-            NanoVG.nvgBeginFrame(context.nvgID(), getWidth(), getHeight(), 1f);
-
+            if(partialRedraw && prepareBackBuffer()) {
+                renderDamaged(tree.getDamage());
+                presentBackBuffer();
+            } else {
+                clear(null);
+                renderPass(null);
+            }
+        } else {
+            clear(null);
             render();
             for(Renderer renderer : getRenderers()) {
                 renderer.render(this);
             }
+        }
+        tree.clean();
+    }
+
+    /**
+     * Private function to redraw the damaged regions into the preserved back buffer.
+     * If the tracker is empty nothing will be drawn.
+     * @param damage the damaged regions of the current frame.
+     */
+    private void renderDamaged(DamageTracker damage) {
+        if(damage.isEmpty())
+            return;
 
-            NanoVG.nvgRestore(context.nvgID());
-            NanoVG.nvgEndFrame(context.nvgID());
+        NanoVGGL3.nvgluBindFramebuffer(context.nvgID(), backBuffer);
+        GL11.glViewport(0, 0, getWidth(), getHeight());
+        if(damage.isFull()) {
+            clear(null);
+            renderPass(null);
         } else {
-            render();
-            for(Renderer renderer : getRenderers()) {
-                renderer.render(this);
+            for(DamageTracker.Region region : damage.getRegions()) {
+                clear(region);
+                renderPass(region);
+            }
+        }
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, 0);
+    }
+
+    /**
+     * Private function to draw one pass with all renderers.
+     * @param region the region which is drawn, null for the complete window.
+     */
+    private void renderPass(DamageTracker.Region region) {
+        long nvg = context.nvgID();
+        NanoVG.nvgBeginFrame(nvg, getWidth(), getHeight(), 1f);
+        if(region != null) {
+            NanoVG.nvgScissor(nvg, region.x(), region.y(), region.width(), region.height());
+        }
+        setRenderClip(region);
+
+        render();
+        for(Renderer renderer : getRenderers()) {
+            renderer.render(this);
+        }
+
+        setRenderClip(null);
+        NanoVG.nvgResetScissor(nvg);
+        NanoVG.nvgRestore(nvg);
+        NanoVG.nvgEndFrame(nvg);
+    }
+
+    /**
+     * Private function to clear the current framebuffer with the window background.
+     * @param region the region to clear, null for the complete framebuffer.
+     */
+    private void clear(DamageTracker.Region region) {
+        GL11.glClearColor(background.getPercentRed(), background.getPercentGreen()
+                , background.getPercentBlue(), background.getPercentAlpha());
+        if(region == null) {
+            GL11.glClear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_STENCIL_BUFFER_BIT);
+            return;
+        }
+        GL11.glEnable(GL11.GL_SCISSOR_TEST);
+        GL11.glScissor(region.x(), getHeight() - region.y() - region.height(), region.width(), region.height());
+        GL11.glClear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_STENCIL_BUFFER_BIT);
+        GL11.glDisable(GL11.GL_SCISSOR_TEST);
+    }
+
+    /**
+     * Private function to create or resize the preserved back buffer. The back buffer is only
+     * available with NanoVG 3 and OpenGL 3.0 because we need framebuffer blitting.
+     * @return boolean - true if the back buffer can be used.
+     */
+    private boolean prepareBackBuffer() {
+        if(OpenUI.getOptions().getNanoVGVersion() != 3 || !context.capabilities().OpenGL30)
+            return false;
+
+        if(backBuffer != null && backBufferWidth == getWidth() && backBufferHeight == getHeight())
+            return true;
+
+        disposeBackBuffer();
+        if(getWidth() <= 0 || getHeight() <= 0)
+            return false;
+
+        backBuffer = NanoVGGL3.nvgluCreateFramebuffer(context.nvgID(), getWidth(), getHeight(), 0);
+        if(backBuffer == null)
+            return false;
+
+        backBufferWidth = getWidth();
+        backBufferHeight = getHeight();
+        getComponentTree().getDamage().invalidateAll();
+        return true;
+    }
+
+    /**
+     * Private function to copy the preserved back buffer to the window framebuffer.
+     */
+    private void presentBackBuffer() {
+        GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, backBuffer.fbo());
+        GL30.glBindFramebuffer(GL30.GL_DRAW_FRAMEBUFFER, 0);
+        GL30.glBlitFramebuffer(0, 0, backBufferWidth, backBufferHeight, 0, 0, backBufferWidth, backBufferHeight
+                , GL11.GL_COLOR_BUFFER_BIT, GL11.GL_NEAREST);
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, 0);
+    }
+
+    /**
+     * Private function to delete the preserved back buffer.
+     */
+    private void disposeBackBuffer() {
+        if(backBuffer == null)
+            return;
+
+        NanoVGGL3.nvgluDeleteFramebuffer(context.nvgID(), backBuffer);
+        backBuffer = null;
+    }
+
+    /**
+     * @return boolean - true if the window has to draw a new frame in {@link LoopMode#ON_DEMAND}.
+     */
+    boolean needsRender() {
+        return isRenderRequested() || isAnimating() || hasTasks() || getEventQueue().hasPending() || getComponentTree().hasChanges();
+    }
+
+    /**
+     * Private function to cap the frame rate. The most of the remaining frame time is slept,
+     * the last part is spun to hit the frame time exactly.
+     * @param frameStart the time stamp of the frame start in nanoseconds.
+     * @param fps the max frames per second, 0 or less means uncapped.
+     */
+    static void limitFrame(long frameStart, int fps) {
+        if(fps <= 0)
+            return;
+
+        long deadline = frameStart + 1_000_000_000L / fps;
+        long sleep = deadline - System.nanoTime() - SPIN_NANOS;
+        if(sleep > 0) {
+            try {
+                Thread.sleep(sleep / 1_000_000L, (int) (sleep % 1_000_000L));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
             }
         }
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
     }
 
     private void renderCheck() {
@@ -0,0 +1,172 @@
+package net.exsource.open.ui;
+
+import net.exsource.open.OpenUI;
+import net.exsource.open.UIFactory;
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Class processes the {@link GLFW} events of all windows by the thread which has called {@link OpenUI#launch(String[])},
+ * like {@link GLFW} requires it. The events ar forwarded to the {@link EventQueue} of each window, so the render threads
+ * only draw and swap. Functions which must be called by the main thread, like creating windows or changing
+ * the title, ar queued by the render threads with {@link #execute(Runnable)} or {@link #invoke(Runnable)}
+ * and executed by the pump between the events.
+ * The pump is used if the option event-pump is true, the main thread must call {@link OpenUI#pumpEvents()} then.
+ * If the main thread waits for a window before, like {@link UIFactory#createWindow(Class)} does, the queued functions
+ * ar executed while waiting.
+ * @since 1.0.0
+ * @see EventQueue
+ * @see OpenUI
+ * @author Daniel Ramke
+ */
+public final class EventPump {
+
+    private static final Logger logger = Logger.getLogger();
+
+    /**
+     * Max time in seconds the pump waits for events before the running windows ar checked again.
+     */
+    public static final double WAIT_TIMEOUT = 0.5;
+
+    /**
+     * Max time in seconds the main thread waits for events while it is waiting for a window.
+     */
+    private static final double AWAIT_TIMEOUT = 0.005;
+
+    private static final Object lock = new Object();
+    private static final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private static volatile Thread thread;
+    private static boolean stopped;
+
+    private EventPump() {}
+
+    /**
+     * Function binds the pump to the calling thread, is called by {@link OpenUI#launch(String[])} after {@link GLFW} was initialized.
+     */
+    public static void bind() {
+        thread = Thread.currentThread();
+    }
+
+    /**
+     * Function processes the events of all windows until the last window was closed. Returns immediately if
+     * no window is running. Must be called by the thread which has called {@link OpenUI#launch(String[])}.
+     */
+    public static void run() {
+        if(!isEnabled()) {
+            logger.debug("Event pump is not enabled, the windows poll the events by them self");
+            return;
+        }
+        if(!isPumpThread()) {
+            logger.warn("Event pump can only run in thread [ " + thread.getName() + " ], not in [ " + Thread.currentThread().getName() + " ]");
+            return;
+        }
+
+        synchronized (lock) {
+            stopped = false;
+        }
+        logger.info("Start event pump in thread [ " + thread.getName() + " ]");
+        while (true) {
+            runTasks();
+            synchronized (lock) {
+                if(UIFactory.runningWindows() <= 0 && tasks.isEmpty()) {
+                    stopped = true;
+                    break;
+                }
+            }
+            GLFW.glfwWaitEventsTimeout(WAIT_TIMEOUT);
+        }
+        logger.info("Stopped event pump, all windows were closed");
+    }
+
+    /**
+     * Function queues the task for the main thread and wakes the pump. The task is executed immediately if the
+     * calling thread is the main thread, the pump is not enabled or was already stopped.
+     * @param task the task which calls {@link GLFW} functions.
+     */
+    public static void execute(@NotNull Runnable task) {
+        if(!isEnabled() || isPumpThread()) {
+            task.run();
+            return;
+        }
+
+        synchronized (lock) {
+            if(!stopped) {
+                tasks.offer(task);
+                GLFW.glfwPostEmptyEvent();
+                return;
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * Function executes the task like {@link #execute(Runnable)} and waits until it is done.
+     * @param task the task which calls {@link GLFW} functions.
+     */
+    public static void invoke(@NotNull Runnable task) {
+        if(!isEnabled() || isPumpThread()) {
+            task.run();
+            return;
+        }
+
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        execute(future);
+        try {
+            future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            logger.error("Task of the event pump failed: " + exception.getCause());
+        }
+    }
+
+    /**
+     * Function lets the main thread wait for the latch, the queued tasks and the events ar processed meanwhile.
+     * So the main thread can wait for a window which is created by the pump.
+     * @param latch the latch to wait for.
+     */
+    public static void await(@NotNull CountDownLatch latch) {
+        while (latch.getCount() > 0) {
+            runTasks();
+            if(latch.getCount() == 0)
+                break;
+            GLFW.glfwWaitEventsTimeout(AWAIT_TIMEOUT);
+        }
+    }
+
+    /**
+     * @return boolean - true if the option event-pump is true and {@link OpenUI#launch(String[])} was called.
+     */
+    public static boolean isEnabled() {
+        return thread != null && OpenUI.getOptions().isEventPump();
+    }
+
+    /**
+     * @return boolean - true if the calling thread is the thread which processes the events.
+     */
+    public static boolean isPumpThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Private function to execute the queued tasks, is called by the main thread between the events.
+     */
+    private static void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception exception) {
+                logger.error(exception);
+            }
+        }
+    }
+}
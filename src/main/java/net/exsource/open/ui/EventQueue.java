@@ -0,0 +1,228 @@
+package net.exsource.open.ui;
+
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFWCharCallbackI;
+import org.lwjgl.glfw.GLFWCharModsCallbackI;
+import org.lwjgl.glfw.GLFWCursorEnterCallbackI;
+import org.lwjgl.glfw.GLFWCursorPosCallbackI;
+import org.lwjgl.glfw.GLFWFramebufferSizeCallbackI;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+import org.lwjgl.glfw.GLFWMouseButtonCallbackI;
+import org.lwjgl.glfw.GLFWScrollCallbackI;
+import org.lwjgl.glfw.GLFWWindowCloseCallbackI;
+import org.lwjgl.glfw.GLFWWindowFocusCallbackI;
+import org.lwjgl.glfw.GLFWWindowIconifyCallbackI;
+import org.lwjgl.glfw.GLFWWindowMaximizeCallbackI;
+import org.lwjgl.glfw.GLFWWindowPosCallbackI;
+import org.lwjgl.glfw.GLFWWindowRefreshCallbackI;
+import org.lwjgl.glfw.GLFWWindowSizeCallbackI;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class holds the input and window events of a single {@link UIWindow}, which were received by the {@link EventPump}.
+ * The pump only appends the events to a lock-free queue and wakes the render thread of the window, the callbacks
+ * of the window ar called by the render thread at the start of his next frame. So a slow window never delays the
+ * events of the other windows. If the option event-pump is false, the callbacks ar not forwarded and called by
+ * the thread which polls the events.
+ * @since 1.0.0
+ * @see EventPump
+ * @see UIWindow
+ * @author Daniel Ramke
+ */
+public final class EventQueue {
+
+    private static final Logger logger = Logger.getLogger();
+
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile Thread owner;
+
+    /**
+     * Function appends the event and wakes the render thread of the window.
+     * @param event the event which calls the callbacks of the window.
+     */
+    public void post(@NotNull Runnable event) {
+        events.offer(event);
+        pending.incrementAndGet();
+        wake();
+    }
+
+    /**
+     * Function calls the events which were queued before this call, is called by the render thread one time per frame.
+     * @return int - the count of called events.
+     */
+    public int drain() {
+        int count = pending.get();
+        int called = 0;
+        for(int i = 0; i < count; i++) {
+            Runnable event = events.poll();
+            if(event == null)
+                break;
+
+            pending.decrementAndGet();
+            try {
+                event.run();
+            } catch (Exception exception) {
+                logger.error(exception);
+            }
+            called++;
+        }
+        return called;
+    }
+
+    /**
+     * Function parks the calling render thread until an event is posted, {@link #wake()} is called or the timeout is reached.
+     * Returns immediately if events ar pending.
+     * @param timeout the max time to sleep in seconds.
+     */
+    public void await(double timeout) {
+        if(hasPending())
+            return;
+
+        LockSupport.parkNanos(this, (long) (timeout * 1_000_000_000L));
+    }
+
+    /**
+     * Function wakes the render thread of the window, if it is parked.
+     */
+    public void wake() {
+        Thread thread = owner;
+        if(thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @param owner the render thread which drains this queue.
+     */
+    public void setOwner(Thread owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @return boolean - true if events ar queued for the next frame.
+     */
+    public boolean hasPending() {
+        return pending.get() > 0;
+    }
+
+    /* ########################################################################
+     *
+     *                              Forwarding
+     *
+     * ######################################################################## */
+
+    /**
+     * Function returned the callback which is given to {@link org.lwjgl.glfw.GLFW}. Every callback type has his own
+     * function name, so the lambdas of the window can't be ambiguous. If the {@link EventPump} is
+     * enabled the returned callback queues the call, else the given callback is returned.
+     * @param callback the callback of the window.
+     * @return {@link GLFWWindowSizeCallbackI} - the callback for glfw.
+     */
+    public GLFWWindowSizeCallbackI forwardSize(@NotNull GLFWWindowSizeCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, width, height) -> post(() -> callback.invoke(window, width, height));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWWindowPosCallbackI forwardPosition(@NotNull GLFWWindowPosCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, positionX, positionY) -> post(() -> callback.invoke(window, positionX, positionY));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWWindowCloseCallbackI forwardClose(@NotNull GLFWWindowCloseCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : window -> post(() -> callback.invoke(window));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWWindowRefreshCallbackI forwardRefresh(@NotNull GLFWWindowRefreshCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : window -> post(() -> callback.invoke(window));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWWindowFocusCallbackI forwardFocus(@NotNull GLFWWindowFocusCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, focused) -> post(() -> callback.invoke(window, focused));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWWindowIconifyCallbackI forwardIconify(@NotNull GLFWWindowIconifyCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, iconified) -> post(() -> callback.invoke(window, iconified));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWWindowMaximizeCallbackI forwardMaximize(@NotNull GLFWWindowMaximizeCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, maximized) -> post(() -> callback.invoke(window, maximized));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWFramebufferSizeCallbackI forwardFramebufferSize(@NotNull GLFWFramebufferSizeCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, width, height) -> post(() -> callback.invoke(window, width, height));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWKeyCallbackI forwardKey(@NotNull GLFWKeyCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, key, scancode, action, mods) -> post(() -> callback.invoke(window, key, scancode, action, mods));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWCharCallbackI forwardChar(@NotNull GLFWCharCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, codepoint) -> post(() -> callback.invoke(window, codepoint));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWCharModsCallbackI forwardCharMods(@NotNull GLFWCharModsCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, codepoint, mods) -> post(() -> callback.invoke(window, codepoint, mods));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWMouseButtonCallbackI forwardMouseButton(@NotNull GLFWMouseButtonCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, button, action, mods) -> post(() -> callback.invoke(window, button, action, mods));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWCursorPosCallbackI forwardCursorPos(@NotNull GLFWCursorPosCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, positionX, positionY) -> post(() -> callback.invoke(window, positionX, positionY));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWCursorEnterCallbackI forwardCursorEnter(@NotNull GLFWCursorEnterCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, entered) -> post(() -> callback.invoke(window, entered));
+    }
+
+    /**
+     * @see #forwardSize(GLFWWindowSizeCallbackI)
+     */
+    public GLFWScrollCallbackI forwardScroll(@NotNull GLFWScrollCallbackI callback) {
+        return !EventPump.isEnabled() ? callback : (window, xOffset, yOffset) -> post(() -> callback.invoke(window, xOffset, yOffset));
+    }
+}
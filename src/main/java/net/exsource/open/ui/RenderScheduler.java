@@ -0,0 +1,234 @@
+package net.exsource.open.ui;
+
+import net.exsource.open.OpenUI;
+import net.exsource.open.Options;
+import net.exsource.open.enums.LoopMode;
+import net.exsource.openlogger.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.opengl.GL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class draws many {@link AbstractWindow}'s by a small count of shared threads instance of one thread per window.
+ * Every window is bound to one render thread for his whole life span, the thread switches between his windows
+ * by {@link GLFW#glfwMakeContextCurrent(long)} and draws them one after another in rounds.
+ * Focused windows ar drawn first, followed by the visible windows. Hidden windows and iconified windows which
+ * don't render at iconified ar only processed every {@link #BACKGROUND_INTERVAL} rounds, so their tasks and
+ * close requests ar still handled.
+ * If the {@link EventPump} is enabled, the thread doesn't poll the events and sleeps until an event is forwarded to one of his windows.
+ * The vsync of the windows is disabled, because every swap would wait for the monitor. The rounds ar limited by the fps option.
+ * The scheduler is used if the option render-threads is greater than 0.
+ * @since 1.0.0
+ * @see AbstractWindow
+ * @see OpenUI
+ * @author Daniel Ramke
+ */
+public final class RenderScheduler {
+
+    private static final Logger logger = Logger.getLogger();
+
+    /**
+     * Count of rounds after a background window is processed again.
+     */
+    public static final int BACKGROUND_INTERVAL = 10;
+
+    private final Worker[] workers;
+
+    /**
+     * Constructor creates the scheduler, the threads ar started by the first window they get.
+     * @param threads the count of render threads, at least one is used.
+     */
+    public RenderScheduler(int threads) {
+        this.workers = new Worker[Math.max(1, threads)];
+        for(int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker("OpenUI-Render-" + i);
+        }
+    }
+
+    /**
+     * Function binds the window to the render thread with the fewest windows.
+     * The window is initialized by this thread at the start of the next round.
+     * @param window the window to draw.
+     * @return {@link Thread} - the render thread which is holding the window.
+     */
+    public synchronized Thread attach(@NotNull AbstractWindow window) {
+        Worker worker = workers[0];
+        for(Worker candidate : workers) {
+            if(candidate.size < worker.size) {
+                worker = candidate;
+            }
+        }
+        logger.debug("Attach window " + window.getIdentifier() + " to " + worker.name);
+        return worker.attach(window);
+    }
+
+    /**
+     * @return int - the count of render threads, started or not.
+     */
+    public int getThreadCount() {
+        return workers.length;
+    }
+
+    /**
+     * @return int - the count of windows which ar drawn by this scheduler.
+     */
+    public synchronized int getWindowCount() {
+        int count = 0;
+        for(Worker worker : workers) {
+            count += worker.size;
+        }
+        return count;
+    }
+
+    /**
+     * Private class is a single render thread with his own windows.
+     */
+    private final class Worker implements Runnable {
+
+        private final String name;
+        private final Queue<AbstractWindow> incoming = new ConcurrentLinkedQueue<>();
+        private final List<AbstractWindow> windows = new ArrayList<>();
+        private final List<AbstractWindow> order = new ArrayList<>();
+        private int size;
+        private Thread thread;
+        private long round;
+
+        private Worker(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Is only called with the lock of the scheduler.
+         */
+        private Thread attach(AbstractWindow window) {
+            size++;
+            incoming.offer(window);
+            if(thread == null) {
+                thread = new Thread(this, name);
+                thread.start();
+            } else if(EventPump.isEnabled()) {
+                LockSupport.unpark(thread);
+            } else {
+                GLFW.glfwPostEmptyEvent();
+            }
+            return thread;
+        }
+
+        @Override
+        public void run() {
+            while (adopt()) {
+                Options options = OpenUI.getOptions();
+                long frameStart = System.nanoTime();
+                prioritize();
+
+                boolean idle = options.getLoopMode() == LoopMode.ON_DEMAND;
+                for(int i = 0; i < windows.size() && idle; i++) {
+                    idle = !windows.get(i).needsRender();
+                }
+                if(EventPump.isEnabled()) {
+                    if(idle) {
+                        LockSupport.parkNanos(this, (long) (AbstractWindow.IDLE_TIMEOUT * 1_000_000_000L));
+                    }
+                } else if(idle) {
+                    GLFW.glfwWaitEventsTimeout(AbstractWindow.IDLE_TIMEOUT);
+                } else {
+                    GLFW.glfwPollEvents();
+                }
+
+                for(AbstractWindow window : order) {
+                    GLFW.glfwMakeContextCurrent(window.openglID);
+                    GL.setCapabilities(window.getContext().capabilities());
+                    if(window.willClose()) {
+                        release(window);
+                        continue;
+                    }
+                    try {
+                        window.step();
+                    } catch (Exception exception) {
+                        logger.error(exception);
+                        release(window);
+                    }
+                }
+                round++;
+
+                if(!idle) {
+                    AbstractWindow.limitFrame(frameStart, options.getFps());
+                }
+            }
+        }
+
+        /**
+         * Private function to initialize the new windows of this thread.
+         * @return boolean - false if the thread has no windows anymore and ends.
+         */
+        private boolean adopt() {
+            AbstractWindow window;
+            while ((window = incoming.poll()) != null) {
+                try {
+                    window.initialize();
+                } catch (Exception exception) {
+                    logger.error(exception);
+                }
+                if(window.getContext() == null) {
+                    logger.warn("Window " + window.getIdentifier() + ", could not be initialized by " + name);
+                    synchronized (RenderScheduler.this) {
+                        size--;
+                    }
+                    continue;
+                }
+                GLFW.glfwMakeContextCurrent(window.openglID);
+                window.schedule();
+                window.getEventQueue().setOwner(Thread.currentThread());
+                windows.add(window);
+            }
+
+            synchronized (RenderScheduler.this) {
+                if(windows.isEmpty() && incoming.isEmpty()) {
+                    thread = null;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Private function to sort the windows of the next round, focused windows first and visible windows second.
+         * Background windows ar only added every {@link #BACKGROUND_INTERVAL} rounds.
+         */
+        private void prioritize() {
+            order.clear();
+            boolean background = round % BACKGROUND_INTERVAL == 0;
+            for(AbstractWindow window : windows) {
+                if(window.isFocused()) {
+                    order.add(0, window);
+                } else if(window.isVisible() && (!window.isIconified() || window.isRenderAtIconified())) {
+                    order.add(window);
+                } else if(background) {
+                    order.add(window);
+                }
+            }
+        }
+
+        /**
+         * Private function to end the life span of a closed or failed window.
+         * @param window the window, his context is current.
+         */
+        private void release(AbstractWindow window) {
+            windows.remove(window);
+            try {
+                window.finish();
+            } catch (Exception exception) {
+                logger.error(exception);
+            }
+            synchronized (RenderScheduler.this) {
+                size--;
+            }
+        }
+    }
+}
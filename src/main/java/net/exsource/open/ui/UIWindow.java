@@ -4,14 +4,20 @@ import net.exsource.open.ErrorHandler;
 import net.exsource.open.OpenUI;
 import net.exsource.open.UIFactory;
 import net.exsource.open.enums.Errors;
+import net.exsource.open.enums.LoopMode;
 import net.exsource.open.events.windows.WindowCloseEvent;
 import net.exsource.open.events.windows.WindowCreateEvent;
 import net.exsource.open.logic.AbstractRenderer;
+import net.exsource.open.logic.RenderPriority;
 import net.exsource.open.logic.Renderer;
 import net.exsource.open.logic.input.Keyboard;
 import net.exsource.open.logic.input.Mouse;
 import net.exsource.open.logic.renderer.UIBackgroundRenderer;
+import net.exsource.open.logic.renderer.util.NanoVGScratch;
 import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.component.ComponentTree;
+import net.exsource.open.ui.component.DamageTracker;
+import net.exsource.open.ui.component.PointerDispatcher;
 import net.exsource.open.ui.modals.ColorGradient;
 import net.exsource.open.ui.modals.Image;
 import net.exsource.open.ui.windows.Window;
@@ -34,7 +40,13 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.lwjgl.system.MemoryUtil.NULL;
 import static net.exsource.open.logic.callback.Callbacks.*;
@@ -67,6 +79,7 @@ public abstract class UIWindow implements ResizeAble {
     protected long openglID;
 
     protected Context context;
+    private NanoVGScratch scratch;
 
     private String title;
 
@@ -77,9 +90,24 @@ public abstract class UIWindow implements ResizeAble {
 
     private boolean created;
     private boolean vsync;
+    private volatile boolean scheduled;
 
+    private volatile boolean renderRequested = true;
+    private volatile boolean animating;
+    private volatile boolean closed;
+    private long frame;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final EventQueue events = new EventQueue();
+    private final EventQueue inputEvents = new EventQueue();
+    private final AtomicInteger pendingTasks = new AtomicInteger();
     private final List<Renderer> renderers = new ArrayList<>();
     private final List<Component> components = new ArrayList<>();
+    private final ComponentTree componentTree = new ComponentTree(this);
+    private final PointerDispatcher pointerDispatcher = new PointerDispatcher(componentTree);
+    private final Mouse mouse = new Mouse();
+    private final Keyboard keyboard = new Keyboard();
+    private DamageTracker.Region renderClip;
 
     private WindowRefreshCallback refreshCallback;
     private WindowSizeCallback sizeCallback;
@@ -133,9 +161,13 @@ public abstract class UIWindow implements ResizeAble {
         this.height = DEFAULT_HEIGHT;
         this.background = Color.named(Colors.BLACK);
         this.vsync = false;
-        this.thread = UIFactory.generateThread(this::run, this);
-        if(thread != null)
-            thread.start();
+        if(OpenUI.getOptions().getRenderThreads() > 0 && this instanceof AbstractWindow window) {
+            this.thread = UIFactory.scheduleWindow(window);
+        } else {
+            this.thread = UIFactory.generateThread(this::run, this);
+            if(thread != null)
+                thread.start();
+        }
     }
 
     /* ########################################################################
@@ -156,7 +188,24 @@ public abstract class UIWindow implements ResizeAble {
     protected void run() {
         initialize();
         loop();
+        finish();
+    }
+
+    /**
+     * Function ends the life span of the window after the loop was left. Remaining tasks ar executed and
+     * the renderers ar disposed before {@link #destroy()} is called, so they ar deleted while the context is still alive,
+     * at last the window is released by the {@link UIFactory}. The context of this window must be current on the calling thread.
+     */
+    protected void finish() {
+        closed = true;
+        events.drain();
+        runTasks();
+        removeAllRenders();
+        if(scratch != null) {
+            scratch.dispose();
+        }
         destroy();
+        UIFactory.releaseWindow(this);
     }
 
     /**
@@ -213,7 +262,14 @@ public abstract class UIWindow implements ResizeAble {
     }
 
     /**
-     * @return {@link Thread} - the java thread which is holding the current window.
+     * @return {@link NanoVGScratch} - the reusable NanoVG structs of this window, only usable by the window thread.
+     */
+    public NanoVGScratch getScratch() {
+        return scratch;
+    }
+
+    /**
+     * @return {@link Thread} - the java thread which is holding the current window, shared by more windows if a {@link RenderScheduler} is used.
      */
     public Thread getThread() {
         return thread;
@@ -236,7 +292,9 @@ public abstract class UIWindow implements ResizeAble {
             title = getClass().getSimpleName();
         }
         this.title = title;
-        GLFW.glfwSetWindowTitle(getOpenglID(), title);
+        long ID = getOpenglID();
+        String value = title;
+        EventPump.execute(() -> GLFW.glfwSetWindowTitle(ID, value));
     }
 
     /**
@@ -256,14 +314,33 @@ public abstract class UIWindow implements ResizeAble {
 
     /**
      * Function change vsync state for window.
+     * Windows which ar drawn by a {@link RenderScheduler} can't use vsync, because every swap would block
+     * the shared render thread for a whole refresh of the monitor. Their frames ar limited by the fps option.
      * @param state the new vsync state.
      */
     public void setVsync(boolean state) {
         _wait();
+        if(scheduled && state) {
+            logger.warn("Window " + getIdentifier() + " is drawn by a shared render thread, vsync stays disabled!");
+            return;
+        }
         this.vsync = state;
         GLFW.glfwSwapInterval(state ? 1 : 0);
     }
 
+    /**
+     * Function marks the window as drawn by a {@link RenderScheduler} and disables the vsync of his context.
+     * Is called by the render thread after the window was initialized, the context must be current.
+     */
+    void schedule() {
+        scheduled = true;
+        if(vsync) {
+            logger.warn("Window " + getIdentifier() + " is drawn by a shared render thread, vsync was disabled!");
+        }
+        vsync = false;
+        GLFW.glfwSwapInterval(0);
+    }
+
     /**
      * @return {@link Boolean} - state of window vsync.
      */
@@ -277,6 +354,10 @@ public abstract class UIWindow implements ResizeAble {
      * @param width the new width as {@link Integer}
      */
     public void setWidth(int width) {
+        if(this.width != width) {
+            componentTree.getDamage().invalidateAll();
+            requestRender();
+        }
         this.width = width;
     }
 
@@ -292,6 +373,10 @@ public abstract class UIWindow implements ResizeAble {
      * @param height the new height as {@link Integer}
      */
     public void setHeight(int height) {
+        if(this.height != height) {
+            componentTree.getDamage().invalidateAll();
+            requestRender();
+        }
         this.height = height;
     }
 
@@ -312,6 +397,8 @@ public abstract class UIWindow implements ResizeAble {
             color = Color.FALLBACK_COLOR;
         }
         this.background = color;
+        componentTree.getDamage().invalidateAll();
+        requestRender();
     }
 
     /**
@@ -370,21 +457,28 @@ public abstract class UIWindow implements ResizeAble {
 
     /**
      * Function generates a new GLFW window by using {@link GLFW#glfwCreateWindow(int, int, ByteBuffer, long, long)}.
+     * If the option share-context is true, the window shares his textures with the hidden window of {@link UIFactory#getShareContext()}.
+     * If the option event-pump is true, the window and his callbacks ar created by the {@link EventPump}.
      * This will set up the class and usable for the user. You can override this function if you need your own system.
      * But make sure you set the openglID.
      */
     protected void build() {
         logger.info("Build window " + getIdentifier() + "...");
-        GLFW.glfwDefaultWindowHints();
-        GLFW.glfwWindowHint(GLFW.GLFW_RESIZABLE, GLFW.GLFW_TRUE);
-        this.openglID = GLFW.glfwCreateWindow(width, height, title, NULL, NULL);
+        EventPump.invoke(() -> {
+            long share = OpenUI.getOptions().isShareContext() ? UIFactory.getShareContext() : NULL;
+            GLFW.glfwDefaultWindowHints();
+            GLFW.glfwWindowHint(GLFW.GLFW_RESIZABLE, GLFW.GLFW_TRUE);
+            this.openglID = GLFW.glfwCreateWindow(width, height, title, NULL, share);
+            if(openglID > NULL) {
+                loadDefaultCallbacks();
+            }
+        });
         if(openglID <= NULL) {
             this.created = false;
             ErrorHandler.handle(Errors.WINDOW_GENERATION_FAILED);
             return;
         }
 
-        loadDefaultCallbacks();
         loadDefaultRenderers();
 
         GLFW.glfwMakeContextCurrent(openglID);
@@ -413,6 +507,7 @@ public abstract class UIWindow implements ResizeAble {
             return;
         }
         this.context = new Context(openglID, nvgID, capabilities);
+        this.scratch = new NanoVGScratch();
 
         logger.debug("Crating context for " + getIdentifier());
         printGraphicCardInformation();
@@ -441,6 +536,8 @@ public abstract class UIWindow implements ResizeAble {
      * Function to add renderer to the current window. Choose a render template, {@link Renderer} is an
      * interface and can't be used by itself. Our recommended renderer class is {@link AbstractRenderer} which
      * contains more useful functions.
+     * The renderers ar executed from {@link RenderPriority#HIGHEST} to {@link RenderPriority#LOWEST}, renderers with
+     * the same priority in the order they were added. The renderer is inserted at his position, so the list is never sorted.
      * The function will return if the given renderer already exist.
      * @param renderer the renderer to add.
      * @see Renderer
@@ -452,7 +549,8 @@ public abstract class UIWindow implements ResizeAble {
             return;
         }
 
-        renderers.add(renderer);
+        renderer.setNeededPatch(false);
+        renderers.add(insertionPoint(renderer.getPriority()), renderer);
         logger.debug("Added new renderer " + renderer.getName() + ", to window " + getIdentifier());
     }
 
@@ -552,12 +650,52 @@ public abstract class UIWindow implements ResizeAble {
     }
 
     /**
-     * @return {@link List} - all known renderers for this window.
+     * @return {@link List} - all known renderers for this window in execution order.
      */
     public List<Renderer> getRenderers() {
         return renderers;
     }
 
+    /**
+     * Function moves the renderers which priority was changed to their new position.
+     * Is called by the window loop before a frame is drawn, if no priority was changed nothing will be moved.
+     * @see Renderer#neededPatch()
+     */
+    public void validateRenderers() {
+        for(int i = 0; i < renderers.size(); i++) {
+            Renderer renderer = renderers.get(i);
+            if(!renderer.neededPatch())
+                continue;
+
+            renderer.setNeededPatch(false);
+            renderers.remove(i);
+            int index = insertionPoint(renderer.getPriority());
+            renderers.add(index, renderer);
+            if(index > i) {
+                i--;
+            }
+        }
+    }
+
+    /**
+     * Private function to find the position behind all renderers with the same or a higher priority.
+     * @param priority the priority of the inserted renderer.
+     * @return int - the index to insert.
+     */
+    private int insertionPoint(RenderPriority priority) {
+        int low = 0;
+        int high = renderers.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(renderers.get(middle).getPriority().getRate() >= priority.getRate()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /* ########################################################################
      *
      *                               Components
@@ -577,6 +715,7 @@ public abstract class UIWindow implements ResizeAble {
         }
 
         components.add(component);
+        componentTree.attach(component);
         logger.debug("Added new component " + component.getLocalizedName());
     }
 
@@ -604,7 +743,9 @@ public abstract class UIWindow implements ResizeAble {
             return;
         }
 
-        components.remove(getComponent(ID));
+        Component component = getComponent(ID);
+        components.remove(component);
+        componentTree.detach(component);
         logger.debug("Removed component " + ID);
     }
 
@@ -614,6 +755,9 @@ public abstract class UIWindow implements ResizeAble {
      * components anymore.
      */
     public void removeAllComponents() {
+        for(Component component : components) {
+            componentTree.detach(component);
+        }
         components.clear();
     }
 
@@ -675,6 +819,231 @@ public abstract class UIWindow implements ResizeAble {
         return components;
     }
 
+    /**
+     * @return {@link ComponentTree} - the retained render tree which contains all attached components.
+     */
+    public ComponentTree getComponentTree() {
+        return componentTree;
+    }
+
+    /**
+     * @return {@link PointerDispatcher} - the dispatcher which calls the pointer events of the components in this window.
+     */
+    public PointerDispatcher getPointerDispatcher() {
+        return pointerDispatcher;
+    }
+
+    /**
+     * Function sets the region which is currently redrawn. Is used by partial redraws, null means the
+     * complete window is drawn.
+     * @param renderClip the current damaged region.
+     */
+    protected void setRenderClip(DamageTracker.Region renderClip) {
+        this.renderClip = renderClip;
+    }
+
+    /**
+     * @return {@link DamageTracker.Region} - the region which is currently redrawn, null if the complete window is drawn.
+     */
+    public DamageTracker.Region getRenderClip() {
+        return renderClip;
+    }
+
+    /* ########################################################################
+     *
+     *                             Render Requests
+     *
+     * ######################################################################## */
+
+    /**
+     * Function requests a new frame for this window. In {@link LoopMode#ON_DEMAND} the
+     * sleeping window will be woken up by {@link GLFW#glfwPostEmptyEvent()} or by his {@link EventQueue}. This function is
+     * thread safe and called automatically by input callbacks and component changes.
+     */
+    public void requestRender() {
+        if(renderRequested)
+            return;
+
+        renderRequested = true;
+        if(created && OpenUI.getOptions().getLoopMode() == LoopMode.ON_DEMAND) {
+            if(EventPump.isEnabled()) {
+                events.wake();
+            } else {
+                GLFW.glfwPostEmptyEvent();
+            }
+        }
+    }
+
+    /**
+     * Function queues the task for the window thread. The queued tasks ar executed one time per frame as batch,
+     * before the components ar laid out and drawn. Use this to change components from other threads.
+     * Tasks which ar queued after the window was closed ar executed by the calling thread.
+     * @param task the task to execute.
+     */
+    public void runLater(@NotNull Runnable task) {
+        tasks.offer(task);
+        pendingTasks.incrementAndGet();
+        if(closed) {
+            runTasks();
+            return;
+        }
+        requestRender();
+    }
+
+    /**
+     * Function queues the task like {@link #runLater(Runnable)} and returned his result as future.
+     * @param task the task to execute.
+     * @return {@link CompletableFuture} - the future which is completed by the window thread.
+     * @param <T> the type of the result.
+     */
+    public <T> CompletableFuture<T> submit(@NotNull Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        runLater(() -> {
+            if(future.isCancelled())
+                return;
+            try {
+                future.complete(task.call());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Function executes the task by the window thread and waits until it is done.
+     * If this function is called by the window thread, the task is executed immediately.
+     * @param task the task to execute.
+     * @throws InterruptedException if the calling thread was interrupted while waiting.
+     * @throws ExecutionException if the task has thrown an exception.
+     */
+    public void invokeAndWait(@NotNull Runnable task) throws InterruptedException, ExecutionException {
+        if(Thread.currentThread() == thread) {
+            task.run();
+            return;
+        }
+        submit(() -> {
+            task.run();
+            return null;
+        }).get();
+    }
+
+    /**
+     * Function executes the queued tasks, is called by the window loop one time per frame.
+     * Tasks which ar queued by the executed tasks ar executed by the next frame.
+     */
+    protected void runTasks() {
+        int count = pendingTasks.get();
+        for(int i = 0; i < count; i++) {
+            Runnable task = tasks.poll();
+            if(task == null)
+                break;
+
+            pendingTasks.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception exception) {
+                logger.error("Task of window " + identifier + " failed: " + exception);
+            }
+        }
+    }
+
+    /**
+     * @return boolean - true if tasks ar queued for the next frame.
+     */
+    public boolean hasTasks() {
+        return pendingTasks.get() > 0;
+    }
+
+    /**
+     * @return {@link Boolean} - true if a frame was requested and not drawn yet.
+     */
+    public boolean isRenderRequested() {
+        return renderRequested;
+    }
+
+    /**
+     * Function resets the render request, is called by the window loop before a frame is drawn.
+     */
+    protected void consumeRenderRequest() {
+        renderRequested = false;
+    }
+
+    /**
+     * Function marks the window as animating. An animating window draws all frames in
+     * {@link LoopMode#ON_DEMAND} as well, until the animation is set to false.
+     * @param animating the new animation state.
+     */
+    public void setAnimating(boolean animating) {
+        this.animating = animating;
+        if(animating) {
+            requestRender();
+        }
+    }
+
+    /**
+     * @return {@link Boolean} - true if the window is animating.
+     */
+    public boolean isAnimating() {
+        return animating;
+    }
+
+    /**
+     * Function increases the frame counter, is called by the window loop before a frame is drawn.
+     */
+    protected void nextFrame() {
+        frame++;
+    }
+
+    /**
+     * Function publishes the input of this window as new {@link Mouse.State} and {@link Keyboard.State}.
+     * The events forwarded by the {@link EventPump}, collapsed cursor moves and scroll offsets ar delivered before.
+     * The input which was recorded by the callbacks is written to the {@link Mouse} and {@link Keyboard} and dispatched
+     * to the components afterwards, so they and the {@link ComponentTree} ar only used by the thread of this window,
+     * even if another thread polls the events.
+     * Is called by the window loop after the events were polled, before {@link #getMouse()} and {@link #getKeyboard()} ar used.
+     */
+    protected void publishInput() {
+        events.drain();
+        if(mousePositionCallback != null) {
+            mousePositionCallback.flush();
+        }
+        if(scrollCallback != null) {
+            scrollCallback.flush();
+        }
+        inputEvents.drain();
+        mouse.publish();
+        keyboard.publish();
+    }
+
+    /**
+     * @return {@link Mouse} - the mouse of this window, which is only written by the callbacks of this window.
+     */
+    public Mouse getMouse() {
+        return mouse;
+    }
+
+    /**
+     * @return {@link Keyboard} - the keyboard of this window, which is only written by the callbacks of this window.
+     */
+    public Keyboard getKeyboard() {
+        return keyboard;
+    }
+
+    /**
+     * @return {@link EventQueue} - the events of this window which were forwarded by the {@link EventPump}.
+     */
+    EventQueue getEventQueue() {
+        return events;
+    }
+
+    /**
+     * @return long - the count of drawn frames, renderers use this to reset per frame state.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
     /* ########################################################################
      *
      *                          GLFW Getter / Setter
@@ -685,7 +1054,8 @@ public abstract class UIWindow implements ResizeAble {
      * Function restores the window to default state.
      */
     public void restore() {
-        GLFW.glfwRestoreWindow(getOpenglID());
+        long ID = getOpenglID();
+        EventPump.execute(() -> GLFW.glfwRestoreWindow(ID));
     }
 
     /**
@@ -707,7 +1077,8 @@ public abstract class UIWindow implements ResizeAble {
      */
     public void show() {
         if(!isVisible()) {
-            GLFW.glfwShowWindow(getOpenglID());
+            long ID = getOpenglID();
+            EventPump.execute(() -> GLFW.glfwShowWindow(ID));
         }
     }
 
@@ -716,7 +1087,8 @@ public abstract class UIWindow implements ResizeAble {
      */
     public void hide() {
         if(isVisible()) {
-            GLFW.glfwHideWindow(getOpenglID());
+            long ID = getOpenglID();
+            EventPump.execute(() -> GLFW.glfwHideWindow(ID));
         }
     }
 
@@ -732,7 +1104,8 @@ public abstract class UIWindow implements ResizeAble {
      */
     public void setMaximized(boolean maximized) {
         if(maximized) {
-            GLFW.glfwMaximizeWindow(getOpenglID());
+            long ID = getOpenglID();
+            EventPump.execute(() -> GLFW.glfwMaximizeWindow(ID));
             return;
         }
         this.restore();
@@ -750,7 +1123,8 @@ public abstract class UIWindow implements ResizeAble {
      */
     public void setIconified(boolean iconified) {
         if(iconified) {
-            GLFW.glfwIconifyWindow(getOpenglID());
+            long ID = getOpenglID();
+            EventPump.execute(() -> GLFW.glfwIconifyWindow(ID));
             return;
         }
         this.restore();
@@ -768,7 +1142,8 @@ public abstract class UIWindow implements ResizeAble {
      */
     public void setFocused(boolean focused) {
         if(focused) {
-            GLFW.glfwFocusWindow(getOpenglID());
+            long ID = getOpenglID();
+            EventPump.execute(() -> GLFW.glfwFocusWindow(ID));
             return;
         }
         this.restore();
@@ -785,7 +1160,8 @@ public abstract class UIWindow implements ResizeAble {
      * @param alwaysOnTop true if the window need always on top like popups, dialogs for important news or viruses :D.
      */
     public void setAlwaysOnTop(boolean alwaysOnTop) {
-        GLFW.glfwSetWindowAttrib(getOpenglID(), GLFW.GLFW_FLOATING, alwaysOnTop ? GLFW.GLFW_TRUE : GLFW.GLFW_FALSE);
+        long ID = getOpenglID();
+        EventPump.execute(() -> GLFW.glfwSetWindowAttrib(ID, GLFW.GLFW_FLOATING, alwaysOnTop ? GLFW.GLFW_TRUE : GLFW.GLFW_FALSE));
     }
 
     /**
@@ -800,7 +1176,8 @@ public abstract class UIWindow implements ResizeAble {
      */
     @Override
     public void setResizeable(boolean resizeable) {
-        GLFW.glfwSetWindowAttrib(getOpenglID(), GLFW.GLFW_RESIZABLE, resizeable ? GLFW.GLFW_TRUE : GLFW.GLFW_FALSE);
+        long ID = getOpenglID();
+        EventPump.execute(() -> GLFW.glfwSetWindowAttrib(ID, GLFW.GLFW_RESIZABLE, resizeable ? GLFW.GLFW_TRUE : GLFW.GLFW_FALSE));
     }
 
     /**
@@ -1123,69 +1500,91 @@ public abstract class UIWindow implements ResizeAble {
      */
     private void loadDefaultCallbacks() {
         sizeCallback = new WindowSizeCallback();
-        sizeCallback.add(GLFW.glfwSetWindowSizeCallback(openglID, sizeCallback));
+        sizeCallback.add(GLFW.glfwSetWindowSizeCallback(openglID, events.forwardSize(sizeCallback)));
         sizeCallback.add(this::sizeCallback);
+        sizeCallback.add((window, width, height) -> requestRender());
 
         positionCallback = new WindowPositionCallback();
-        positionCallback.add(GLFW.glfwSetWindowPosCallback(openglID, positionCallback));
+        positionCallback.add(GLFW.glfwSetWindowPosCallback(openglID, events.forwardPosition(positionCallback)));
         positionCallback.add(this::positionCallback);
 
         closeCallback = new WindowCloseCallback();
-        closeCallback.add(GLFW.glfwSetWindowCloseCallback(openglID, closeCallback));
+        closeCallback.add(GLFW.glfwSetWindowCloseCallback(openglID, events.forwardClose(closeCallback)));
         closeCallback.add(this::closeCallback);
 
         refreshCallback = new WindowRefreshCallback();
-        refreshCallback.add(GLFW.glfwSetWindowRefreshCallback(openglID, refreshCallback));
+        refreshCallback.add(GLFW.glfwSetWindowRefreshCallback(openglID, events.forwardRefresh(refreshCallback)));
         refreshCallback.add(this::refreshCallback);
+        refreshCallback.add(window -> requestRender());
 
         focusCallback = new WindowFocusCallback();
-        focusCallback.add(GLFW.glfwSetWindowFocusCallback(openglID, focusCallback));
+        focusCallback.add(GLFW.glfwSetWindowFocusCallback(openglID, events.forwardFocus(focusCallback)));
         focusCallback.add(this::focusCallback);
+        focusCallback.add((window, focused) -> requestRender());
 
         iconifyCallback = new WindowIconifyCallback();
-        iconifyCallback.add(GLFW.glfwSetWindowIconifyCallback(openglID, iconifyCallback));
+        iconifyCallback.add(GLFW.glfwSetWindowIconifyCallback(openglID, events.forwardIconify(iconifyCallback)));
         iconifyCallback.add(this::iconifyCallback);
+        iconifyCallback.add((window, iconified) -> requestRender());
 
         maximizedCallback = new WindowMaximizedCallback();
-        maximizedCallback.add(GLFW.glfwSetWindowMaximizeCallback(openglID, maximizedCallback));
+        maximizedCallback.add(GLFW.glfwSetWindowMaximizeCallback(openglID, events.forwardMaximize(maximizedCallback)));
         maximizedCallback.add(this::maximizedCallback);
+        maximizedCallback.add((window, maximized) -> requestRender());
 
         frameBufferSizeCallback = new FrameBufferSizeCallback();
-        frameBufferSizeCallback.add(GLFW.glfwSetFramebufferSizeCallback(openglID, frameBufferSizeCallback));
+        frameBufferSizeCallback.add(GLFW.glfwSetFramebufferSizeCallback(openglID, events.forwardFramebufferSize(frameBufferSizeCallback)));
         frameBufferSizeCallback.add(this::frameBufferSizeCallback);
+        frameBufferSizeCallback.add((window, width, height) -> requestRender());
 
         charCallback = new CharCallback();
-        charCallback.add(GLFW.glfwSetCharCallback(openglID, charCallback));
+        charCallback.add(GLFW.glfwSetCharCallback(openglID, events.forwardChar(charCallback)));
         charCallback.add(this::charCallback);
+        charCallback.add((window, codepoint) -> requestRender());
 
         charModsCallback = new CharModsCallback();
-        charModsCallback.add(GLFW.glfwSetCharModsCallback(openglID, charModsCallback));
+        charModsCallback.add(GLFW.glfwSetCharModsCallback(openglID, events.forwardCharMods(charModsCallback)));
         charModsCallback.add(this::charModsCallback);
 
         keyCallback = new KeyCallback();
-        keyCallback.add(GLFW.glfwSetKeyCallback(openglID, keyCallback));
+        keyCallback.add(GLFW.glfwSetKeyCallback(openglID, events.forwardKey(keyCallback)));
         keyCallback.add(this::keyCallback);
-        keyCallback.add(Keyboard::callback);
+        keyCallback.add((window, key, scancode, action, mods) -> requestRender());
+        keyCallback.add((window, key, scancode, action, mods) -> inputEvents.post(() -> keyboard.callback(window, key, scancode, action, mods)));
 
         mousePositionCallback = new MousePositionCallback();
-        mousePositionCallback.add(GLFW.glfwSetCursorPosCallback(openglID, mousePositionCallback));
+        mousePositionCallback.add(GLFW.glfwSetCursorPosCallback(openglID, events.forwardCursorPos(mousePositionCallback)));
+        mousePositionCallback.setCoalescing(OpenUI.getOptions().isCoalesceInput());
         mousePositionCallback.add(this::mousePositionCallback);
-        mousePositionCallback.add(Mouse::positionCallback);
+        mousePositionCallback.add((window, positionX, positionY) -> requestRender());
+        mousePositionCallback.add((window, positionX, positionY) -> inputEvents.post(() -> mouse.positionCallback(window, positionX, positionY)));
+        mousePositionCallback.add((window, positionX, positionY) -> inputEvents.post(() -> pointerDispatcher.move((float) positionX, (float) positionY)));
 
         mouseButtonCallback = new MouseButtonCallback();
-        mouseButtonCallback.add(GLFW.glfwSetMouseButtonCallback(openglID, mouseButtonCallback));
+        mouseButtonCallback.add(GLFW.glfwSetMouseButtonCallback(openglID, events.forwardMouseButton(mouseButtonCallback)));
+        mouseButtonCallback.setPosition(mousePositionCallback);
         mouseButtonCallback.add(this::mouseButtonCallback);
-        mouseButtonCallback.add(Mouse::callback);
+        mouseButtonCallback.add((window, button, action, mods) -> requestRender());
+        mouseButtonCallback.add((window, button, action, mods) -> inputEvents.post(() -> mouse.callback(window, button, action, mods)));
+        mouseButtonCallback.add((window, button, action, mods) -> inputEvents.post(() -> pointerDispatcher.button(button, action, mods)));
 
         mouseEnteredCallback = new MouseEnteredCallback();
-        mouseEnteredCallback.add(GLFW.glfwSetCursorEnterCallback(openglID, mouseEnteredCallback));
+        mouseEnteredCallback.add(GLFW.glfwSetCursorEnterCallback(openglID, events.forwardCursorEnter(mouseEnteredCallback)));
         mouseEnteredCallback.add(this::mouseEnteredCallback);
-        mouseEnteredCallback.add(Mouse::enteredCallback);
+        mouseEnteredCallback.add((window, entered) -> requestRender());
+        mouseEnteredCallback.add((window, entered) -> inputEvents.post(() -> mouse.enteredCallback(window, entered)));
+        mouseEnteredCallback.add((window, entered) -> {
+            if(!entered) {
+                inputEvents.post(pointerDispatcher::leave);
+            }
+        });
 
         scrollCallback = new ScrollCallback();
-        scrollCallback.add(GLFW.glfwSetScrollCallback(openglID, scrollCallback));
+        scrollCallback.add(GLFW.glfwSetScrollCallback(openglID, events.forwardScroll(scrollCallback)));
+        scrollCallback.setCoalescing(OpenUI.getOptions().isCoalesceInput());
         scrollCallback.add(this::scrollCallback);
-        scrollCallback.add(Mouse::scrollCallback);
+        scrollCallback.add((window, xOffset, yOffset) -> requestRender());
+        scrollCallback.add((window, xOffset, yOffset) -> inputEvents.post(() -> mouse.scrollCallback(window, xOffset, yOffset)));
     }
 
     /**
@@ -1238,9 +1637,14 @@ public abstract class UIWindow implements ResizeAble {
 
     /**
      * Private function to let wait function for {@link #build()} state.
-     * Needed for function which change {@link GLFW} thinks.
+     * Needed for function which change {@link GLFW} thinks. The main thread processes the
+     * {@link EventPump} while waiting, because the window is created by it.
      */
     private void _wait() {
+        if(EventPump.isEnabled() && EventPump.isPumpThread()) {
+            EventPump.await(latch);
+            return;
+        }
         try {
             latch.await();
         } catch (InterruptedException ignored) {}
@@ -1,6 +1,5 @@
 package net.exsource.open.ui.component;
 
-import net.exsource.open.annotation.component.SetComponentWindow;
 import net.exsource.open.ui.UIWindow;
 import net.exsource.open.ui.component.shapes.Rectangle;
 import net.exsource.open.ui.style.Style;
@@ -8,7 +7,12 @@ import net.exsource.openlogger.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @since 1.0.0
@@ -18,13 +22,7 @@ public abstract class Component {
 
     private static final Logger logger = Logger.getLogger();
 
-    private static final List<String> idList;
-    private static final List<Component> components;
-
-    static {
-        idList = new ArrayList<>();
-        components = new ArrayList<>();
-    }
+    private static final ComponentRegistry registry = new ComponentRegistry();
 
     private final String localizedName;
 
@@ -34,13 +32,34 @@ public abstract class Component {
     private int positionX;
     private int positionY;
 
-    private final List<Component> children;
+    private final Map<String, Component> children;
+    private List<Component> childView;
     private Component parent;
 
-    @SetComponentWindow
     private UIWindow window = null;
 
     private Style style;
+    private final Runnable styleListener;
+
+    private boolean dirty;
+    private int zIndex;
+    private boolean outOfFlow;
+
+    private boolean layoutDirty;
+    private int measuredWidth = -1;
+    private int measuredHeight = -1;
+
+    /**
+     * Draw order information which is managed by the {@link ComponentTree}.
+     */
+    int order;
+    int stackIndex;
+
+    private boolean drawn;
+    private int drawnX;
+    private int drawnY;
+    private int drawnWidth;
+    private int drawnHeight;
 
 
     /* ########################################################################
@@ -57,13 +76,13 @@ public abstract class Component {
      * @param localizedName the wish identifier name.
      */
     public Component(String localizedName) {
-        this.localizedName = id_check(localizedName);
-        this.children = new ArrayList<>();
+        this.localizedName = registry.register(localizedName == null ? getClass().getSimpleName() : localizedName, this);
+        this.children = new LinkedHashMap<>();
         this.parent = null;
-        this.style = Style.builder().build();
+        this.styleListener = this::styleChanged;
+        this.setStyle(Style.builder().build());
         this.setSize(0);
         this.setPosition(0);
-        components.add(this);
     }
 
     /* ########################################################################
@@ -91,7 +110,7 @@ public abstract class Component {
      * Note that this function is protected because it will come to
      * errors if you change this by your own. The {@link UIWindow} is set by
      * the system itself. Note that this function only exist if you need manual change.
-     * The system will set the window by {@link SetComponentWindow} annotation.
+     * The system will set the window by the {@link ComponentTree} of the window.
      * @param window the holder window for this {@link Component}.
      * @see UIWindow
      */
@@ -139,7 +158,11 @@ public abstract class Component {
         if(width < 0) {
             width = 0;
         }
+        if(this.width == width)
+            return;
         this.width = width;
+        invalidate();
+        requestLayout();
     }
 
     /**
@@ -157,7 +180,11 @@ public abstract class Component {
         if(height < 0) {
             height = 0;
         }
+        if(this.height == height)
+            return;
         this.height = height;
+        invalidate();
+        requestLayout();
     }
 
     /**
@@ -189,7 +216,11 @@ public abstract class Component {
      * @param positionX set new x position.
      */
     public void setPositionX(int positionX) {
+        if(this.positionX == positionX)
+            return;
         this.positionX = positionX;
+        invalidate();
+        requestParentLayout();
     }
 
     /**
@@ -203,7 +234,11 @@ public abstract class Component {
      * @param positionY set new y position.
      */
     public void setPositionY(int positionY) {
+        if(this.positionY == positionY)
+            return;
         this.positionY = positionY;
+        invalidate();
+        requestParentLayout();
     }
 
     /**
@@ -218,7 +253,16 @@ public abstract class Component {
      * @param style new coded style.
      */
     public void setStyle(Style style) {
+        if(this.style == style)
+            return;
+        if(this.style != null) {
+            this.style.removeListener(styleListener);
+        }
         this.style = style;
+        if(style != null) {
+            style.addListener(styleListener);
+        }
+        styleChanged();
     }
 
     /**
@@ -228,6 +272,178 @@ public abstract class Component {
         return style;
     }
 
+    /**
+     * Private function which is called if the {@link Style} was changed or replaced.
+     * If the z-index was changed, the component is moved in the drawing order of the {@link ComponentTree}.
+     */
+    private void styleChanged() {
+        int index = style == null ? 0 : style.getZIndex();
+        if(index != zIndex) {
+            zIndex = index;
+            UIWindow holder = window;
+            if(holder != null) {
+                holder.getComponentTree().markReordered(this);
+            }
+        }
+        String position = style == null ? null : style.getPosition();
+        outOfFlow = "absolute".equalsIgnoreCase(position) || "fixed".equalsIgnoreCase(position);
+        invalidate();
+        requestLayout();
+    }
+
+    /**
+     * @return boolean - true if the style position is absolute or fixed, such components ar not placed by layouts.
+     */
+    public boolean isOutOfFlow() {
+        return outOfFlow;
+    }
+
+    /**
+     * @return int - the z-index of the current style, 0 if no style is set.
+     */
+    public int getZIndex() {
+        return zIndex;
+    }
+
+    /**
+     * Function marks this {@link Component} as changed. If the component is attached to a window
+     * it will be registered as dirty at the {@link ComponentTree} of the window. This is called by all
+     * geometry and style setters, call it by your own if you changed something which can't be detected.
+     */
+    public void invalidate() {
+        dirty = true;
+        UIWindow holder = window;
+        if(holder != null) {
+            holder.getComponentTree().markDirty(this);
+        }
+    }
+
+    /**
+     * Function marks the layout of this {@link Component} and all of his parents as outdated. The marked parents ar
+     * measured and arranged again by the next {@link ComponentTree#update()}, all other components ar skipped.
+     * This is called by the size and style setters and if a child was added or removed.
+     */
+    public void requestLayout() {
+        Component owner = parent;
+        if(owner != null) {
+            owner.childLayoutRequested(this);
+        }
+
+        Component component = this;
+        Component root = this;
+        while (component != null && !component.layoutDirty) {
+            component.layoutDirty = true;
+            root = component;
+            component = component.parent;
+        }
+        if(component != null)
+            return;
+
+        UIWindow holder = root.window;
+        if(holder != null) {
+            holder.getComponentTree().markLayout(root);
+        }
+    }
+
+    /**
+     * Function marks the layout of the parent as outdated, is called if the position of this component was changed.
+     */
+    private void requestParentLayout() {
+        Component holder = parent;
+        if(holder != null) {
+            holder.childLayoutRequested(this);
+            holder.requestLayout();
+        }
+    }
+
+    /**
+     * Function is called if a child of this component changed his size, position or style.
+     * Layouts can override this to lay out only the changed part of their children.
+     * @param child the changed child.
+     */
+    protected void childLayoutRequested(@NotNull Component child) { }
+
+    /**
+     * @return boolean - true if this component or one of his children need a new layout.
+     */
+    public boolean isLayoutDirty() {
+        return layoutDirty;
+    }
+
+    /**
+     * Function is used by the {@link ComponentTree} to reset the layout state after the arrange phase.
+     */
+    void clearLayout() {
+        layoutDirty = false;
+    }
+
+    /**
+     * Function stores the size which was computed by the measure phase of a layout.
+     * @param measuredWidth the measured width.
+     * @param measuredHeight the measured height.
+     */
+    protected void setMeasuredSize(int measuredWidth, int measuredHeight) {
+        this.measuredWidth = measuredWidth;
+        this.measuredHeight = measuredHeight;
+    }
+
+    /**
+     * @return int - the width of the last measure phase, the width if the component was never measured.
+     */
+    public int getMeasuredWidth() {
+        return measuredWidth < 0 ? width : measuredWidth;
+    }
+
+    /**
+     * @return int - the height of the last measure phase, the height if the component was never measured.
+     */
+    public int getMeasuredHeight() {
+        return measuredHeight < 0 ? height : measuredHeight;
+    }
+
+    /**
+     * @return boolean - true if this component was changed since the last drawn frame.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Function is used by the {@link ComponentTree} to reset the dirty state after a frame.
+     * @param dirty the new dirty state.
+     */
+    void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    /**
+     * Function is used by the {@link ComponentTree} to store the bounds of the last drawn frame.
+     * This bounds ar needed to damage the old area after moving or resizing.
+     */
+    void markDrawn() {
+        drawn = true;
+        drawnX = positionX;
+        drawnY = positionY;
+        drawnWidth = width;
+        drawnHeight = height;
+    }
+
+    /**
+     * Function adds the last drawn bounds and the current bounds to the given {@link DamageTracker}.
+     * @param damage the tracker of the window.
+     * @param current false if only the last drawn bounds ar damaged, like after removing.
+     */
+    void damage(@NotNull DamageTracker damage, boolean current) {
+        if(drawn) {
+            damage.add(drawnX, drawnY, drawnWidth, drawnHeight);
+        }
+        if(current) {
+            damage.add(positionX, positionY, width, height);
+        } else {
+            drawn = false;
+        }
+    }
+
     /* ########################################################################
      *
      *                               Children
@@ -242,14 +458,46 @@ public abstract class Component {
      * @param child new children which will add to this {@link Component}.
      */
     public void addChild(@NotNull Component child) {
-        if(hasChild(child)) {
-            logger.warn("This component " + child.getLocalizedName() + ", already is an child of this component!");
+        if(!adopt(child))
             return;
+
+        childView = null;
+        requestLayout();
+        if(window != null) {
+            window.getComponentTree().attach(child);
         }
+    }
 
-        logger.debug("Added new child " + child.getLocalizedName() + ", to " + getLocalizedName());
-        child.setParent(this);
-        children.add(child);
+    /**
+     * Function adds all given {@link Component}'s as children. The children ar checked like by {@link #addChild(Component)},
+     * but the window is notified only one time for the complete batch.
+     * @param children the new children in the wished order.
+     */
+    public void addChildren(@NotNull Collection<? extends Component> children) {
+        List<Component> added = new ArrayList<>(children.size());
+        for(Component child : children) {
+            if(adopt(child)) {
+                added.add(child);
+            }
+        }
+        if(added.isEmpty())
+            return;
+
+        childView = null;
+        requestLayout();
+        logger.debug("Added " + added.size() + " children to " + getLocalizedName());
+        if(window != null) {
+            window.getComponentTree().attachAll(added);
+        }
+    }
+
+    /**
+     * Function adds all given {@link Component}'s as children.
+     * @param children the new children in the wished order.
+     * @see #addChildren(Collection)
+     */
+    public void addChildren(@NotNull Component... children) {
+        addChildren(Arrays.asList(children));
     }
 
     /**
@@ -267,20 +515,49 @@ public abstract class Component {
      * @param localizedName the identifier from the to remove {@link Component}.
      */
     public void removeChild(@NotNull String localizedName) {
-        if(!hasChild(localizedName)) {
+        Component child = children.remove(localizedName);
+        if(child == null) {
             logger.warn("This component " + localizedName + ", is not a child of this component!");
             return;
         }
 
-        logger.debug("Removed child " + localizedName + " from " + getLocalizedName());
-        children.remove(getChild(localizedName));
+        childView = null;
+        child.setParent(null);
+        requestLayout();
+        if(window != null) {
+            window.getComponentTree().detach(child);
+        }
+    }
+
+    /**
+     * Function removes all given {@link Component}'s which ar children of this component.
+     * The window is notified only one time for the complete batch.
+     * @param children the children to remove.
+     */
+    public void removeChildren(@NotNull Collection<? extends Component> children) {
+        List<Component> removed = new ArrayList<>(children.size());
+        for(Component child : children) {
+            if(this.children.remove(child.getLocalizedName(), child)) {
+                child.setParent(null);
+                removed.add(child);
+            }
+        }
+        if(removed.isEmpty())
+            return;
+
+        childView = null;
+        requestLayout();
+        logger.debug("Removed " + removed.size() + " children from " + getLocalizedName());
+        if(window != null) {
+            window.getComponentTree().detachAll(removed);
+        }
     }
 
     /**
      * Function removes all existing {@link Component}'s from the {@link #getChildren()} list.
      */
     public void removeAllChildren() {
-        children.clear();
+        removeChildren(getChildren());
     }
 
     /**
@@ -339,21 +616,20 @@ public abstract class Component {
      * @return Component - the founded object, can be null if no element was found in {@link #getChildren()}.
      */
     public Component getChild(@NotNull String localizedName) {
-        Component component = null;
-        for(Component entry : children) {
-            if(entry.getLocalizedName().equals(localizedName)) {
-                component = entry;
-                break;
-            }
-        }
-        return component;
+        return children.get(localizedName);
     }
 
     /**
-     * @return List<Component> - list of components which ar children of this component.
+     * @return List<Component> - list of components which ar children of this component in insertion order.
+     * The list can't be modified, it is created again after the children were changed.
      */
     public List<Component> getChildren() {
-        return children;
+        List<Component> view = childView;
+        if(view == null) {
+            view = Collections.unmodifiableList(new ArrayList<>(children.values()));
+            childView = view;
+        }
+        return view;
     }
 
     /* ########################################################################
@@ -363,27 +639,42 @@ public abstract class Component {
      * ######################################################################## */
 
     /**
-     * Private function to check if a localizedName already in use.
-     * If the given localizedName in use, this function will create an instance of
-     * its name as localizedName-0, 1, 2... etc.
-     * @param id the localizedName to check.
-     * @return String - the generated or untouched localizedName.
+     * Function disposes this {@link Component} and all of his children. The component is removed from his
+     * parent or window and from the global registry, so his name can be used again.
+     * Don't use the component after this call.
      */
-    private String id_check(String id) {
-        if(id == null) {
-            id = getClass().getSimpleName();
+    public void dispose() {
+        for(Component child : getChildren()) {
+            child.dispose();
         }
-        if(idList.contains(id)) {
-            int index = 0;
-            for(String entry : idList) {
-                if(entry.startsWith(id) || entry.startsWith(id + "-")) {
-                    index++;
-                }
-            }
-            id = id + "-" + index;
+        if(parent != null) {
+            parent.removeChild(this);
+        } else if(window != null) {
+            window.removeComponent(this);
+        }
+        if(style != null) {
+            style.removeListener(styleListener);
+        }
+        registry.unregister(this);
+    }
+
+    /**
+     * Private function to check and take over a new child, the child is removed from his old parent.
+     * @param child the new child.
+     * @return boolean - true if the child was added to the index.
+     */
+    private boolean adopt(Component child) {
+        if(child == this || children.containsKey(child.getLocalizedName())) {
+            logger.warn("This component " + child.getLocalizedName() + ", already is an child of this component!");
+            return false;
+        }
+
+        if(child.hasParent()) {
+            child.getParent().removeChild(child);
         }
-        idList.add(id);
-        return id;
+        child.setParent(this);
+        children.put(child.getLocalizedName(), child);
+        return true;
     }
 
     /**
@@ -417,20 +708,13 @@ public abstract class Component {
      * @return Component - the founded component, null if wasn't found.
      */
     public static Component getComponent(@NotNull String localizedName) {
-        Component component = null;
-        for(Component entry : components) {
-            if(entry.getLocalizedName().equals(localizedName)) {
-                component = entry;
-                break;
-            }
-        }
-        return component;
+        return registry.get(localizedName);
     }
 
     /**
-     * @return List<Component> - the global components list.
+     * @return List<Component> - a snapshot of all living components.
      */
     public static List<Component> getComponents() {
-        return components;
+        return registry.getComponents();
     }
 }
@@ -0,0 +1,135 @@
+package net.exsource.open.ui.component;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class holds all created {@link Component}'s by their localized name. The components ar held weakly,
+ * so a component which is not used anymore can be collected by the garbage collector and his name is free again.
+ * Unique names ar generated by a counter per requested name, like "rectangle", "rectangle-1", "rectangle-2",
+ * this means creating a component costs the same time, no matter how many components exist.
+ * The requested name itself counts as the first one, so the first duplicate gets the suffix "-1" and never "-0".
+ * @since 1.0.0
+ * @see Component
+ * @author Daniel Ramke
+ */
+public final class ComponentRegistry {
+
+    private final Map<String, Entry> entries;
+    private final Map<String, Integer> counters;
+    private final ReferenceQueue<Component> queue;
+
+    /**
+     * Constructor creates an empty registry.
+     */
+    public ComponentRegistry() {
+        this.entries = new ConcurrentHashMap<>();
+        this.counters = new ConcurrentHashMap<>();
+        this.queue = new ReferenceQueue<>();
+    }
+
+    /**
+     * Function registers the component by the requested name. If the name is already used,
+     * the name gets a suffix with the next free number of this name.
+     * @param name the requested name.
+     * @param component the component to register.
+     * @return {@link String} - the unique name of the component.
+     */
+    public synchronized String register(@NotNull String name, @NotNull Component component) {
+        purge();
+        String unique = name;
+        if(isUsed(unique)) {
+            int index = counters.getOrDefault(name, 0);
+            do {
+                index++;
+                unique = name + "-" + index;
+            } while (isUsed(unique));
+            counters.put(name, index);
+        }
+        entries.put(unique, new Entry(unique, component, queue));
+        return unique;
+    }
+
+    /**
+     * Function removes the component from the registry, the name can be used again.
+     * @param component the component to remove.
+     */
+    public void unregister(@NotNull Component component) {
+        Entry entry = entries.get(component.getLocalizedName());
+        if(entry != null && entry.get() == component) {
+            entries.remove(component.getLocalizedName(), entry);
+        }
+    }
+
+    /**
+     * Function returned the component by his localized name.
+     * @param name the localized name.
+     * @return {@link Component} - the founded component, null if it wasn't found or collected.
+     */
+    public Component get(@NotNull String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : entry.get();
+    }
+
+    /**
+     * @return List<Component> - a snapshot of all living components.
+     */
+    public List<Component> getComponents() {
+        List<Component> list = new ArrayList<>(entries.size());
+        for(Entry entry : entries.values()) {
+            Component component = entry.get();
+            if(component != null) {
+                list.add(component);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * @return int - the count of registered names, collected components ar removed by the next registration.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Private function to check if a name is held by a living component.
+     * @param name the name to check.
+     * @return boolean - true if the name is used.
+     */
+    private boolean isUsed(String name) {
+        Entry entry = entries.get(name);
+        return entry != null && entry.get() != null;
+    }
+
+    /**
+     * Private function to remove the entries of collected components.
+     */
+    private void purge() {
+        Object reference;
+        while ((reference = queue.poll()) != null) {
+            Entry entry = (Entry) reference;
+            entries.remove(entry.name, entry);
+        }
+    }
+
+    /**
+     * Private class which knows the name of his collected component.
+     */
+    private static final class Entry extends WeakReference<Component> {
+
+        private final String name;
+
+        private Entry(String name, Component component, ReferenceQueue<Component> queue) {
+            super(component, queue);
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package net.exsource.open.ui.component;
+
+import net.exsource.open.logic.renderer.UIRenderer;
+import net.exsource.open.ui.UIWindow;
+import net.exsource.open.ui.component.layout.Layout;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class holds the retained render tree of a {@link UIWindow}. The tree is flattened one time
+ * and only flattened again if a {@link Component} was added or removed. Geometry or style changes
+ * only mark the changed {@link Component} as dirty, this means a clean frame costs no walking over the tree.
+ * The tree is also the location which sets the {@link UIWindow} to the {@link Component}'s, so there is
+ * no need for reflection anymore.
+ * The nodes ar kept in drawing order, sorted by the stack index and the tree order. The stack index of a
+ * component is the stack index of his parent plus his own z-index, so children ar drawn above their parent
+ * as long as they have no negative z-index. If a z-index is changed, only the changed component and his
+ * children ar moved by binary insertion.
+ * Layouts ar only measured and arranged if a component below them requested a new layout,
+ * so a static tree costs no layout time.
+ * @since 1.0.0
+ * @see UIRenderer
+ * @see Component
+ * @see UIWindow
+ * @author Daniel Ramke
+ */
+public class ComponentTree {
+
+    /**
+     * Compares the drawing position, the stack index first and the tree order for equal stack indices.
+     */
+    private static final Comparator<Component> DRAW_ORDER = (first, second) -> {
+        int compare = Integer.compare(first.stackIndex, second.stackIndex);
+        return compare != 0 ? compare : Integer.compare(first.order, second.order);
+    };
+
+    private final UIWindow window;
+
+    private final List<Component> nodes;
+    private final List<Layout> layouts;
+    private final Set<Component> dirty;
+    private final Set<Component> reordered;
+    private final Set<Component> layoutRoots;
+    private final List<Component> frame;
+    private final DamageTracker damage;
+    private final SpatialIndex index;
+
+    private volatile boolean structureChanged;
+    private int sequence;
+
+    /**
+     * Constructor creates an empty tree for the given window.
+     * @param window the window which holds this tree.
+     */
+    public ComponentTree(@NotNull UIWindow window) {
+        this.window = window;
+        this.nodes = new ArrayList<>();
+        this.layouts = new ArrayList<>();
+        this.dirty = ConcurrentHashMap.newKeySet();
+        this.reordered = ConcurrentHashMap.newKeySet();
+        this.layoutRoots = ConcurrentHashMap.newKeySet();
+        this.frame = new ArrayList<>();
+        this.damage = new DamageTracker();
+        this.index = new SpatialIndex(DRAW_ORDER);
+        this.structureChanged = true;
+    }
+
+    /**
+     * Function attaches the given {@link Component} and all of his children to the window of this tree.
+     * The flattened node list will be patched by the next {@link #validate()} call.
+     * @param component the component which was added to the window or to an attached parent.
+     */
+    public void attach(@NotNull Component component) {
+        bind(component, window);
+        structureChanged = true;
+        window.requestRender();
+    }
+
+    /**
+     * Function attaches all given {@link Component}'s like {@link #attach(Component)}, the window is notified one time.
+     * @param components the components which were added in one batch.
+     */
+    public void attachAll(@NotNull Collection<? extends Component> components) {
+        for(Component component : components) {
+            bind(component, window);
+        }
+        structureChanged = true;
+        window.requestRender();
+    }
+
+    /**
+     * Function detaches all given {@link Component}'s like {@link #detach(Component)}, the window is notified one time.
+     * @param components the components which were removed in one batch.
+     */
+    public void detachAll(@NotNull Collection<? extends Component> components) {
+        for(Component component : components) {
+            if(component.getWindow() == window) {
+                bind(component, null);
+            }
+        }
+        structureChanged = true;
+        window.requestRender();
+    }
+
+    /**
+     * Function detaches the given {@link Component} and all of his children from the window of this tree.
+     * @param component the component which was removed from the window or from an attached parent.
+     */
+    public void detach(@NotNull Component component) {
+        if(component.getWindow() != window)
+            return;
+
+        bind(component, null);
+        structureChanged = true;
+        window.requestRender();
+    }
+
+    /**
+     * Function marks a {@link Component} as changed. Is called by the geometry and style setters.
+     * @param component the changed component.
+     */
+    public void markDirty(@NotNull Component component) {
+        if(dirty.add(component)) {
+            window.requestRender();
+        }
+    }
+
+    /**
+     * Function marks a {@link Component} which z-index was changed. The component is moved
+     * to his new drawing position by the next {@link #validate()} call.
+     * @param component the changed component.
+     */
+    public void markReordered(@NotNull Component component) {
+        reordered.add(component);
+        window.requestRender();
+    }
+
+    /**
+     * Function marks a root {@link Component} which requested a new layout, is called by {@link Component#requestLayout()}.
+     * @param component the root component which has an outdated layout.
+     */
+    public void markLayout(@NotNull Component component) {
+        layoutRoots.add(component);
+        window.requestRender();
+    }
+
+    /**
+     * Function prepares the tree for a new frame. It patches the node list by {@link #validate()},
+     * lays out the outdated {@link Layout}'s and converts the dirty components to damaged regions.
+     * The dirty components ar taken over by the frame, so components which ar invalidated while
+     * the frame is drawn stay dirty for the next frame.
+     */
+    public void update() {
+        validate();
+        for(Component root : layoutRoots) {
+            layoutRoots.remove(root);
+            if(root.getWindow() == window && root.getParent() == null) {
+                measure(root);
+                arrange(root);
+            }
+        }
+
+        for(Component component : dirty) {
+            dirty.remove(component);
+            frame.add(component);
+            if(component.getWindow() == window) {
+                index.update(component);
+            }
+        }
+        if(damage.isFull())
+            return;
+
+        for(Component component : frame) {
+            component.damage(damage, true);
+        }
+        damage.clamp(window.getWidth(), window.getHeight());
+    }
+
+    /**
+     * Function updates the flattened node list if the structure was changed since the last call.
+     * Components which z-index was changed ar moved to their new position.
+     * If nothing was changed this function returns immediately.
+     */
+    public void validate() {
+        if(structureChanged) {
+            structureChanged = false;
+            reordered.clear();
+            nodes.clear();
+            layouts.clear();
+            sequence = 0;
+            for(Component component : window.getComponents()) {
+                flatten(component, 0);
+            }
+            nodes.sort(DRAW_ORDER);
+            layoutRoots.addAll(window.getComponents());
+            index.clear();
+            for(Component component : nodes) {
+                index.update(component);
+            }
+            return;
+        }
+
+        if(reordered.isEmpty())
+            return;
+
+        for(Component component : reordered) {
+            reordered.remove(component);
+            if(component.getWindow() == window) {
+                Component parent = component.getParent();
+                restack(component, parent != null && parent.getWindow() == window ? parent.stackIndex : 0);
+            }
+        }
+    }
+
+    /**
+     * Function returned the top most component at the given point. Changes which were not drawn yet ar included.
+     * Must be called by the thread of the window, because the index is rebuilt by this call.
+     * @param x the x position in window coordinates.
+     * @param y the y position in window coordinates.
+     * @return {@link Component} - the founded component, null if there is no component.
+     */
+    public Component componentAt(float x, float y) {
+        syncIndex();
+        return index.componentAt(x, y);
+    }
+
+    /**
+     * Function returned all components which intersect the given rectangle.
+     * @param x the x position of the rectangle.
+     * @param y the y position of the rectangle.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @return List<Component> - the founded components in drawing order.
+     */
+    public List<Component> query(int x, int y, int width, int height) {
+        syncIndex();
+        return index.query(x, y, width, height);
+    }
+
+    /**
+     * @return boolean - true if a component was changed or the structure must be patched.
+     */
+    public boolean hasChanges() {
+        return structureChanged || !dirty.isEmpty() || !reordered.isEmpty() || !layoutRoots.isEmpty();
+    }
+
+    /**
+     * Function resets the dirty state of all changed components and the damaged regions.
+     * Is called after a frame was drawn.
+     */
+    public void clean() {
+        if(damage.isFull()) {
+            for(Component component : nodes) {
+                component.markDrawn();
+            }
+        }
+        for(Component component : frame) {
+            if(!dirty.contains(component)) {
+                component.setDirty(false);
+            }
+            if(component.getWindow() == window) {
+                component.markDrawn();
+            }
+        }
+        frame.clear();
+        damage.clear();
+    }
+
+    /**
+     * @return List<Component> - all attached components in drawing order, the last component is drawn on top.
+     */
+    public List<Component> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * @return List<Layout> - all attached layouts in drawing order.
+     */
+    public List<Layout> getLayouts() {
+        return Collections.unmodifiableList(layouts);
+    }
+
+    /**
+     * @return Set<Component> - the components which were changed since the last {@link #update()}.
+     */
+    public Set<Component> getDirty() {
+        return dirty;
+    }
+
+    /**
+     * @return DamageTracker - the damaged regions which need to be redrawn.
+     */
+    public DamageTracker getDamage() {
+        return damage;
+    }
+
+    /**
+     * @return SpatialIndex - the index of the component bounds, which is used for hit-testing.
+     */
+    public SpatialIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return UIWindow - the window which holds this tree.
+     */
+    public UIWindow getWindow() {
+        return window;
+    }
+
+    /**
+     * Private function to bring the {@link SpatialIndex} up to date before a query.
+     */
+    private void syncIndex() {
+        validate();
+        for(Component component : dirty) {
+            if(component.getWindow() == window) {
+                index.update(component);
+            }
+        }
+    }
+
+    /**
+     * Private function to run the measure phase, children ar measured before their parent.
+     * Components with a valid layout ar skipped with their children.
+     * @param component the current component.
+     */
+    private void measure(@NotNull Component component) {
+        if(!component.isLayoutDirty())
+            return;
+
+        for(Component child : component.getChildren()) {
+            measure(child);
+        }
+        if(component instanceof Layout layout) {
+            layout.measure();
+        }
+    }
+
+    /**
+     * Private function to run the arrange phase, parents ar arranged before their children.
+     * Children which ar resized by the parent request their own layout and ar arranged in the same pass.
+     * @param component the current component.
+     */
+    private void arrange(@NotNull Component component) {
+        if(!component.isLayoutDirty())
+            return;
+
+        if(component instanceof Layout layout) {
+            layout.arrange();
+        }
+        for(Component child : component.getChildren()) {
+            arrange(child);
+        }
+        component.clearLayout();
+    }
+
+    /**
+     * Private function to add a component and his children to the node list.
+     * @param component the current component.
+     * @param base the stack index of the parent.
+     */
+    private void flatten(@NotNull Component component, int base) {
+        component.order = sequence++;
+        component.stackIndex = base + component.getZIndex();
+        nodes.add(component);
+        if(component instanceof Layout layout) {
+            layouts.add(layout);
+        }
+        for(Component child : component.getChildren()) {
+            flatten(child, component.stackIndex);
+        }
+    }
+
+    /**
+     * Private function to move a component and his children to their new drawing position.
+     * @param component the current component.
+     * @param base the stack index of the parent.
+     */
+    private void restack(@NotNull Component component, int base) {
+        int index = Collections.binarySearch(nodes, component, DRAW_ORDER);
+        if(index >= 0) {
+            nodes.remove(index);
+        }
+        component.stackIndex = base + component.getZIndex();
+        int insertion = Collections.binarySearch(nodes, component, DRAW_ORDER);
+        nodes.add(insertion < 0 ? -insertion - 1 : insertion, component);
+        component.invalidate();
+
+        for(Component child : component.getChildren()) {
+            restack(child, component.stackIndex);
+        }
+    }
+
+    /**
+     * Private function to set the window for the component and all his children.
+     * @param component the current component.
+     * @param target the window to set, can be null for detaching.
+     */
+    private void bind(@NotNull Component component, UIWindow target) {
+        component.setWindow(target);
+        if(target == null) {
+            dirty.remove(component);
+            component.damage(damage, false);
+        } else {
+            component.invalidate();
+        }
+        for(Component child : component.getChildren()) {
+            bind(child, target);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package net.exsource.open.ui.component;
+
+import net.exsource.open.ui.AbstractWindow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class collects the damaged areas of a window. A damaged area is a rectangle which needs to be
+ * redrawn, because a {@link Component} was moved, resized or changed his style. The areas will be merged
+ * to a small set of rectangles, so the {@link AbstractWindow} can redraw only these areas with scissoring.
+ * If the damaged areas covering the most of the window, the tracker switches to a full redraw.
+ * @since 1.0.0
+ * @see ComponentTree
+ * @see AbstractWindow
+ * @author Daniel Ramke
+ */
+public class DamageTracker {
+
+    /**
+     * Max count of separated regions, more regions will be merged to the nearest one.
+     */
+    public static final int MAX_REGIONS = 8;
+
+    private final List<Region> regions;
+    private boolean full;
+
+    /**
+     * Constructor creates a tracker which starts with a full redraw.
+     */
+    public DamageTracker() {
+        this.regions = new ArrayList<>();
+        this.full = true;
+    }
+
+    /**
+     * Function adds a damaged area. Empty areas ar ignored.
+     * @param x the x position of the area.
+     * @param y the y position of the area.
+     * @param width the width of the area.
+     * @param height the height of the area.
+     */
+    public synchronized void add(int x, int y, int width, int height) {
+        if(full || width <= 0 || height <= 0)
+            return;
+
+        Region region = new Region(x, y, width, height);
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for(int i = 0; i < regions.size(); i++) {
+                Region other = regions.get(i);
+                if(region.touches(other)) {
+                    region = region.union(other);
+                    regions.remove(i);
+                    merged = true;
+                    break;
+                }
+            }
+        }
+        regions.add(region);
+
+        while (regions.size() > MAX_REGIONS) {
+            mergeCheapest();
+        }
+    }
+
+    /**
+     * Function marks the complete window as damaged.
+     */
+    public synchronized void invalidateAll() {
+        full = true;
+        regions.clear();
+    }
+
+    /**
+     * Function switches to a full redraw if the damaged regions covering more than the half of the window.
+     * @param width the window width.
+     * @param height the window height.
+     */
+    public synchronized void clamp(int width, int height) {
+        if(full)
+            return;
+
+        long area = 0;
+        for(Region region : regions) {
+            area += (long) region.width() * region.height();
+        }
+        if(area * 2 >= (long) width * height) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Function resets the tracker after the damaged areas were drawn.
+     */
+    public synchronized void clear() {
+        full = false;
+        regions.clear();
+    }
+
+    /**
+     * @return boolean - true if the complete window need to be redrawn.
+     */
+    public synchronized boolean isFull() {
+        return full;
+    }
+
+    /**
+     * @return boolean - true if there is nothing to redraw.
+     */
+    public synchronized boolean isEmpty() {
+        return !full && regions.isEmpty();
+    }
+
+    /**
+     * @return List<Region> - a copy of the current merged regions.
+     */
+    public synchronized List<Region> getRegions() {
+        return Collections.unmodifiableList(new ArrayList<>(regions));
+    }
+
+    /**
+     * Private function to merge the tow regions which creates the smallest union.
+     */
+    private void mergeCheapest() {
+        int first = 0;
+        int second = 1;
+        long cost = Long.MAX_VALUE;
+        for(int i = 0; i < regions.size(); i++) {
+            for(int j = i + 1; j < regions.size(); j++) {
+                Region a = regions.get(i);
+                Region b = regions.get(j);
+                long growth = a.union(b).area() - a.area() - b.area();
+                if(growth < cost) {
+                    cost = growth;
+                    first = i;
+                    second = j;
+                }
+            }
+        }
+        Region union = regions.get(first).union(regions.get(second));
+        regions.remove(second);
+        regions.set(first, union);
+    }
+
+    /**
+     * Record for a single damaged rectangle in window coordinates.
+     * @param x the x position.
+     * @param y the y position.
+     * @param width the width.
+     * @param height the height.
+     */
+    public record Region(int x, int y, int width, int height) {
+
+        /**
+         * @return long - the area of this region.
+         */
+        public long area() {
+            return (long) width * height;
+        }
+
+        /**
+         * @param x the x position of the other rectangle.
+         * @param y the y position of the other rectangle.
+         * @param width the width of the other rectangle.
+         * @param height the height of the other rectangle.
+         * @return boolean - true if the rectangle overlaps this region.
+         */
+        public boolean intersects(int x, int y, int width, int height) {
+            return x < this.x + this.width && this.x < x + width
+                    && y < this.y + this.height && this.y < y + height;
+        }
+
+        /**
+         * @param other the other region.
+         * @return boolean - true if the regions overlapping or sharing an edge.
+         */
+        public boolean touches(Region other) {
+            return other.x <= x + width && x <= other.x + other.width
+                    && other.y <= y + height && y <= other.y + other.height;
+        }
+
+        /**
+         * @param other the other region.
+         * @return Region - the smallest region which contains both regions.
+         */
+        public Region union(Region other) {
+            int minX = Math.min(x, other.x);
+            int minY = Math.min(y, other.y);
+            int maxX = Math.max(x + width, other.x + other.width);
+            int maxY = Math.max(y + height, other.y + other.height);
+            return new Region(minX, minY, maxX - minX, maxY - minY);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.exsource.open.ui.component;
+
+import net.exsource.open.events.components.ComponentClickEvent;
+import net.exsource.open.events.components.ComponentEnterEvent;
+import net.exsource.open.events.components.ComponentHoverEvent;
+import net.exsource.open.events.components.ComponentLeaveEvent;
+import net.exsource.openutils.event.EventManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Class maps the cursor of a window to the {@link Component} under it and calls the pointer events.
+ * The component is found by the {@link SpatialIndex} of the {@link ComponentTree}, so a cursor move
+ * costs a single cell lookup and not a scan of all components. Overlapping components ar resolved by
+ * the drawing order, the top most component gets the events.
+ * Click events bubble from the hit component up to his parents until an event is cancelled.
+ * The functions must be called by the thread of the window, the callbacks only record the input and the
+ * window dispatches it by {@link net.exsource.open.ui.UIWindow#publishInput()}.
+ * @since 1.0.0
+ * @see SpatialIndex
+ * @see ComponentTree
+ * @author Daniel Ramke
+ */
+public class PointerDispatcher {
+
+    private final ComponentTree tree;
+
+    private Component hovered;
+    private float positionX;
+    private float positionY;
+
+    /**
+     * Constructor creates a dispatcher for the given tree.
+     * @param tree the tree which holds the index.
+     */
+    public PointerDispatcher(@NotNull ComponentTree tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * Function is called if the cursor was moved. The hovered component gets a {@link ComponentHoverEvent},
+     * if the component under the cursor was changed the old one gets a {@link ComponentLeaveEvent}
+     * and the new one a {@link ComponentEnterEvent}.
+     * @param positionX the x position of the cursor in window coordinates.
+     * @param positionY the y position of the cursor in window coordinates.
+     */
+    public void move(float positionX, float positionY) {
+        this.positionX = positionX;
+        this.positionY = positionY;
+
+        Component target = tree.componentAt(positionX, positionY);
+        if(target == hovered) {
+            if(target != null) {
+                EventManager.callEvent(new ComponentHoverEvent(target, positionX, positionY));
+            }
+            return;
+        }
+
+        Component last = hovered;
+        hovered = target;
+        if(last != null) {
+            EventManager.callEvent(new ComponentLeaveEvent(last, positionX, positionY));
+        }
+        if(target != null) {
+            EventManager.callEvent(new ComponentEnterEvent(target, positionX, positionY));
+        }
+    }
+
+    /**
+     * Function is called if a mouse button was pressed or released. The component under the cursor gets a
+     * {@link ComponentClickEvent}, which is passed to the parents until a listener cancels it.
+     * @param button the mouse button.
+     * @param action the action like press or release.
+     * @param mods the pressed modifier keys.
+     */
+    public void button(int button, int action, int mods) {
+        Component target = tree.componentAt(positionX, positionY);
+        if(target == null)
+            return;
+
+        Component component = target;
+        while (component != null && component.getWindow() == target.getWindow()) {
+            ComponentClickEvent event = new ComponentClickEvent(component, positionX, positionY, target, button, action, mods);
+            EventManager.callEvent(event);
+            if(event.isCancelled())
+                return;
+            component = component.getParent();
+        }
+    }
+
+    /**
+     * Function is called if the cursor left the window, the hovered component gets a {@link ComponentLeaveEvent}.
+     */
+    public void leave() {
+        if(hovered == null)
+            return;
+
+        Component last = hovered;
+        hovered = null;
+        EventManager.callEvent(new ComponentLeaveEvent(last, positionX, positionY));
+    }
+
+    /**
+     * @return {@link Component} - the component under the cursor, null if there is no component.
+     */
+    public Component getHovered() {
+        return hovered;
+    }
+}
@@ -0,0 +1,174 @@
+package net.exsource.open.ui.component;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Class indexes the bounds of {@link Component}'s in a uniform grid of {@value CELL_SIZE} pixel cells.
+ * A point query only checks the components of one cell, so hit-testing doesn't depend on the count of components.
+ * The index is updated per component, only the cells of the old and the new bounds ar touched.
+ * Note that this class is not thread safe, it is used by the thread of the window.
+ * @since 1.0.0
+ * @see ComponentTree
+ * @see PointerDispatcher
+ * @author Daniel Ramke
+ */
+public class SpatialIndex {
+
+    public static final int CELL_SIZE = 64;
+
+    private final Comparator<Component> order;
+    private final Map<Long, List<Component>> cells;
+    private final Map<Component, int[]> entries;
+
+    /**
+     * Constructor creates an empty index.
+     * @param order the drawing order, the last component of this order is on top.
+     */
+    public SpatialIndex(@NotNull Comparator<Component> order) {
+        this.order = order;
+        this.cells = new HashMap<>();
+        this.entries = new IdentityHashMap<>();
+    }
+
+    /**
+     * Function inserts the component or moves it if the bounds were changed since the last call.
+     * Components without a size ar not indexed.
+     * @param component the component to update.
+     */
+    public void update(@NotNull Component component) {
+        int x = component.getPositionX();
+        int y = component.getPositionY();
+        int width = component.getWidth();
+        int height = component.getHeight();
+
+        int[] entry = entries.get(component);
+        if(entry != null && entry[0] == x && entry[1] == y && entry[2] == width && entry[3] == height)
+            return;
+
+        remove(component);
+        if(width <= 0 || height <= 0)
+            return;
+
+        entry = new int[]{x, y, width, height};
+        entries.put(component, entry);
+        forCells(entry, key -> cells.computeIfAbsent(key, cell -> new ArrayList<>(4)).add(component));
+    }
+
+    /**
+     * Function removes the component from all cells.
+     * @param component the component to remove.
+     */
+    public void remove(@NotNull Component component) {
+        int[] entry = entries.remove(component);
+        if(entry == null)
+            return;
+
+        forCells(entry, key -> {
+            List<Component> cell = cells.get(key);
+            if(cell != null) {
+                cell.remove(component);
+                if(cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Function removes all components.
+     */
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    /**
+     * Function returned the top most component which contains the point.
+     * @param x the x position in window coordinates.
+     * @param y the y position in window coordinates.
+     * @return {@link Component} - the founded component, null if no component contains the point.
+     */
+    public Component componentAt(float x, float y) {
+        List<Component> cell = cells.get(key(Math.floorDiv((int) Math.floor(x), CELL_SIZE), Math.floorDiv((int) Math.floor(y), CELL_SIZE)));
+        if(cell == null)
+            return null;
+
+        Component top = null;
+        for(Component component : cell) {
+            int[] entry = entries.get(component);
+            if(x >= entry[0] && y >= entry[1] && x < entry[0] + entry[2] && y < entry[1] + entry[3]
+                    && (top == null || order.compare(component, top) > 0)) {
+                top = component;
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Function returned all components which intersect the rectangle.
+     * @param x the x position of the rectangle.
+     * @param y the y position of the rectangle.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @return List<Component> - the founded components in drawing order.
+     */
+    public List<Component> query(int x, int y, int width, int height) {
+        if(width <= 0 || height <= 0)
+            return List.of();
+
+        Set<Component> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        forCells(new int[]{x, y, width, height}, key -> {
+            List<Component> cell = cells.get(key);
+            if(cell == null)
+                return;
+            for(Component component : cell) {
+                int[] entry = entries.get(component);
+                if(entry[0] < x + width && x < entry[0] + entry[2] && entry[1] < y + height && y < entry[1] + entry[3]) {
+                    found.add(component);
+                }
+            }
+        });
+
+        List<Component> list = new ArrayList<>(found);
+        list.sort(order);
+        return list;
+    }
+
+    /**
+     * @return int - the count of indexed components.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Private function to run the action for all cells which ar covered by the bounds.
+     * @param bounds the bounds as {x, y, width, height}.
+     * @param action the action which gets the cell key.
+     */
+    private void forCells(int[] bounds, LongConsumer action) {
+        int minX = Math.floorDiv(bounds[0], CELL_SIZE);
+        int minY = Math.floorDiv(bounds[1], CELL_SIZE);
+        int maxX = Math.floorDiv(bounds[0] + bounds[2] - 1, CELL_SIZE);
+        int maxY = Math.floorDiv(bounds[1] + bounds[3] - 1, CELL_SIZE);
+        for(int cellY = minY; cellY <= maxY; cellY++) {
+            for(int cellX = minX; cellX <= maxX; cellX++) {
+                action.accept(key(cellX, cellY));
+            }
+        }
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+}
@@ -0,0 +1,341 @@
+package net.exsource.open.ui.component.layout;
+
+import net.exsource.open.enums.geometry.Alignment;
+import net.exsource.open.enums.geometry.Direction;
+import net.exsource.open.enums.geometry.Horizontal;
+import net.exsource.open.enums.geometry.Vertical;
+import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.style.Style;
+import net.exsource.openutils.math.Insets;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class places the children along the main axis like a css flexbox. The free space of a line is given to the children
+ * by their {@link Style#getFlexGrow()}, missing space is taken by their {@link Style#getFlexShrink()}.
+ * If wrapping is enabled the children ar broken into more lines.
+ * The flex basis of every child is cached and only computed again if the child was changed by someone else,
+ * the sizes which were set by the pane itself don't change the basis. Resizing the pane only resolves the cached bases again.
+ * Children with an absolute or fixed position ar not placed.
+ * @since 1.0.0
+ * @see Layout
+ * @see Style
+ * @author Daniel Ramke
+ */
+public class FlexPane extends Layout {
+
+    private Direction direction;
+    private Alignment alignment;
+    private boolean wrap;
+    private int gap;
+
+    private List<Component> placed;
+    private Map<Component, Item> items;
+    private Item[] order;
+    private boolean arranging;
+
+    public FlexPane() {
+        this(null);
+    }
+
+    public FlexPane(String localizedName) {
+        super(localizedName);
+        this.direction = Direction.ROW;
+        this.alignment = Alignment.TOP_LEFT;
+        this.items = new IdentityHashMap<>();
+        this.order = new Item[0];
+        this.setSize(200, 200);
+    }
+
+    /**
+     * @param direction the main axis of the pane.
+     */
+    public void setDirection(@NotNull Direction direction) {
+        if(this.direction == direction)
+            return;
+        this.direction = direction;
+        items.clear();
+        placed = null;
+        requestLayout();
+    }
+
+    /**
+     * @param alignment the alignment of the children, the main axis is only aligned if no child grows.
+     */
+    public void setAlignment(@NotNull Alignment alignment) {
+        if(this.alignment == alignment)
+            return;
+        this.alignment = alignment;
+        requestLayout();
+    }
+
+    /**
+     * @param wrap true if the children ar broken into more lines if the main axis is full.
+     */
+    public void setWrap(boolean wrap) {
+        if(this.wrap == wrap)
+            return;
+        this.wrap = wrap;
+        requestLayout();
+    }
+
+    /**
+     * @param gap the space between two children and between two lines.
+     */
+    public void setGap(int gap) {
+        if(this.gap == gap)
+            return;
+        this.gap = gap;
+        requestLayout();
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public Alignment getAlignment() {
+        return alignment;
+    }
+
+    public boolean isWrap() {
+        return wrap;
+    }
+
+    public int getGap() {
+        return gap;
+    }
+
+    /**
+     * The flex places and sizes every child by itself, so children ar not held in bound like by the default layout.
+     */
+    @Override
+    public void arrange() {
+        logic();
+    }
+
+    @Override
+    protected void childLayoutRequested(@NotNull Component child) {
+        if(arranging)
+            return;
+
+        Item item = items.get(child);
+        if(item != null) {
+            item.changed = true;
+        }
+    }
+
+    @Override
+    protected void logic() {
+        List<Component> children = getChildren();
+        int count = children.size();
+        boolean row = direction == Direction.ROW;
+        if(children != placed) {
+            index(children);
+        }
+        for(int i = 0; i < count; i++) {
+            Item item = order[i];
+            if(item.changed) {
+                item.measure(children.get(i), row);
+            }
+        }
+
+        Insets padding = getStyle() == null ? null : getStyle().getPadding();
+        int left = padding == null ? 0 : (int) padding.getLeft();
+        int top = padding == null ? 0 : (int) padding.getTop();
+        int right = padding == null ? 0 : (int) padding.getRight();
+        int bottom = padding == null ? 0 : (int) padding.getBottom();
+        float mainStart = row ? getPositionX() + left : getPositionY() + top;
+        float crossStart = row ? getPositionY() + top : getPositionX() + left;
+        float available = row ? getWidth() - left - right : getHeight() - top - bottom;
+        float crossAvailable = row ? getHeight() - top - bottom : getWidth() - left - right;
+
+        arranging = true;
+        try {
+            float crossCursor = crossStart;
+            int start = 0;
+            while (start < count) {
+                int end = lineEnd(children, start, available);
+                float crossSize = resolve(children, start, end, available);
+                if(!wrap) {
+                    crossSize = Math.max(crossSize, crossAvailable);
+                }
+                place(children, start, end, mainStart, available, crossCursor, crossSize, row);
+                crossCursor += crossSize + gap;
+                start = end;
+            }
+        } finally {
+            arranging = false;
+        }
+    }
+
+    /**
+     * Private function to find the end of the line which starts with the given child.
+     * @return int - the index after the last child of the line.
+     */
+    private int lineEnd(List<Component> children, int start, float available) {
+        if(!wrap)
+            return children.size();
+
+        float used = 0;
+        int placedCount = 0;
+        for(int i = start; i < children.size(); i++) {
+            if(children.get(i).isOutOfFlow())
+                continue;
+
+            float outer = order[i].basis + order[i].mainMargins;
+            if(placedCount > 0 && used + gap + outer > available)
+                return i;
+
+            used += (placedCount > 0 ? gap : 0) + outer;
+            placedCount++;
+        }
+        return children.size();
+    }
+
+    /**
+     * Private function to grow or shrink the children of a line.
+     * @return float - the cross size of the line.
+     */
+    private float resolve(List<Component> children, int start, int end, float available) {
+        float used = 0;
+        float grow = 0;
+        float shrink = 0;
+        float cross = 0;
+        int placedCount = 0;
+        for(int i = start; i < end; i++) {
+            if(children.get(i).isOutOfFlow())
+                continue;
+
+            Item item = order[i];
+            used += item.basis + item.mainMargins;
+            grow += item.grow;
+            shrink += item.shrink * item.basis;
+            cross = Math.max(cross, item.cross + item.crossMargins);
+            placedCount++;
+        }
+        used += Math.max(0, placedCount - 1) * gap;
+
+        float free = available - used;
+        for(int i = start; i < end; i++) {
+            Item item = order[i];
+            if(free > 0 && grow > 0) {
+                item.size = item.basis + free * item.grow / grow;
+            } else if(free < 0 && shrink > 0) {
+                item.size = Math.max(0f, item.basis + free * item.shrink * item.basis / shrink);
+            } else {
+                item.size = item.basis;
+            }
+        }
+        return cross;
+    }
+
+    /**
+     * Private function to set the size and position of the children of a line.
+     */
+    private void place(List<Component> children, int start, int end, float mainStart, float available
+            , float crossStart, float crossSize, boolean row) {
+        float used = 0;
+        int placedCount = 0;
+        for(int i = start; i < end; i++) {
+            if(!children.get(i).isOutOfFlow()) {
+                used += order[i].size + order[i].mainMargins;
+                placedCount++;
+            }
+        }
+        used += Math.max(0, placedCount - 1) * gap;
+
+        float cursor = mainStart + Math.max(0f, available - used) * share(row ? alignment.getHorizontal().getIndex() : alignment.getVertical().getIndex());
+        float crossShare = share(row ? alignment.getVertical().getIndex() : alignment.getHorizontal().getIndex());
+        for(int i = start; i < end; i++) {
+            Component child = children.get(i);
+            if(child.isOutOfFlow())
+                continue;
+
+            Item item = order[i];
+            float main = cursor + item.mainMargin;
+            int position = Math.round(main);
+            int size = Math.round(main + item.size) - position;
+            int cross = Math.round(crossStart + item.crossMargin + (crossSize - item.cross - item.crossMargins) * crossShare);
+            item.assigned = size;
+            if(row) {
+                child.setWidth(size);
+                child.setPosition(position, cross);
+            } else {
+                child.setHeight(size);
+                child.setPosition(cross, position);
+            }
+            cursor = main + item.size + item.mainMargins - item.mainMargin + gap;
+        }
+    }
+
+    /**
+     * Private function to take over the cached items of the children, only new children ar measured.
+     * @param children the current children.
+     */
+    private void index(List<Component> children) {
+        Map<Component, Item> next = new IdentityHashMap<>(children.size() * 2);
+        Item[] list = new Item[children.size()];
+        for(int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Item item = items.get(child);
+            if(item == null) {
+                item = new Item();
+            }
+            next.put(child, item);
+            list[i] = item;
+        }
+        items = next;
+        order = list;
+        placed = children;
+    }
+
+    /**
+     * Private function to convert the index of {@link Horizontal} or {@link Vertical} to the share of the free space.
+     * @param index the index of the alignment, start for nothing.
+     * @return float - 0 for start, 0.5 for center and 1 for end.
+     */
+    private static float share(int index) {
+        return index <= 0 ? 0f : index * 0.5f;
+    }
+
+    /**
+     * Private class holds the cached flex values of a single child.
+     */
+    private static final class Item {
+
+        private boolean changed = true;
+        private int assigned = -1;
+        private int basis;
+        private int cross;
+        private int mainMargin;
+        private int mainMargins;
+        private int crossMargin;
+        private int crossMargins;
+        private float grow;
+        private float shrink;
+        private float size;
+
+        private void measure(Component child, boolean row) {
+            changed = false;
+            Style style = child.getStyle();
+            Insets margin = style == null ? null : style.getMargin();
+            int own = row ? child.getMeasuredWidth() : child.getMeasuredHeight();
+            int flexBasis = style == null ? -1 : style.getFlexBasis();
+            if(flexBasis >= 0) {
+                basis = flexBasis;
+            } else if(own != assigned) {
+                basis = own;
+            }
+            cross = row ? child.getMeasuredHeight() : child.getMeasuredWidth();
+            mainMargin = margin == null ? 0 : (int) (row ? margin.getLeft() : margin.getTop());
+            mainMargins = margin == null ? 0 : (int) (row ? margin.getLeft() + margin.getRight() : margin.getTop() + margin.getBottom());
+            crossMargin = margin == null ? 0 : (int) (row ? margin.getTop() : margin.getLeft());
+            crossMargins = margin == null ? 0 : (int) (row ? margin.getTop() + margin.getBottom() : margin.getLeft() + margin.getRight());
+            grow = style == null ? 0f : Math.max(0f, style.getFlexGrow());
+            shrink = style == null ? 1f : Math.max(0f, style.getFlexShrink());
+        }
+    }
+}
@@ -1,34 +1,211 @@
 package net.exsource.open.ui.component.layout;
 
 import net.exsource.open.ui.component.Component;
-import net.exsource.open.ui.style.Style;
+import net.exsource.openutils.math.Insets;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class places the children from left to right and wraps them into a new line if the
+ * width of the pane is reached. The line breaks ar cached, if a child changes his size
+ * only the line of this child and all following lines ar computed again. If the child starts a line,
+ * the previous line is computed as well, because a smaller child can move back into it.
+ * Children with an absolute or fixed position ar not placed.
+ * @since 1.0.0
+ * @see Layout
+ * @author Daniel Ramke
+ */
 public class FlowPane extends Layout {
 
+    private int horizontalGap;
+    private int verticalGap;
+
+    private List<Component> placed;
+    private final Map<Component, Integer> indices;
+    private int[] lines;
+    private int[] lineStarts;
+    private int[] lineTops;
+    private int lineCount;
+
+    private int firstChanged;
+    private boolean arranging;
+    private int placedX;
+    private int placedY;
+    private int placedWidth;
+    private Insets placedPadding;
+
     public FlowPane() {
         this(null);
     }
 
     public FlowPane(String localizedName) {
         super(localizedName);
+        this.indices = new IdentityHashMap<>();
+        this.lines = new int[0];
+        this.lineStarts = new int[1];
+        this.lineTops = new int[1];
+        this.firstChanged = Integer.MAX_VALUE;
         this.setSize(200, 200);
     }
 
+    /**
+     * Function sets the space between two children of the same line.
+     * @param horizontalGap the space in pixel.
+     */
+    public void setHorizontalGap(int horizontalGap) {
+        if(this.horizontalGap == horizontalGap)
+            return;
+        this.horizontalGap = horizontalGap;
+        placed = null;
+        requestLayout();
+    }
+
+    /**
+     * Function sets the space between two lines.
+     * @param verticalGap the space in pixel.
+     */
+    public void setVerticalGap(int verticalGap) {
+        if(this.verticalGap == verticalGap)
+            return;
+        this.verticalGap = verticalGap;
+        placed = null;
+        requestLayout();
+    }
+
+    public int getHorizontalGap() {
+        return horizontalGap;
+    }
+
+    public int getVerticalGap() {
+        return verticalGap;
+    }
+
+    /**
+     * @return int - the count of lines after the last arrange phase.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * The flow places every child by itself, so children ar not held in bound like by the default layout.
+     */
+    @Override
+    public void arrange() {
+        logic();
+    }
+
+    @Override
+    protected void childLayoutRequested(@NotNull Component child) {
+        if(arranging)
+            return;
+
+        Integer index = indices.get(child);
+        if(index != null && index < firstChanged) {
+            firstChanged = index;
+        }
+    }
+
     @Override
     protected void logic() {
-        for(Component component : getChildren()) {
-            Style style = component.getStyle();
-            for(Component components : getChildren()) {
-                if(components.equals(component))
-                    continue;
+        List<Component> children = getChildren();
+        int count = children.size();
+        Insets padding = getStyle() == null ? null : getStyle().getPadding();
+
+        int start;
+        if(children != placed || placedX != getPositionX() || placedY != getPositionY()
+                || placedWidth != getWidth() || placedPadding != padding) {
+            if(children != placed) {
+                index(children);
+            }
+            start = 0;
+        } else if(firstChanged < count) {
+            int line = lines[firstChanged];
+            if(line > 0 && lineStarts[line] == firstChanged) {
+                line--;
+            }
+            start = lineStarts[line];
+        } else {
+            firstChanged = Integer.MAX_VALUE;
+            return;
+        }
+
+        int left = getPositionX() + (padding == null ? 0 : (int) padding.getLeft());
+        int right = getPositionX() + getWidth() - (padding == null ? 0 : (int) padding.getRight());
+        int line = start == 0 ? 0 : lines[start];
+        int top = start == 0 ? (padding == null ? 0 : (int) padding.getTop()) : lineTops[line];
+        int cursor = left;
+        int lineHeight = 0;
+        lineStarts[line] = start;
+        lineTops[line] = top;
 
-                if(style.getPosition().equalsIgnoreCase("absolute")) {
-                    //Todo: set logic for absolute.
+        arranging = true;
+        try {
+            for(int i = start; i < count; i++) {
+                Component child = children.get(i);
+                lines[i] = line;
+                if(child.isOutOfFlow())
                     continue;
+
+                int width = child.getWidth();
+                if(cursor > left && cursor + width > right) {
+                    top += lineHeight + verticalGap;
+                    line++;
+                    ensureLines(line + 1);
+                    lineStarts[line] = i;
+                    lineTops[line] = top;
+                    lines[i] = line;
+                    cursor = left;
+                    lineHeight = 0;
                 }
+                child.setPosition(cursor, getPositionY() + top);
+                cursor += width + horizontalGap;
+                lineHeight = Math.max(lineHeight, child.getHeight());
+            }
+        } finally {
+            arranging = false;
+        }
 
+        lineCount = count == 0 ? 0 : line + 1;
+        firstChanged = Integer.MAX_VALUE;
+        placed = children;
+        placedX = getPositionX();
+        placedY = getPositionY();
+        placedWidth = getWidth();
+        placedPadding = padding;
+    }
 
-            }
+    /**
+     * Private function to store the index of every child, is only called if the children were changed.
+     * @param children the current children.
+     */
+    private void index(List<Component> children) {
+        indices.clear();
+        for(int i = 0; i < children.size(); i++) {
+            indices.put(children.get(i), i);
         }
+        if(lines.length < children.size()) {
+            lines = new int[children.size()];
+        }
+    }
+
+    /**
+     * Private function to grow the line arrays if needed.
+     * @param size the needed count of lines.
+     */
+    private void ensureLines(int size) {
+        if(lineStarts.length >= size)
+            return;
+
+        int capacity = Math.max(size, lineStarts.length * 2);
+        int[] starts = new int[capacity];
+        int[] tops = new int[capacity];
+        System.arraycopy(lineStarts, 0, starts, 0, lineStarts.length);
+        System.arraycopy(lineTops, 0, tops, 0, lineTops.length);
+        lineStarts = starts;
+        lineTops = tops;
     }
 }
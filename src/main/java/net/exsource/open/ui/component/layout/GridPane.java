@@ -0,0 +1,442 @@
+package net.exsource.open.ui.component.layout;
+
+import net.exsource.open.enums.geometry.Alignment;
+import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.style.Style;
+import net.exsource.openutils.math.Insets;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class places the children into the cells of a grid. Every column and row is a {@link Track}, which has a fixed size,
+ * the size of his largest child or a fraction of the remaining space. Children ar placed by {@link #add(Component, int, int, int, int)},
+ * children without a cell fill the free cells row by row.
+ * The content size of every track is cached. If a child was changed only the tracks of this child ar measured again,
+ * resizing the pane only shares the remaining space between the fraction tracks again.
+ * Children with an absolute or fixed position ar not placed.
+ * @since 1.0.0
+ * @see Layout
+ * @see Track
+ * @author Daniel Ramke
+ */
+public class GridPane extends Layout {
+
+    private final List<Track> columns;
+    private final List<Track> rows;
+    private final Map<Component, int[]> cells;
+    private Alignment alignment;
+    private int columnGap;
+    private int rowGap;
+
+    private List<Component> placed;
+    private final Map<Component, int[]> resolved;
+    private final List<List<Component>> columnMembers;
+    private final List<List<Component>> rowMembers;
+    private final BitSet dirtyColumns;
+    private final BitSet dirtyRows;
+    private int[] columnContent;
+    private int[] rowContent;
+    private int[] columnSizes;
+    private int[] rowSizes;
+    private int[] columnOffsets;
+    private int[] rowOffsets;
+    private boolean arranging;
+
+    public GridPane() {
+        this(null);
+    }
+
+    public GridPane(String localizedName) {
+        super(localizedName);
+        this.columns = new ArrayList<>();
+        this.rows = new ArrayList<>();
+        this.cells = new IdentityHashMap<>();
+        this.alignment = Alignment.TOP_LEFT;
+        this.resolved = new IdentityHashMap<>();
+        this.columnMembers = new ArrayList<>();
+        this.rowMembers = new ArrayList<>();
+        this.dirtyColumns = new BitSet();
+        this.dirtyRows = new BitSet();
+        this.columnContent = new int[0];
+        this.rowContent = new int[0];
+        this.setSize(200, 200);
+    }
+
+    /**
+     * Function adds the child to the given cell.
+     * @param child the new child.
+     * @param column the column of the cell, starts by 0.
+     * @param row the row of the cell, starts by 0.
+     */
+    public void add(@NotNull Component child, int column, int row) {
+        add(child, column, row, 1, 1);
+    }
+
+    /**
+     * Function adds the child to the given cells.
+     * @param child the new child.
+     * @param column the first column, starts by 0.
+     * @param row the first row, starts by 0.
+     * @param columnSpan the count of used columns.
+     * @param rowSpan the count of used rows.
+     */
+    public void add(@NotNull Component child, int column, int row, int columnSpan, int rowSpan) {
+        setCell(child, column, row, columnSpan, rowSpan);
+        addChild(child);
+    }
+
+    /**
+     * Function moves a child to the given cells.
+     * @param child the child to move.
+     * @param column the first column, starts by 0.
+     * @param row the first row, starts by 0.
+     * @param columnSpan the count of used columns.
+     * @param rowSpan the count of used rows.
+     */
+    public void setCell(@NotNull Component child, int column, int row, int columnSpan, int rowSpan) {
+        cells.put(child, new int[]{Math.max(0, column), Math.max(0, row), Math.max(1, columnSpan), Math.max(1, rowSpan)});
+        placed = null;
+        requestLayout();
+    }
+
+    /**
+     * @param columns the column tracks, columns which ar used by children but not defined ar sized by their content.
+     */
+    public void setColumns(@NotNull Track... columns) {
+        this.columns.clear();
+        this.columns.addAll(Arrays.asList(columns));
+        placed = null;
+        requestLayout();
+    }
+
+    /**
+     * @param rows the row tracks, rows which ar used by children but not defined ar sized by their content.
+     */
+    public void setRows(@NotNull Track... rows) {
+        this.rows.clear();
+        this.rows.addAll(Arrays.asList(rows));
+        placed = null;
+        requestLayout();
+    }
+
+    /**
+     * @param alignment the alignment of the children inside of their cells.
+     */
+    public void setAlignment(@NotNull Alignment alignment) {
+        if(this.alignment == alignment)
+            return;
+        this.alignment = alignment;
+        requestLayout();
+    }
+
+    /**
+     * @param columnGap the space between two columns.
+     * @param rowGap the space between two rows.
+     */
+    public void setGap(int columnGap, int rowGap) {
+        if(this.columnGap == columnGap && this.rowGap == rowGap)
+            return;
+        this.columnGap = columnGap;
+        this.rowGap = rowGap;
+        requestLayout();
+    }
+
+    public Alignment getAlignment() {
+        return alignment;
+    }
+
+    public int getColumnGap() {
+        return columnGap;
+    }
+
+    public int getRowGap() {
+        return rowGap;
+    }
+
+    /**
+     * @return int - the count of columns after the last arrange phase.
+     */
+    public int getColumnCount() {
+        return columnContent.length;
+    }
+
+    /**
+     * @return int - the count of rows after the last arrange phase.
+     */
+    public int getRowCount() {
+        return rowContent.length;
+    }
+
+    /**
+     * @param column the column index.
+     * @return int - the resolved width of the column, 0 if the column doesn't exist.
+     */
+    public int getColumnSize(int column) {
+        return columnSizes == null || column < 0 || column >= columnSizes.length ? 0 : columnSizes[column];
+    }
+
+    /**
+     * @param row the row index.
+     * @return int - the resolved height of the row, 0 if the row doesn't exist.
+     */
+    public int getRowSize(int row) {
+        return rowSizes == null || row < 0 || row >= rowSizes.length ? 0 : rowSizes[row];
+    }
+
+    /**
+     * The grid places every child by itself, so children ar not held in bound like by the default layout.
+     */
+    @Override
+    public void arrange() {
+        logic();
+    }
+
+    @Override
+    protected void childLayoutRequested(@NotNull Component child) {
+        if(arranging)
+            return;
+
+        int[] cell = resolved.get(child);
+        if((cell == null) != child.isOutOfFlow()) {
+            placed = null;
+        } else if(cell != null) {
+            dirtyColumns.set(cell[0]);
+            dirtyRows.set(cell[1]);
+        }
+    }
+
+    @Override
+    protected void logic() {
+        List<Component> children = getChildren();
+        if(children != placed) {
+            assign(children);
+        }
+
+        for(int column = dirtyColumns.nextSetBit(0); column >= 0 && column < columnContent.length; column = dirtyColumns.nextSetBit(column + 1)) {
+            columnContent[column] = content(columnMembers.get(column), true);
+        }
+        for(int row = dirtyRows.nextSetBit(0); row >= 0 && row < rowContent.length; row = dirtyRows.nextSetBit(row + 1)) {
+            rowContent[row] = content(rowMembers.get(row), false);
+        }
+        dirtyColumns.clear();
+        dirtyRows.clear();
+
+        Insets padding = getStyle() == null ? null : getStyle().getPadding();
+        int left = padding == null ? 0 : (int) padding.getLeft();
+        int top = padding == null ? 0 : (int) padding.getTop();
+        int right = padding == null ? 0 : (int) padding.getRight();
+        int bottom = padding == null ? 0 : (int) padding.getBottom();
+        columnSizes = resolveTracks(columns, columnContent, getWidth() - left - right, columnGap);
+        rowSizes = resolveTracks(rows, rowContent, getHeight() - top - bottom, rowGap);
+        columnOffsets = offsets(columnSizes, getPositionX() + left, columnGap);
+        rowOffsets = offsets(rowSizes, getPositionY() + top, rowGap);
+
+        float horizontal = share(alignment.getHorizontal().getIndex());
+        float vertical = share(alignment.getVertical().getIndex());
+        arranging = true;
+        try {
+            for(Component child : children) {
+                int[] cell = resolved.get(child);
+                if(cell == null)
+                    continue;
+
+                Insets margin = child.getStyle() == null ? null : child.getStyle().getMargin();
+                int marginLeft = margin == null ? 0 : (int) margin.getLeft();
+                int marginTop = margin == null ? 0 : (int) margin.getTop();
+                int marginRight = margin == null ? 0 : (int) margin.getRight();
+                int marginBottom = margin == null ? 0 : (int) margin.getBottom();
+
+                int lastColumn = cell[0] + cell[2] - 1;
+                int lastRow = cell[1] + cell[3] - 1;
+                int cellWidth = columnOffsets[lastColumn] + columnSizes[lastColumn] - columnOffsets[cell[0]];
+                int cellHeight = rowOffsets[lastRow] + rowSizes[lastRow] - rowOffsets[cell[1]];
+                int freeX = cellWidth - child.getWidth() - marginLeft - marginRight;
+                int freeY = cellHeight - child.getHeight() - marginTop - marginBottom;
+                child.setPosition(columnOffsets[cell[0]] + marginLeft + Math.round(Math.max(0, freeX) * horizontal)
+                        , rowOffsets[cell[1]] + marginTop + Math.round(Math.max(0, freeY) * vertical));
+            }
+        } finally {
+            arranging = false;
+        }
+    }
+
+    /**
+     * Private function to resolve the cells of all children and to build the members of every track.
+     * All tracks ar measured again by the next arrange phase.
+     * @param children the current children.
+     */
+    private void assign(List<Component> children) {
+        resolved.clear();
+        int columnCount = Math.max(1, columns.size());
+        int rowCount = rows.size();
+        BitSet used = new BitSet();
+        for(Component child : children) {
+            int[] cell = cells.get(child);
+            if(cell == null || child.isOutOfFlow())
+                continue;
+
+            resolved.put(child, cell);
+            columnCount = Math.max(columnCount, cell[0] + cell[2]);
+            rowCount = Math.max(rowCount, cell[1] + cell[3]);
+        }
+        for(int[] cell : resolved.values()) {
+            for(int row = cell[1]; row < cell[1] + cell[3]; row++) {
+                for(int column = cell[0]; column < cell[0] + cell[2]; column++) {
+                    used.set(row * columnCount + column);
+                }
+            }
+        }
+
+        int next = 0;
+        for(Component child : children) {
+            if(resolved.containsKey(child) || child.isOutOfFlow())
+                continue;
+
+            next = used.nextClearBit(next);
+            used.set(next);
+            int[] cell = new int[]{next % columnCount, next / columnCount, 1, 1};
+            resolved.put(child, cell);
+            rowCount = Math.max(rowCount, cell[1] + 1);
+        }
+        cells.keySet().removeIf(child -> child.getParent() != this);
+
+        columnContent = new int[columnCount];
+        rowContent = new int[rowCount];
+        members(columnMembers, columnCount);
+        members(rowMembers, rowCount);
+        for(Component child : children) {
+            int[] cell = resolved.get(child);
+            if(cell == null)
+                continue;
+
+            columnMembers.get(cell[0]).add(child);
+            rowMembers.get(cell[1]).add(child);
+        }
+        dirtyColumns.set(0, columnCount);
+        dirtyRows.set(0, rowCount);
+        placed = children;
+    }
+
+    /**
+     * Private function to measure the largest child of a track, children which span more tracks ar not measured.
+     * @param members the children which start in this track.
+     * @param column true if the track is a column.
+     * @return int - the content size of the track.
+     */
+    private int content(List<Component> members, boolean column) {
+        int size = 0;
+        for(Component child : members) {
+            int[] cell = resolved.get(child);
+            if(cell == null || cell[column ? 2 : 3] > 1)
+                continue;
+
+            Style style = child.getStyle();
+            Insets margin = style == null ? null : style.getMargin();
+            int outer = column
+                    ? child.getMeasuredWidth() + (margin == null ? 0 : (int) (margin.getLeft() + margin.getRight()))
+                    : child.getMeasuredHeight() + (margin == null ? 0 : (int) (margin.getTop() + margin.getBottom()));
+            size = Math.max(size, outer);
+        }
+        return size;
+    }
+
+    /**
+     * Private function to resolve the size of every track, the fraction tracks share the remaining space.
+     * @return int[] - the sizes of the tracks.
+     */
+    private static int[] resolveTracks(List<Track> tracks, int[] content, int available, int gap) {
+        int[] sizes = new int[content.length];
+        int remaining = available - Math.max(0, content.length - 1) * gap;
+        float fractions = 0;
+        for(int i = 0; i < content.length; i++) {
+            Track track = i < tracks.size() ? tracks.get(i) : Track.AUTO;
+            if(track.fraction > 0) {
+                fractions += track.fraction;
+                continue;
+            }
+            sizes[i] = track.size >= 0 ? track.size : content[i];
+            remaining -= sizes[i];
+        }
+
+        if(fractions > 0 && remaining > 0) {
+            float start = 0;
+            for(int i = 0; i < content.length; i++) {
+                Track track = i < tracks.size() ? tracks.get(i) : Track.AUTO;
+                if(track.fraction <= 0)
+                    continue;
+
+                float end = start + remaining * track.fraction / fractions;
+                sizes[i] = Math.round(end) - Math.round(start);
+                start = end;
+            }
+        }
+        return sizes;
+    }
+
+    private static int[] offsets(int[] sizes, int start, int gap) {
+        int[] offsets = new int[sizes.length];
+        int cursor = start;
+        for(int i = 0; i < sizes.length; i++) {
+            offsets[i] = cursor;
+            cursor += sizes[i] + gap;
+        }
+        return offsets;
+    }
+
+    private static void members(List<List<Component>> members, int count) {
+        members.clear();
+        for(int i = 0; i < count; i++) {
+            members.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Private function to convert the index of the alignment to the share of the free space.
+     * @param index the index of the alignment, start for nothing.
+     * @return float - 0 for start, 0.5 for center and 1 for end.
+     */
+    private static float share(int index) {
+        return index <= 0 ? 0f : index * 0.5f;
+    }
+
+    /**
+     * Class defines the size of a column or row of a {@link GridPane}.
+     */
+    public static final class Track {
+
+        /**
+         * The track is as large as his largest child.
+         */
+        public static final Track AUTO = new Track(-1, 0f);
+
+        private final int size;
+        private final float fraction;
+
+        private Track(int size, float fraction) {
+            this.size = size;
+            this.fraction = fraction;
+        }
+
+        /**
+         * @param size the size in pixel.
+         * @return {@link Track} - a track with a fixed size.
+         */
+        public static Track fixed(int size) {
+            return new Track(Math.max(0, size), 0f);
+        }
+
+        /**
+         * @param fraction the part of the remaining space.
+         * @return {@link Track} - a track which shares the remaining space with the other fraction tracks.
+         */
+        public static Track fraction(float fraction) {
+            return new Track(-1, Math.max(0f, fraction));
+        }
+    }
+}
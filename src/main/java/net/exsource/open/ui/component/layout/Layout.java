@@ -1,9 +1,8 @@
 package net.exsource.open.ui.component.layout;
 
 import net.exsource.open.logic.renderer.UIRenderer;
-import net.exsource.open.ui.UIWindow;
 import net.exsource.open.ui.component.Component;
-import net.exsource.open.ui.style.Style;
+import net.exsource.open.ui.component.ComponentTree;
 import net.exsource.open.ui.style.generic.Background;
 import net.exsource.openutils.enums.Colors;
 import net.exsource.openutils.tools.Color;
@@ -11,6 +10,9 @@ import net.exsource.openutils.tools.Color;
 /**
  * Class for default layout functions and indicate as {@link Layout} for the {@link UIRenderer}.
  * This class is really helpful to mark a class as {@link Layout} for the render pipeline.
+ * A layout works in two phases, {@link #measure()} computes the wished size from the measured children
+ * and {@link #arrange()} places the children. Both phases ar only called by the {@link ComponentTree} if the layout,
+ * a child or a style below this layout was changed, see {@link Component#requestLayout()}.
  * If you need help by creating an own layout so see the docs of our official website.
  * @since 1.0.0
  * @author Daniel Ramke
@@ -28,27 +30,69 @@ public abstract class Layout extends Component {
     }
 
     /**
-     * Function which call your logic in a loop. Note that you not
+     * Function which call your logic to place the children. Note that you not
      * initialize thinks in this function because it is calling in
-     * {@link #update()} which is called at {@link UIRenderer#render(UIWindow)} all time.
+     * {@link #arrange()} every time the layout is outdated.
      */
     protected abstract void logic();
 
     /**
-     * Function for updating the current {@link Layout}.
-     * Please don't call this method by your self. This function
-     * is already called at {@link UIRenderer#render(UIWindow)} all time.
+     * Function for the measure phase, the children of this layout ar already measured.
+     * The default layout keeps his own size, override this if the size depends on the children.
+     * Please don't call this method by your self, it is called at {@link ComponentTree#update()}.
      */
-    public void update() {
+    public void measure() {
+        setMeasuredSize(getWidth(), getHeight());
+    }
+
+    /**
+     * Function for the arrange phase, the children ar placed by {@link #logic()}.
+     * Please don't call this method by your self, it is called at {@link ComponentTree#update()}.
+     */
+    public void arrange() {
         holdComponentsInBound();
         logic();
     }
 
+    /**
+     * Function moves the layout, the children ar arranged again by the next frame.
+     * @param positionX set new x position.
+     */
+    @Override
+    public void setPositionX(int positionX) {
+        int old = getPositionX();
+        super.setPositionX(positionX);
+        if(old != positionX) {
+            requestLayout();
+        }
+    }
+
+    /**
+     * Function moves the layout, the children ar arranged again by the next frame.
+     * @param positionY set new y position.
+     */
+    @Override
+    public void setPositionY(int positionY) {
+        int old = getPositionY();
+        super.setPositionY(positionY);
+        if(old != positionY) {
+            requestLayout();
+        }
+    }
+
+    /**
+     * Function for updating the current {@link Layout} with both phases.
+     * Please don't call this method by your self. The {@link ComponentTree} calls the phases
+     * only for outdated layouts.
+     */
+    public void update() {
+        measure();
+        arrange();
+    }
+
     private void holdComponentsInBound() {
         for(Component component : getChildren()) {
-            Style style = component.getStyle();
-            if(style.getPosition().equalsIgnoreCase("absolute")
-                    || style.getPosition().equalsIgnoreCase("fixed"))
+            if(component.isOutOfFlow())
                 continue;
 
             int currentX_Width = component.getPositionX() + component.getWidth();
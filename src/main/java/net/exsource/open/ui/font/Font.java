@@ -1,6 +1,8 @@
 package net.exsource.open.ui.font;
 
 import net.exsource.open.UIFactory;
+import net.exsource.open.enums.TaskType;
+import net.exsource.open.logic.TaskService;
 import net.exsource.open.utils.UIUtils;
 import net.exsource.openlogger.Logger;
 import net.exsource.openutils.tools.Commons;
@@ -8,11 +10,15 @@ import net.exsource.openutils.tools.Commons;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Class for handling font and his {@link FontFace}'s.
  * This class provided functions to generate fonts and save them to
- * the UIRegistry.
+ * the UIRegistry. The faces of a font ar read at the same time by the {@link TaskService},
+ * use {@link #load(String)} to load many fonts at the same time.
  * @since 1.0.0
  * @see FontFace
  * @author Daniel Ramke
@@ -61,6 +67,15 @@ public class Font {
         logger.error("Can't create font " + name + ", reason: " + reason);
     }
 
+    /**
+     * Function loads the font by the {@link TaskService} of the {@link UIFactory}, instance of the calling thread.
+     * @param absolutePath path to the font include fontname.
+     * @return {@link CompletableFuture} - the created font, check {@link #isCreated()} before using it.
+     */
+    public static CompletableFuture<Font> load(String absolutePath) {
+        return UIFactory.getTaskService().submit(TaskType.SCAN, () -> new Font(absolutePath));
+    }
+
     /**
      * Function to update the current font faces.
      */
@@ -169,6 +184,7 @@ public class Font {
         int valid = 0;
         int invalid = 0;
         int duplicated = 0;
+        List<Callable<FontFace>> reads = new ArrayList<>();
 
         for(File file : files) {
             String fileName = file.getName();
@@ -202,9 +218,20 @@ public class Font {
                 duplicated++;
                 continue;
             }
-            faces.add(new FontFace(getAbsolutePath(), saveName));
+            reads.add(FontFace.read(getAbsolutePath(), saveName));
             valid++;
         }
+
+        try {
+            faces.addAll(UIFactory.getTaskService().invokeAll(TaskType.FONT, reads));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            reason = "Font loading was interrupted!";
+            return;
+        } catch (ExecutionException exception) {
+            reason = "Font faces can't be read: " + exception.getCause();
+            return;
+        }
         logger.info("Finished Font loading for " + getName()
                 + ", with ( Valid: " + valid + " | Invalid: " + invalid
                 + " | Duplicated: " + duplicated + " ), faces!");
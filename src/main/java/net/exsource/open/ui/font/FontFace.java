@@ -5,6 +5,7 @@ import net.exsource.openutils.tools.Commons;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
 
 /**
  * Class for store font faces which can be used by a font.
@@ -34,6 +35,16 @@ public class FontFace {
         this.generateBuffer();
     }
 
+    /**
+     * Function creates a task which reads the face, this is used by {@link Font} to read all faces at the same time.
+     * @param path the correct path to the face.
+     * @param name the name of the font face without extension like .ttf
+     * @return {@link Callable} - the task which returned the read face.
+     */
+    public static Callable<FontFace> read(@NotNull String path, @NotNull String name) {
+        return () -> new FontFace(path, name);
+    }
+
     /**
      * @return {@link String} - the correct file path to the font.
      */
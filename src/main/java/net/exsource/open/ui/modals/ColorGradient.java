@@ -25,6 +25,7 @@ public class ColorGradient {
     private final ColorStop[] complexGradient;
     private Direction direction;
     private float angle;
+    private int version;
 
     /**
      * Constructor creates a new gradient with the specified colors.
@@ -103,6 +104,7 @@ public class ColorGradient {
         }
         this.angle = angle;
         this.direction = Direction.get(angle);
+        this.version++;
     }
 
     /**
@@ -121,6 +123,14 @@ public class ColorGradient {
         return angle;
     }
 
+    /**
+     * @return int - the change counter of this gradient, it is increased by every angle change.
+     * Renderers use this to know when cached gradient geometry is outdated.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * This enum constance stored the known css gradient values.
      * With these values you can change the displayed direction of your gradient.
@@ -5,18 +5,25 @@ import net.exsource.openlogger.Logger;
 import net.exsource.openutils.tools.Commons;
 import org.jetbrains.annotations.NotNull;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import org.lwjgl.stb.STBImage;
+
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Class is for creating an image object.
  * Note that these objects are not loaded into the intended NanoVG context.
  * The creation of an OpenGL id is done in the renderer itself, since the correct context is also available there.
- * In addition, the methods getWidth() and getHeight() depend on the creation of the OpenGL id.
+ * The file is decoded asynchronously by the {@link ImageLoader}, the methods getImageWidth() and getImageHeight()
+ * ar only valid if the {@link State} is {@link State#READY}.
+ * The decoded pixels ar released after the upload to the graphic card, if they ar needed again the image is queued
+ * for decoding again and is {@link State#LOADING} until the pixels ar back.
  * For more information visit our website: <a href="https://www.exsource.de">click here</a>.
  * @since 1.0.0
  * @author Daniel Ramke
@@ -27,11 +34,16 @@ public class Image {
 
     private final String[] allowedFormats = new String[]{"png", "jpg", "jpeg", "svg", "gif"};
 
-    private final Map<Long, Integer> gl_func_id_list = new HashMap<>();
+    private final Map<Long, Integer> gl_func_id_list = new ConcurrentHashMap<>();
     private final String path;
     private final String name;
     private final String type;
 
+    private final List<Runnable> loadListeners = new ArrayList<>();
+
+    private volatile State state = State.FAILED;
+    private ByteBuffer buffer;
+
     private int imageWidth;
     private int imageHeight;
     private int[] pixelData;
@@ -39,6 +51,7 @@ public class Image {
     private float alpha;
 
     private boolean initialize;
+    private boolean disposed;
 
     /**
      * Constructor creates an image object which stored the needed information.
@@ -55,7 +68,8 @@ public class Image {
             return;
         }
         this.setAlpha(1.0f);
-        this.createInformation();
+        this.state = State.LOADING;
+        ImageLoader.load(this);
         initialize = true;
         UIFactory.registerImage(this);
     }
@@ -75,6 +89,15 @@ public class Image {
         gl_func_id_list.put(context, gl_func_id);
     }
 
+    /**
+     * Function removes the id of the given context, is called if the image was deleted from the graphic card.
+     * Please don't use this method by your self.
+     * @param context the nvg render context.
+     */
+    public void removeId(long context) {
+        gl_func_id_list.remove(context);
+    }
+
     /**
      * Function gets the id by contextID.
      * Note that this id is only useful to opengl.
@@ -177,13 +200,127 @@ public class Image {
 
     /**
      * This method returned the created pixel data array.
-     * The array contains all colors for the pixels.
-     * @return int[] - the complete array of colored pixels.
+     * The array contains all colors for the pixels in ARGB format and is created on the first call.
+     * @return int[] - the complete array of colored pixels, null if the image is not ready.
      */
-    public int[] getPixelData() {
+    public synchronized int[] getPixelData() {
+        if(pixelData == null) {
+            usePixels(pixels -> {
+                pixelData = new int[imageWidth * imageHeight];
+                for(int i = 0; i < pixelData.length; i++) {
+                    int red = pixels.get(i * 4) & 0xff;
+                    int green = pixels.get(i * 4 + 1) & 0xff;
+                    int blue = pixels.get(i * 4 + 2) & 0xff;
+                    int alpha = pixels.get(i * 4 + 3) & 0xff;
+                    pixelData[i] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+                }
+            });
+        }
         return pixelData;
     }
 
+    /**
+     * Function gives the decoded RGBA pixels to the consumer. The buffer is only valid inside
+     * the consumer, because it will be freed by {@link #releasePixels()} or {@link #dispose()}.
+     * If the pixels were released before, the image is queued for decoding again by the {@link ImageLoader}
+     * and is {@link State#LOADING} until they ar back, so the calling render thread never decodes the file.
+     * @param consumer the function which uses the pixels, like an upload to the graphic card.
+     * @return boolean - true if the pixels were available.
+     */
+    public synchronized boolean usePixels(@NotNull Consumer<ByteBuffer> consumer) {
+        if(buffer == null) {
+            reload();
+            return false;
+        }
+
+        consumer.accept(buffer);
+        return true;
+    }
+
+    /**
+     * Function frees the decoded pixels, is called after the pixels were uploaded to the graphic card.
+     * The image stays {@link State#READY}, so an evicted image can be uploaded again by {@link #usePixels(Consumer)}.
+     */
+    public synchronized void releasePixels() {
+        if(buffer != null) {
+            STBImage.stbi_image_free(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * @return boolean - true if the decoded pixels ar held in memory.
+     */
+    public synchronized boolean hasPixels() {
+        return buffer != null;
+    }
+
+    /**
+     * @return int - the size of the decoded pixels in bytes.
+     */
+    public int getByteSize() {
+        return imageWidth * imageHeight * 4;
+    }
+
+    /**
+     * @return {@link State} - the current loading state of this image.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Function runs the given action after the image was decoded or failed.
+     * If the image is already done, the action runs immediately on the calling thread, otherwise
+     * on the loader thread.
+     * @param action the action to run.
+     */
+    public void whenLoaded(@NotNull Runnable action) {
+        synchronized (loadListeners) {
+            if(state == State.LOADING) {
+                loadListeners.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Function is called by the {@link ImageLoader} if the decoding was finished.
+     * @param pixels the decoded RGBA pixels, null if the decoding failed.
+     * @param width the decoded width.
+     * @param height the decoded height.
+     */
+    void complete(ByteBuffer pixels, int width, int height) {
+        synchronized (this) {
+            if(disposed && pixels != null) {
+                STBImage.stbi_image_free(pixels);
+                pixels = null;
+            }
+            this.buffer = pixels;
+            this.imageWidth = pixels == null ? 0 : width;
+            this.imageHeight = pixels == null ? 0 : height;
+        }
+
+        List<Runnable> actions;
+        synchronized (loadListeners) {
+            state = pixels == null ? State.FAILED : State.READY;
+            actions = new ArrayList<>(loadListeners);
+            loadListeners.clear();
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Function frees the decoded pixels. Is called if the image was unregistered from the {@link UIFactory}.
+     * The graphic card copies stay valid.
+     */
+    public synchronized void dispose() {
+        releasePixels();
+        pixelData = null;
+        disposed = true;
+    }
+
     /**
      * @return boolean - true if the id list is not empty.
      */
@@ -203,30 +340,16 @@ public class Image {
     }
 
     /**
-     * Function created the needed image information for us.
-     * This will be absolute needed to create the correct {@link Image}.
-     * The width and height will be cached or all the colors.
-     * This function using {@link BufferedImage} to store and read the current
-     * {@link Image} data.
-     * @see BufferedImage
+     * Private function to queue the released pixels for decoding again. Only a {@link State#READY} image
+     * which is not disposed is queued, an image which is already loading is not queued twice.
      */
-    private void createInformation() {
-        try {
-            BufferedImage image = ImageIO.read(Commons.resurceToInputStream(path));
-            this.imageWidth = image.getWidth();
-            this.imageHeight = image.getHeight();
-            this.pixelData = new int[imageWidth * imageHeight];
-            int[] tmpData = new int[imageWidth * imageHeight];
-            image.getRGB(0, 0, imageWidth, imageHeight, tmpData, 0, imageWidth);
-            for(int i = 0; i < tmpData.length; i++) {
-                pixelData[i] = (tmpData[i] >> 16) & 0xff;
-                pixelData[i] = (tmpData[i] >> 8) & 0xff;
-                pixelData[i] = (tmpData[i]) & 0xff;
-                pixelData[i] = (tmpData[i] >> 24) & 0xff;
-            }
-        } catch (IOException exception) {
-            logger.error(exception);
+    private void reload() {
+        synchronized (loadListeners) {
+            if(disposed || state != State.READY)
+                return;
+            state = State.LOADING;
         }
+        ImageLoader.load(this);
     }
 
     /**
@@ -280,7 +403,16 @@ public class Image {
      * @return Image the founded image can be null!
      */
     public static Image get(@NotNull String name) {
-        return UIFactory.getImage(name);
+        return UIFactory.hasImage(name) ? UIFactory.getImage(name) : null;
+    }
+
+    /**
+     * This enum contains the loading states of an {@link Image}.
+     */
+    public enum State {
+        LOADING,
+        READY,
+        FAILED
     }
 
     /**
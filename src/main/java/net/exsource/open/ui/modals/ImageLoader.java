@@ -0,0 +1,66 @@
+package net.exsource.open.ui.modals;
+
+import net.exsource.open.UIFactory;
+import net.exsource.open.enums.TaskType;
+import net.exsource.open.logic.TaskService;
+import net.exsource.openlogger.Logger;
+import net.exsource.openutils.tools.Commons;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Class decodes {@link Image} files by the {@link TaskService} of the {@link UIFactory} as {@link TaskType#IMAGE} tasks.
+ * The files ar decoded by {@link STBImage} into direct RGBA buffers, this means the render threads only need to upload the pixels.
+ * @since 1.0.0
+ * @see Image
+ * @see TaskService
+ * @author Daniel Ramke
+ */
+public final class ImageLoader {
+
+    private static final Logger logger = Logger.getLogger();
+
+    private ImageLoader() {}
+
+    /**
+     * Function queues the given image for decoding. The result is reported by {@link Image#complete(ByteBuffer, int, int)}.
+     * @param image the image to decode.
+     */
+    public static void load(@NotNull Image image) {
+        UIFactory.getTaskService().execute(TaskType.IMAGE, () -> decode(image));
+    }
+
+    /**
+     * Private function which decodes the file of the image on a worker thread.
+     * @param image the image to decode.
+     */
+    private static void decode(Image image) {
+        ByteBuffer source;
+        try {
+            source = Commons.resourceToByteBuffer(image.getPath());
+        } catch (Exception exception) {
+            source = null;
+        }
+
+        if(source == null) {
+            logger.error("Can't find image file by path: " + image.getPath());
+            image.complete(null, 0, 0);
+            return;
+        }
+
+        try(MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer components = stack.mallocInt(1);
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(source, width, height, components, 4);
+            if(pixels == null) {
+                logger.error("Image " + image.getName() + " can't be decoded: " + STBImage.stbi_failure_reason());
+            }
+            image.complete(pixels, width.get(0), height.get(0));
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package net.exsource.open.ui.style;
 
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import net.exsource.open.ui.component.Component;
 import net.exsource.open.ui.style.generic.Background;
 import net.exsource.openutils.enums.Colors;
 import net.exsource.openutils.math.Insets;
 import net.exsource.openutils.tools.Color;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class stores the hard coded style of a {@link Component}. Every setter notifies
+ * the registered listeners if the value really changed, this is used by the {@link Component}
+ * to invalidate itself for the render tree.
+ * @since 1.0.0
+ * @see Component
+ * @author Daniel Ramke
+ */
 @Getter
 @Setter
 @Builder
 public class Style {
 
+    @Getter(AccessLevel.NONE)
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
     @Builder.Default
     private int zIndex = 0;
 
@@ -31,4 +48,131 @@ public class Style {
     @Builder.Default
     private String position = "relative";
 
+    @Builder.Default
+    private float flexGrow = 0f;
+
+    @Builder.Default
+    private float flexShrink = 1f;
+
+    @Builder.Default
+    private int flexBasis = -1;
+
+    /**
+     * @param zIndex the new stack order of the holder.
+     */
+    public void setZIndex(int zIndex) {
+        if(this.zIndex == zIndex)
+            return;
+        this.zIndex = zIndex;
+        changed();
+    }
+
+    /**
+     * @param background the new {@link Background} of the holder.
+     */
+    public void setBackground(Background background) {
+        if(this.background == background)
+            return;
+        this.background = background;
+        changed();
+    }
+
+    /**
+     * @param forgroundColor the new foreground color of the holder.
+     */
+    public void setForgroundColor(Color forgroundColor) {
+        if(this.forgroundColor == forgroundColor)
+            return;
+        this.forgroundColor = forgroundColor;
+        changed();
+    }
+
+    /**
+     * @param padding the new inner spacing of the holder.
+     */
+    public void setPadding(Insets padding) {
+        if(this.padding == padding)
+            return;
+        this.padding = padding;
+        changed();
+    }
+
+    /**
+     * @param margin the new outer spacing of the holder.
+     */
+    public void setMargin(Insets margin) {
+        if(this.margin == margin)
+            return;
+        this.margin = margin;
+        changed();
+    }
+
+    /**
+     * @param position the new css position like relative, absolute or fixed.
+     */
+    public void setPosition(String position) {
+        if(Objects.equals(this.position, position))
+            return;
+        this.position = position;
+        changed();
+    }
+
+    /**
+     * @param flexGrow the part of the free space which the holder gets in a flex layout, 0 means no growing.
+     */
+    public void setFlexGrow(float flexGrow) {
+        if(this.flexGrow == flexGrow)
+            return;
+        this.flexGrow = flexGrow;
+        changed();
+    }
+
+    /**
+     * @param flexShrink the part of the missing space which the holder gives in a flex layout, 0 means no shrinking.
+     */
+    public void setFlexShrink(float flexShrink) {
+        if(this.flexShrink == flexShrink)
+            return;
+        this.flexShrink = flexShrink;
+        changed();
+    }
+
+    /**
+     * @param flexBasis the start size on the main axis of a flex layout, -1 means the size of the holder.
+     */
+    public void setFlexBasis(int flexBasis) {
+        if(this.flexBasis == flexBasis)
+            return;
+        this.flexBasis = flexBasis;
+        changed();
+    }
+
+    /**
+     * Function adds a listener which is called after a value of this style was changed.
+     * @param listener the listener to add.
+     */
+    public void addListener(Runnable listener) {
+        if(listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * @param listener the listener to remove.
+     */
+    public void removeListener(Runnable listener) {
+        if(listener != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Function notifies all listeners. Call this if you change a mutable value like
+     * the {@link Background} object itself.
+     */
+    public void changed() {
+        for(Runnable listener : listeners) {
+            listener.run();
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package net.exsource.open.utils;
 
 import net.exsource.openutils.tools.Color;
+import net.exsource.open.logic.renderer.util.NanoVGScratch;
 import org.jetbrains.annotations.NotNull;
 import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NanoVG;
@@ -17,13 +18,14 @@ import org.lwjgl.nanovg.NanoVG;
 public class NanoVGColor {
 
     /**
-     * Function which converts {@link Color}'s to {@link NVGColor}'s.
+     * Function which converts {@link Color}'s to {@link NVGColor}'s. The color is written into the
+     * given struct, this means no native memory is allocated by this function.
      * @param color the {@link Color} object to convert.
-     * @return {@link NVGColor} - converted {@link Color}.
+     * @param nvgColor the struct which receives the converted values.
+     * @return {@link NVGColor} - the given struct with the converted {@link Color}.
+     * @see NanoVGScratch
      */
-    public static NVGColor convert(@NotNull Color color) {
-        NVGColor nvgColor = NVGColor.calloc();
-
+    public static NVGColor convert(@NotNull Color color, @NotNull NVGColor nvgColor) {
         nvgColor.r(color.getPercentRed());
         nvgColor.g(color.getPercentGreen());
         nvgColor.b(color.getPercentBlue());
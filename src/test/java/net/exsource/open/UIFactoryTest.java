@@ -0,0 +1,50 @@
+package net.exsource.open;
+
+import net.exsource.open.ui.modals.Image;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UIFactoryTest {
+
+    @Test
+    void imagesAreFoundByName() {
+        Image image = new Image("registry/missing-registry.png");
+
+        assertTrue(UIFactory.hasImage("missing-registry"));
+        assertSame(image, UIFactory.getImage("missing-registry"));
+        assertSame(image, Image.get("missing-registry"));
+        assertFalse(UIFactory.hasImage("unknown-registry"));
+        assertSame(UIFactory.getFallbackImage(), UIFactory.getImage("unknown-registry"));
+        assertNull(Image.get("unknown-registry"));
+
+        UIFactory.unregisterImage("missing-registry");
+        assertFalse(UIFactory.hasImage("missing-registry"));
+    }
+
+    @Test
+    void concurrentRegistrations() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < 8; i++) {
+            int offset = i * 50;
+            Thread thread = new Thread(() -> {
+                for(int j = 0; j < 50; j++) {
+                    UIFactory.registerImage(new Image("registry/concurrent-" + (offset + j) + ".png"));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        for(int i = 0; i < 400; i++) {
+            assertTrue(UIFactory.hasImage("concurrent-" + i));
+            UIFactory.unregisterImage("concurrent-" + i);
+        }
+    }
+}
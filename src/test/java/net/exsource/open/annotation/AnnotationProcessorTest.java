@@ -0,0 +1,122 @@
+package net.exsource.open.annotation;
+
+import net.exsource.open.annotation.start.Initialization;
+import net.exsource.open.annotation.start.PostInitialization;
+import net.exsource.open.annotation.start.PreInitialisation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationProcessorTest {
+
+    @Test
+    void indexedClassRunsPhasesOnOneInstance() {
+        assertTrue(AnnotationProcessor.isIndexed(Indexed.class));
+        run(Indexed.class);
+
+        assertEquals(List.of("pre", "init", "post"), Indexed.calls);
+        assertEquals(2, Indexed.instances.size());
+        assertSame(Indexed.instances.get(0), Indexed.instances.get(1));
+        assertSame(Indexed.instances.get(0), AnnotationProcessor.getInstance(Indexed.class));
+    }
+
+    @Test
+    void reflectedClassRunsPhasesOnOneInstance() {
+        assertFalse(AnnotationProcessor.isIndexed(Reflected.class));
+        run(Reflected.class);
+
+        assertEquals(List.of("pre", "init", "post"), Reflected.calls);
+        assertEquals(2, Reflected.instances.size());
+        assertSame(Reflected.instances.get(0), Reflected.instances.get(1));
+        assertSame(Reflected.instances.get(0), AnnotationProcessor.getInstance(Reflected.class));
+    }
+
+    @Test
+    void indexCoversPhasesWithoutFunctions() throws Throwable {
+        Class<?> type = Class.forName(Partial.class.getName() + LifecycleIndex.SUFFIX);
+        LifecycleIndex index = (LifecycleIndex) type.getDeclaredConstructor().newInstance();
+        Object instance = index.create();
+
+        assertTrue(index.invoke(instance, PreInitialisation.class));
+        assertTrue(index.invoke(instance, PostInitialization.class));
+        assertEquals(0, Partial.calls.get());
+        assertTrue(index.invoke(instance, Initialization.class));
+        assertEquals(1, Partial.calls.get());
+        assertFalse(index.invoke(instance, Deprecated.class));
+    }
+
+    private static void run(Class<?> type) {
+        AnnotationProcessor.invoke(type, PreInitialisation.class);
+        AnnotationProcessor.invoke(type, Initialization.class);
+        AnnotationProcessor.invoke(type, PostInitialization.class);
+    }
+
+    /**
+     * Fixture which is indexed by the {@link LifecycleProcessor} at test compile time.
+     */
+    public static class Indexed {
+
+        static final List<String> calls = new ArrayList<>();
+        static final List<Object> instances = new ArrayList<>();
+
+        @PreInitialisation
+        static void pre() {
+            calls.add("pre");
+        }
+
+        @Initialization
+        void init() {
+            calls.add("init");
+            instances.add(this);
+        }
+
+        @PostInitialization
+        void post() {
+            calls.add("post");
+            instances.add(this);
+        }
+    }
+
+    /**
+     * Fixture with only one phase, the index must answer the other phases too.
+     */
+    public static class Partial {
+
+        static final AtomicInteger calls = new AtomicInteger();
+
+        @Initialization
+        void init() {
+            calls.incrementAndGet();
+        }
+    }
+
+    /**
+     * Fixture with a private function, which can't be called by an index and uses the cached functions.
+     */
+    public static class Reflected {
+
+        static final List<String> calls = new ArrayList<>();
+        static final List<Object> instances = new ArrayList<>();
+
+        @PreInitialisation
+        static void pre() {
+            calls.add("pre");
+        }
+
+        @Initialization
+        private void init() {
+            calls.add("init");
+            instances.add(this);
+        }
+
+        @PostInitialization
+        void post() {
+            calls.add("post");
+            instances.add(this);
+        }
+    }
+}
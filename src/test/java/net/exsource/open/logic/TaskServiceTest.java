@@ -0,0 +1,109 @@
+package net.exsource.open.logic;
+
+import net.exsource.open.enums.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskServiceTest {
+
+    @Test
+    void respectsLimitPerType() throws Exception {
+        TaskService service = new TaskService();
+        service.setLimit(TaskType.FONT, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            int value = i;
+            tasks.add(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(2);
+                running.decrementAndGet();
+                return value;
+            });
+        }
+
+        List<Integer> results = service.invokeAll(TaskType.FONT, tasks);
+        assertEquals(20, results.size());
+        assertEquals(19, results.get(19));
+        assertTrue(peak.get() <= 2);
+        assertTrue(service.drain(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failureCancelsSiblings() {
+        TaskService service = new TaskService();
+        service.setLimit(TaskType.SCAN, 1);
+        AtomicInteger executed = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            throw new IllegalStateException("broken");
+        });
+        for(int i = 0; i < 10; i++) {
+            tasks.add(executed::incrementAndGet);
+        }
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> service.invokeAll(TaskType.SCAN, tasks));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(0, executed.get());
+        service.drain(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void failureInterruptsRunningSiblings() throws Exception {
+        TaskService service = new TaskService();
+        service.setLimit(TaskType.SCAN, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        AtomicInteger stopped = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            started.await();
+            throw new IllegalStateException("broken");
+        });
+        tasks.add(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException exception) {
+                interrupted.incrementAndGet();
+            } finally {
+                stopped.incrementAndGet();
+            }
+            return 1;
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> service.invokeAll(TaskType.SCAN, tasks));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(1, interrupted.get());
+        assertEquals(1, stopped.get());
+        assertTrue(service.drain(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void drainWaitsAndRejects() throws Exception {
+        TaskService service = new TaskService();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> future = service.submit(TaskType.IMAGE, () -> {
+            started.countDown();
+            Thread.sleep(20);
+            return "done";
+        });
+        started.await();
+
+        assertTrue(service.drain(1, TimeUnit.SECONDS));
+        assertEquals("done", future.get());
+        assertTrue(service.isDrained());
+        assertTrue(service.submit(TaskType.IMAGE, () -> "late").isCompletedExceptionally());
+    }
+}
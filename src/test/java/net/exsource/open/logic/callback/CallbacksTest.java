@@ -0,0 +1,76 @@
+package net.exsource.open.logic.callback;
+
+import org.junit.jupiter.api.Test;
+import org.lwjgl.glfw.GLFWScrollCallbackI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CallbacksTest {
+
+    @Test
+    void removeWhileInvoking() {
+        Callbacks.ScrollCallback scroll = new Callbacks.ScrollCallback();
+        int[] calls = new int[1];
+        GLFWScrollCallbackI second = (window, xOffset, yOffset) -> calls[0]++;
+        scroll.add((window, xOffset, yOffset) -> scroll.remove(second));
+        scroll.add(second);
+
+        assertDoesNotThrow(() -> scroll.invoke(0L, 0.0, 1.0));
+        assertEquals(1, calls[0]);
+        assertEquals(1, scroll.getCallbacks().size());
+    }
+
+    @Test
+    void coalescesMovesAndScrolls() {
+        Callbacks.MousePositionCallback position = new Callbacks.MousePositionCallback();
+        Callbacks.ScrollCallback scroll = new Callbacks.ScrollCallback();
+        double[] last = new double[4];
+        int[] calls = new int[2];
+        position.add((window, positionX, positionY) -> {
+            last[0] = positionX;
+            last[1] = positionY;
+            calls[0]++;
+        });
+        scroll.add((window, xOffset, yOffset) -> {
+            last[2] = xOffset;
+            last[3] = yOffset;
+            calls[1]++;
+        });
+        position.setCoalescing(true);
+        scroll.setCoalescing(true);
+
+        for(int i = 1; i <= 10; i++) {
+            position.invoke(0L, i, i * 2);
+            scroll.invoke(0L, 0.0, 1.0);
+        }
+        assertEquals(0, calls[0]);
+        assertEquals(0, calls[1]);
+
+        position.flush();
+        scroll.flush();
+        position.flush();
+        scroll.flush();
+        assertEquals(1, calls[0]);
+        assertEquals(1, calls[1]);
+        assertArrayEquals(new double[]{10.0, 20.0, 0.0, 10.0}, last);
+    }
+
+    @Test
+    void buttonDeliversCollapsedMoveFirst() {
+        Callbacks.MousePositionCallback position = new Callbacks.MousePositionCallback();
+        Callbacks.MouseButtonCallback button = new Callbacks.MouseButtonCallback();
+        StringBuilder order = new StringBuilder();
+        position.add((window, positionX, positionY) -> order.append("move ").append((int) positionX).append(';'));
+        button.add((window, pressed, action, mods) -> order.append("button ").append(pressed).append(';'));
+        button.setPosition(position);
+        position.setCoalescing(true);
+
+        position.invoke(0L, 5, 5);
+        position.invoke(0L, 40, 40);
+        button.invoke(0L, 0, 1, 0);
+        button.invoke(0L, 0, 0, 0);
+        position.flush();
+
+        assertEquals("move 40;button 0;button 0;", order.toString());
+    }
+}
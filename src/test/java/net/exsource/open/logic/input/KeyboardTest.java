@@ -0,0 +1,42 @@
+package net.exsource.open.logic.input;
+
+import net.exsource.open.enums.input.Action;
+import net.exsource.open.enums.input.Input;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.glfw.GLFW;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyboardTest {
+
+    @Test
+    void ignoresUnknownKeys() {
+        Keyboard keyboard = new Keyboard();
+        keyboard.callback(0L, GLFW.GLFW_KEY_UNKNOWN, 0, Action.PRESS.getCode(), 0);
+        keyboard.callback(0L, GLFW.GLFW_KEY_LAST + 1, 0, Action.PRESS.getCode(), 0);
+        keyboard.publish();
+        assertFalse(keyboard.getState().isPressed(GLFW.GLFW_KEY_UNKNOWN));
+    }
+
+    @Test
+    void publishesOncePerFrame() {
+        Keyboard keyboard = new Keyboard();
+        Keyboard.State before = keyboard.getState();
+
+        keyboard.callback(0L, GLFW.GLFW_KEY_LEFT_SHIFT, 0, Action.PRESS.getCode(), 0);
+        keyboard.callback(0L, GLFW.GLFW_KEY_A, 0, Action.PRESS.getCode(), 0);
+        assertFalse(keyboard.isShiftPressed());
+
+        keyboard.publish();
+        Keyboard.State after = keyboard.getState();
+        assertTrue(after.isShiftPressed());
+        assertTrue(after.input(Input.A));
+        assertFalse(before.isShiftPressed());
+
+        keyboard.callback(0L, GLFW.GLFW_KEY_LEFT_SHIFT, 0, Action.RELEASE.getCode(), 0);
+        assertTrue(after.isShiftPressed());
+        keyboard.publish();
+        assertFalse(keyboard.isShiftPressed());
+        assertSame(keyboard.getState(), keyboard.getState());
+    }
+}
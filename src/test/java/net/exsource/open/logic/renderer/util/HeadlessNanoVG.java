@@ -0,0 +1,84 @@
+package net.exsource.open.logic.renderer.util;
+
+import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.system.APIUtil;
+import org.lwjgl.system.CallbackI;
+import org.lwjgl.system.JNI;
+import org.lwjgl.system.Pointer;
+import org.lwjgl.system.libffi.FFICIF;
+
+import java.lang.reflect.Field;
+
+import static org.lwjgl.system.MemoryUtil.*;
+import static org.lwjgl.system.libffi.LibFFI.*;
+
+/**
+ * Creates a real {@link NanoVG} context without OpenGL. All render functions of the backend ar no-ops, the
+ * texture functions report success, so paths, paints and images ar processed by nanovg like in a window.
+ */
+final class HeadlessNanoVG {
+
+    private static final int RENDER_FUNCTIONS = 13;
+    private static final int TEXTURE_FUNCTIONS = 5;
+
+    private static final FFICIF SUCCESS_CIF = APIUtil.apiCreateCIF(FFI_DEFAULT_ABI, ffi_type_sint32);
+    private static final FFICIF VOID_CIF = APIUtil.apiCreateCIF(FFI_DEFAULT_ABI, ffi_type_void);
+
+    private static final long SUCCESS = new CallbackI() {
+        @Override
+        public FFICIF getCallInterface() {
+            return SUCCESS_CIF;
+        }
+
+        @Override
+        public void callback(long ret, long args) {
+            memPutInt(ret, 1);
+        }
+    }.address();
+
+    private static final long NOTHING = new CallbackI() {
+        @Override
+        public FFICIF getCallInterface() {
+            return VOID_CIF;
+        }
+
+        @Override
+        public void callback(long ret, long args) {
+        }
+    }.address();
+
+    private HeadlessNanoVG() {}
+
+    /**
+     * @return long - the context, must be deleted by {@link #delete(long)}.
+     */
+    static long create() {
+        long params = nmemCalloc(1, 2L * Pointer.POINTER_SIZE + RENDER_FUNCTIONS * (long) Pointer.POINTER_SIZE);
+        try {
+            memPutInt(params + Pointer.POINTER_SIZE, 1);
+            for(int i = 0; i < RENDER_FUNCTIONS; i++) {
+                memPutAddress(params + (2L + i) * Pointer.POINTER_SIZE, i < TEXTURE_FUNCTIONS ? SUCCESS : NOTHING);
+            }
+            long context = JNI.invokePP(params, function("nvgCreateInternal"));
+            if(context == NULL)
+                throw new IllegalStateException("Can't create headless NanoVG context!");
+            return context;
+        } finally {
+            nmemFree(params);
+        }
+    }
+
+    static void delete(long context) {
+        JNI.invokePV(context, function("nvgDeleteInternal"));
+    }
+
+    private static long function(String name) {
+        try {
+            Field field = NanoVG.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field.getLong(null);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
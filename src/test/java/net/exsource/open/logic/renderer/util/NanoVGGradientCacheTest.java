@@ -0,0 +1,67 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.ui.modals.ColorGradient;
+import net.exsource.open.ui.modals.ColorStop;
+import net.exsource.openutils.math.Radius;
+import net.exsource.openutils.tools.Color;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NanoVGGradientCacheTest {
+
+    @Test
+    void rampKeepsEveryStop() {
+        Color red = Color.rgb(255, 0, 0);
+        Color green = Color.rgb(0, 255, 0);
+        Color blue = Color.rgb(0, 0, 255);
+        ColorStop[] stops = ColorGradient.get(red, green, blue).getColors();
+
+        ByteBuffer ramp = ByteBuffer.allocate(NanoVGGradientCache.RAMP_SIZE * 4);
+        NanoVGGradientCache.fillRamp(stops, ramp);
+        assertEquals(NanoVGGradientCache.RAMP_SIZE * 4, ramp.remaining());
+
+        assertPixel(ramp, 0, 255, 0, 0);
+        assertPixel(ramp, NanoVGGradientCache.RAMP_SIZE / 2, 0, 255, 0);
+        assertPixel(ramp, NanoVGGradientCache.RAMP_SIZE - 1, 0, 0, 255);
+    }
+
+    @Test
+    void angleChangesVersion() {
+        ColorGradient gradient = ColorGradient.get(Color.rgb(255, 0, 0), Color.rgb(0, 0, 255));
+        int version = gradient.getVersion();
+        gradient.setAngle(ColorGradient.Direction.CENTER_LEFT_TO_CENTER_RIGHT);
+        assertNotEquals(version, gradient.getVersion());
+    }
+
+    @Test
+    void sharedGradientCachesEveryBounds() {
+        NanoVGGradientCache cache = new NanoVGGradientCache(0L);
+        RenderCommandBuffer commands = new RenderCommandBuffer();
+        ColorGradient gradient = ColorGradient.get(Color.rgb(255, 0, 0), Color.rgb(0, 0, 255));
+        for(int i = 0; i < 10; i++) {
+            assertTrue(cache.record(commands, gradient, 0, 0, 100, 20, Radius.FALLBACK_RADIUS));
+            assertTrue(cache.record(commands, gradient, 0, 40, 200, 20, Radius.FALLBACK_RADIUS));
+            commands.reset();
+        }
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.geometries());
+
+        gradient.setAngle(ColorGradient.Direction.CENTER_LEFT_TO_CENTER_RIGHT);
+        assertTrue(cache.record(commands, gradient, 0, 0, 100, 20, Radius.FALLBACK_RADIUS));
+        assertEquals(1, cache.geometries());
+
+        commands.dispose();
+        cache.dispose();
+    }
+
+    private void assertPixel(ByteBuffer ramp, int pixel, int red, int green, int blue) {
+        int offset = pixel * 4;
+        assertEquals(red, ramp.get(offset) & 0xFF, 2);
+        assertEquals(green, ramp.get(offset + 1) & 0xFF, 2);
+        assertEquals(blue, ramp.get(offset + 2) & 0xFF, 2);
+        assertEquals(255, ramp.get(offset + 3) & 0xFF);
+    }
+}
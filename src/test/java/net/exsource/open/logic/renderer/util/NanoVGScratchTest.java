@@ -0,0 +1,102 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.open.ui.modals.ColorGradient;
+import net.exsource.open.ui.style.generic.Background;
+import net.exsource.openutils.enums.Colors;
+import net.exsource.openutils.tools.Color;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.nanovg.NVGColor;
+import org.lwjgl.nanovg.NanoVG;
+import org.lwjgl.system.Configuration;
+import org.lwjgl.system.MemoryUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NanoVGScratchTest {
+
+    @Test
+    void steadyStateFramesDoNotAllocate() {
+        assertTrue(Configuration.DEBUG_MEMORY_ALLOCATOR.get(false), "The test needs -Dorg.lwjgl.util.DebugAllocator=true");
+        long context = HeadlessNanoVG.create();
+        long[] frame = {0};
+        NanoVGScratch scratch = new NanoVGScratch();
+        NanoVGBackground background = new NanoVGBackground(context, scratch, () -> frame[0]);
+        Background color = Background.get(Color.named(Colors.CORAL));
+        Background translucent = Background.get(Color.rgba(20, 40, 60, 128));
+        Background gradient = Background.get(ColorGradient.get(Color.named(Colors.CORAL), Color.named(Colors.GRAY)));
+
+        for(; frame[0] < 3; frame[0]++) {
+            drawFrame(context, background, color, translucent, gradient);
+        }
+        long allocations = scratch.getAllocations();
+        long live = liveAllocations();
+        assertTrue(allocations > 0);
+
+        for(; frame[0] < 1_003; frame[0]++) {
+            drawFrame(context, background, color, translucent, gradient);
+        }
+        assertEquals(allocations, scratch.getAllocations());
+        assertEquals(live, liveAllocations());
+
+        background.dispose();
+        scratch.dispose();
+        HeadlessNanoVG.delete(context);
+    }
+
+    @Test
+    void convertsIntoScratchColor() {
+        NanoVGScratch scratch = new NanoVGScratch();
+        Color color = Color.named(Colors.CORAL);
+
+        NVGColor converted = scratch.color(color);
+        assertEquals(color.getPercentRed(), converted.r());
+        assertEquals(color.getPercentGreen(), converted.g());
+        assertEquals(color.getPercentBlue(), converted.b());
+        assertEquals(color.getPercentAlpha(), converted.a());
+        scratch.dispose();
+    }
+
+    @Test
+    void rejectsForeignThreads() throws InterruptedException {
+        NanoVGScratch scratch = new NanoVGScratch();
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                scratch.paint();
+            } catch (Throwable throwable) {
+                error[0] = throwable;
+            }
+        });
+        thread.start();
+        thread.join();
+        assertInstanceOf(IllegalStateException.class, error[0]);
+        scratch.dispose();
+    }
+
+    /**
+     * Draws a frame with 100 opaque, translucent and gradient backgrounds by the real background path.
+     */
+    private void drawFrame(long context, NanoVGBackground background, Background... backgrounds) {
+        NanoVG.nvgBeginFrame(context, 800, 600, 1f);
+        for(int component = 0; component < 100; component++) {
+            Background next = backgrounds[component % backgrounds.length];
+            background.draw(component * 8, component * 6, 40, 30, next);
+        }
+        background.endFrame();
+        NanoVG.nvgEndFrame(context);
+    }
+
+    /**
+     * @return long - the native allocations of the current thread which were not freed yet.
+     */
+    private long liveAllocations() {
+        long thread = Thread.currentThread().getId();
+        long[] count = {0};
+        MemoryUtil.memReport((address, memory, threadId, threadName, stacktrace) -> {
+            if(threadId == thread) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+}
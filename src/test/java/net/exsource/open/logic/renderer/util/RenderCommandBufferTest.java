@@ -0,0 +1,49 @@
+package net.exsource.open.logic.renderer.util;
+
+import net.exsource.openutils.math.Radius;
+import net.exsource.openutils.tools.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderCommandBufferTest {
+
+    @Test
+    void recordsAndDumpsCommands() {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        buffer.fillColor(10, 20, 30, 40, Radius.FALLBACK_RADIUS, Color.rgb(255, 0, 0));
+        buffer.fillImage(0, 0, 8, 8, Radius.FALLBACK_RADIUS, 0, 0, 8, 8, 0, 7, 0.5f);
+
+        assertEquals(2, buffer.getCommandCount());
+        assertEquals(RenderCommand.FILL_COLOR.getSize() + RenderCommand.FILL_IMAGE.getSize(), buffer.getSize());
+
+        String[] lines = buffer.dump().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("FILL_COLOR 10.0 20.0 30.0 40.0"));
+        assertTrue(lines[0].endsWith("1.0 0.0 0.0 1.0"));
+        assertTrue(lines[1].startsWith("FILL_IMAGE"));
+        assertTrue(lines[1].endsWith(" 7 0.5"));
+
+        buffer.reset();
+        assertEquals(0, buffer.getCommandCount());
+        assertEquals("", buffer.dump());
+        buffer.dispose();
+    }
+
+    @Test
+    void growsWithoutLosingCommands() {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        int initial = buffer.getCapacity();
+        int count = initial / RenderCommand.FILL_COLOR.getSize() * 3;
+        for(int i = 0; i < count; i++) {
+            buffer.fillColor(i, 0, 1, 1, Radius.FALLBACK_RADIUS, Color.rgb(0, 0, 255));
+        }
+
+        assertTrue(buffer.getCapacity() > initial);
+        assertEquals(count, buffer.getCommandCount());
+        String[] lines = buffer.dump().split("\n");
+        assertEquals(count, lines.length);
+        assertTrue(lines[count - 1].startsWith("FILL_COLOR " + (float) (count - 1)));
+        buffer.dispose();
+    }
+}
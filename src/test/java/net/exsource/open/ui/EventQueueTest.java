@@ -0,0 +1,58 @@
+package net.exsource.open.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventQueueTest {
+
+    @Test
+    void drainsEventsInOrderOfPosting() throws Exception {
+        EventQueue queue = new EventQueue();
+        List<Integer> received = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            for(int i = 0; i < 1000; i++) {
+                int value = i;
+                queue.post(() -> received.add(value));
+            }
+        });
+        producer.start();
+        producer.join();
+
+        assertTrue(queue.hasPending());
+        assertEquals(1000, queue.drain());
+        assertFalse(queue.hasPending());
+        for(int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void eventsPostedWhileDrainingWaitForTheNextFrame() {
+        EventQueue queue = new EventQueue();
+        queue.post(() -> queue.post(() -> {}));
+
+        assertEquals(1, queue.drain());
+        assertTrue(queue.hasPending());
+        assertEquals(1, queue.drain());
+    }
+
+    @Test
+    void postWakesTheParkedOwner() throws Exception {
+        EventQueue queue = new EventQueue();
+        Thread owner = new Thread(() -> queue.await(10.0));
+        queue.setOwner(owner);
+        long start = System.nanoTime();
+        owner.start();
+        Thread.sleep(50);
+        queue.post(() -> {});
+        owner.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(owner.isAlive());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+}
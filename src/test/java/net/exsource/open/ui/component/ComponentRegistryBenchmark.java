@@ -0,0 +1,39 @@
+package net.exsource.open.ui.component;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the time of the registry, is only executed by the benchmark task.
+ */
+@Tag("benchmark")
+public class ComponentRegistryBenchmark {
+
+    /**
+     * Creates 25k and 100k components, with a linear registry the second run takes about 4 times longer.
+     * A quadratic registry would take about 16 times longer, so the limit of 10 leaves room for noise.
+     */
+    @Test
+    void creationStaysLinear() {
+        create(10_000);
+        long small = create(25_000);
+        long big = create(100_000);
+        assertTrue(big < Math.max(small, 1_000_000L) * 10, "25k: " + small + "ns, 100k: " + big + "ns");
+    }
+
+    private long create(int count) {
+        List<Component> created = new ArrayList<>(count);
+        long start = System.nanoTime();
+        for(int i = 0; i < count; i++) {
+            created.add(new EmptyComponent());
+        }
+        long time = System.nanoTime() - start;
+        created.forEach(Component::dispose);
+        return time;
+    }
+}
@@ -0,0 +1,48 @@
+package net.exsource.open.ui.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentRegistryTest {
+
+    @Test
+    void generatesUniqueNames() {
+        Component first = new EmptyComponent();
+        Component second = new EmptyComponent();
+        Component third = new EmptyComponent();
+
+        assertNotEquals(first.getLocalizedName(), second.getLocalizedName());
+        assertNotEquals(second.getLocalizedName(), third.getLocalizedName());
+        assertTrue(second.getLocalizedName().startsWith("empty-"));
+        assertSame(second, Component.getComponent(second.getLocalizedName()));
+
+        first.dispose();
+        second.dispose();
+        third.dispose();
+    }
+
+    @Test
+    void disposeFreesTheName() {
+        Component component = new EmptyComponent();
+        String name = component.getLocalizedName();
+        component.dispose();
+        assertNull(Component.getComponent(name));
+    }
+
+    @Test
+    void firstDuplicateGetsSuffixOne() {
+        ComponentRegistry registry = new ComponentRegistry();
+        Component first = new EmptyComponent();
+        Component second = new EmptyComponent();
+        Component third = new EmptyComponent();
+
+        assertEquals("name", registry.register("name", first));
+        assertEquals("name-1", registry.register("name", second));
+        assertEquals("name-2", registry.register("name", third));
+
+        first.dispose();
+        second.dispose();
+        third.dispose();
+    }
+}
@@ -0,0 +1,37 @@
+package net.exsource.open.ui.component;
+
+import net.exsource.open.ui.component.layout.Pane;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutDirtyTest {
+
+    @Test
+    void changePropagatesToParents() {
+        Component root = new Pane();
+        Component form = new Pane();
+        Component first = new EmptyComponent();
+        Component second = new EmptyComponent();
+        root.addChild(form);
+        form.addChildren(first, second);
+        for(Component component : new Component[]{root, form, first, second}) {
+            component.clearLayout();
+        }
+
+        second.setSize(20);
+        assertTrue(second.isLayoutDirty());
+        assertTrue(form.isLayoutDirty());
+        assertTrue(root.isLayoutDirty());
+        assertFalse(first.isLayoutDirty());
+
+        root.clearLayout();
+        form.clearLayout();
+        second.clearLayout();
+        first.setPositionX(10);
+        assertFalse(first.isLayoutDirty());
+        assertTrue(form.isLayoutDirty());
+
+        root.dispose();
+    }
+}
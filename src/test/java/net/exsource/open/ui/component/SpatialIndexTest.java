@@ -0,0 +1,43 @@
+package net.exsource.open.ui.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialIndexTest {
+
+    @Test
+    void findsTopMostComponent() {
+        Component bottom = new EmptyComponent();
+        Component top = new EmptyComponent();
+        bottom.setPosition(0, 0);
+        bottom.setSize(200, 200);
+        top.setPosition(50, 50);
+        top.setSize(100, 100);
+
+        List<Component> order = List.of(bottom, top);
+        SpatialIndex index = new SpatialIndex(Comparator.comparingInt(order::indexOf));
+        index.update(bottom);
+        index.update(top);
+
+        assertSame(top, index.componentAt(75, 75));
+        assertSame(bottom, index.componentAt(10, 10));
+        assertNull(index.componentAt(250, 10));
+        assertEquals(order, index.query(0, 0, 300, 300));
+
+        top.setPosition(300, 300);
+        index.update(top);
+        assertSame(bottom, index.componentAt(75, 75));
+        assertSame(top, index.componentAt(310, 310));
+
+        index.remove(top);
+        assertNull(index.componentAt(310, 310));
+        assertEquals(1, index.size());
+
+        bottom.dispose();
+        top.dispose();
+    }
+}
@@ -0,0 +1,57 @@
+package net.exsource.open.ui.component.layout;
+
+import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.component.EmptyComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlexPaneTest {
+
+    @Test
+    void growKeepsTheBasis() {
+        FlexPane pane = new FlexPane();
+        pane.setSize(300, 100);
+        Component fixed = new EmptyComponent();
+        Component growing = new EmptyComponent();
+        fixed.setSize(100, 20);
+        growing.setSize(50, 20);
+        growing.getStyle().setFlexGrow(1f);
+        pane.addChildren(fixed, growing);
+        pane.update();
+
+        assertEquals(100, growing.getPositionX());
+        assertEquals(200, growing.getWidth());
+
+        pane.setWidth(200);
+        pane.update();
+        assertEquals(100, growing.getWidth());
+
+        growing.getStyle().setFlexGrow(0f);
+        pane.update();
+        assertEquals(50, growing.getWidth());
+
+        pane.dispose();
+    }
+
+    @Test
+    void shrinksAndWraps() {
+        FlexPane pane = new FlexPane();
+        pane.setSize(100, 100);
+        Component first = new EmptyComponent();
+        Component second = new EmptyComponent();
+        first.setSize(100, 10);
+        second.setSize(100, 10);
+        pane.addChildren(first, second);
+        pane.update();
+        assertEquals(50, first.getWidth());
+        assertEquals(50, second.getPositionX());
+
+        pane.setWrap(true);
+        pane.update();
+        assertEquals(100, second.getWidth());
+        assertEquals(10, second.getPositionY());
+
+        pane.dispose();
+    }
+}
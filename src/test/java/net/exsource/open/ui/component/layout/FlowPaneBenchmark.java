@@ -0,0 +1,62 @@
+package net.exsource.open.ui.component.layout;
+
+import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.component.EmptyComponent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the incremental relayout of the {@link FlowPane}, is only executed by the benchmark task.
+ */
+@Tag("benchmark")
+public class FlowPaneBenchmark {
+
+    /**
+     * Lays out 10k children and resizes a single child. A resize at the end of the pane only computes
+     * the last line, a resize at the start computes all lines, so the first one has to be much faster.
+     */
+    @Test
+    void relayoutOfTenThousandChildren() {
+        FlowPane pane = new FlowPane();
+        pane.setWidth(1000);
+        List<Component> children = create(10_000, 10);
+        pane.addChildren(children);
+        pane.update();
+        assertEquals(100, pane.getLineCount());
+
+        Component first = children.get(0);
+        Component last = children.get(children.size() - 1);
+        long head = Long.MAX_VALUE;
+        long tail = Long.MAX_VALUE;
+        for(int i = 0; i < 50; i++) {
+            first.setWidth(first.getWidth() == 10 ? 11 : 10);
+            long start = System.nanoTime();
+            pane.update();
+            head = Math.min(head, System.nanoTime() - start);
+
+            last.setWidth(last.getWidth() == 10 ? 11 : 10);
+            start = System.nanoTime();
+            pane.update();
+            tail = Math.min(tail, System.nanoTime() - start);
+        }
+        assertTrue(tail < head, "Resizing the last child took " + tail + " ns, the first child " + head + " ns");
+        assertEquals(children.get(9_999).getPositionY(), children.get(9_900).getPositionY());
+
+        pane.dispose();
+    }
+
+    private static List<Component> create(int count, int size) {
+        List<Component> list = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            Component component = new EmptyComponent();
+            component.setSize(size);
+            list.add(component);
+        }
+        return list;
+    }
+}
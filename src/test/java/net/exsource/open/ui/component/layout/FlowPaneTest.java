@@ -0,0 +1,88 @@
+package net.exsource.open.ui.component.layout;
+
+import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.component.EmptyComponent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowPaneTest {
+
+    @Test
+    void wrapsIntoLines() {
+        FlowPane pane = new FlowPane();
+        pane.setHorizontalGap(10);
+        List<Component> children = create(5, 50);
+        pane.addChildren(children);
+        pane.update();
+
+        assertEquals(2, pane.getLineCount());
+        assertEquals(60, children.get(1).getPositionX());
+        assertEquals(0, children.get(3).getPositionX());
+        assertEquals(50, children.get(3).getPositionY());
+
+        children.get(0).setWidth(120);
+        pane.update();
+        assertEquals(2, pane.getLineCount());
+        assertEquals(130, children.get(1).getPositionX());
+        assertEquals(0, children.get(2).getPositionX());
+        assertEquals(50, children.get(2).getPositionY());
+        assertEquals(120, children.get(4).getPositionX());
+
+        pane.dispose();
+    }
+
+    /**
+     * Lays out 1k children in full lines and resizes the last and the first child. A resize of the last child
+     * only wraps the last line, a resize of the first child moves one child into every following line.
+     */
+    @Test
+    void relayoutAfterSingleResize() {
+        FlowPane pane = new FlowPane();
+        pane.setWidth(1000);
+        List<Component> children = create(1_000, 10);
+        pane.addChildren(children);
+        pane.update();
+        assertEquals(10, pane.getLineCount());
+
+        Component first = children.get(0);
+        Component last = children.get(children.size() - 1);
+        last.setWidth(11);
+        pane.update();
+        assertEquals(11, pane.getLineCount());
+        assertEquals(0, last.getPositionX());
+        assertEquals(100, last.getPositionY());
+        assertEquals(980, children.get(998).getPositionX());
+        assertEquals(90, children.get(998).getPositionY());
+
+        last.setWidth(10);
+        pane.update();
+        assertEquals(10, pane.getLineCount());
+        assertEquals(990, last.getPositionX());
+        assertEquals(90, last.getPositionY());
+
+        first.setWidth(11);
+        pane.update();
+        assertEquals(11, pane.getLineCount());
+        assertEquals(981, children.get(98).getPositionX());
+        assertEquals(0, children.get(99).getPositionX());
+        assertEquals(10, children.get(99).getPositionY());
+        assertEquals(0, last.getPositionX());
+        assertEquals(100, last.getPositionY());
+
+        pane.dispose();
+    }
+
+    private static List<Component> create(int count, int size) {
+        List<Component> list = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            Component component = new EmptyComponent();
+            component.setSize(size);
+            list.add(component);
+        }
+        return list;
+    }
+}
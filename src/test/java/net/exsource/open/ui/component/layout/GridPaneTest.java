@@ -0,0 +1,41 @@
+package net.exsource.open.ui.component.layout;
+
+import net.exsource.open.ui.component.Component;
+import net.exsource.open.ui.component.EmptyComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridPaneTest {
+
+    @Test
+    void resolvesTracks() {
+        GridPane grid = new GridPane();
+        grid.setSize(300, 200);
+        grid.setColumns(GridPane.Track.fixed(50), GridPane.Track.AUTO, GridPane.Track.fraction(1f));
+        Component label = new EmptyComponent();
+        Component input = new EmptyComponent();
+        Component wide = new EmptyComponent();
+        label.setSize(40, 20);
+        input.setSize(80, 30);
+        wide.setSize(10, 10);
+        grid.add(label, 0, 0);
+        grid.add(input, 1, 0);
+        grid.add(wide, 0, 1, 3, 1);
+        grid.update();
+
+        assertEquals(3, grid.getColumnCount());
+        assertEquals(80, grid.getColumnSize(1));
+        assertEquals(170, grid.getColumnSize(2));
+        assertEquals(30, grid.getRowSize(0));
+        assertEquals(50, input.getPositionX());
+        assertEquals(30, wide.getPositionY());
+
+        input.setWidth(100);
+        grid.update();
+        assertEquals(100, grid.getColumnSize(1));
+        assertEquals(150, grid.getColumnSize(2));
+
+        grid.dispose();
+    }
+}